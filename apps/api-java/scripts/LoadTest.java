@@ -0,0 +1,92 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gerador de carga mínimo para quando o `hey` não está instalado: só a JDK 21
+ * (java scripts/LoadTest.java URL CONCORRÊNCIA DURAÇÃO). Cada cliente é uma virtual thread
+ * que repete o GET até o fim da duração. A saída usa as mesmas linhas do `hey` que o
+ * loadtest-threads.sh filtra (Requests/sec, Average, 99% in, [status]).
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        URI target = URI.create(args[0]);
+        int concurrency = Integer.parseInt(args[1]);
+        Duration duration = parseDuration(args[2]);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(target).timeout(Duration.ofSeconds(30)).GET().build();
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<long[]> latencies = new ArrayList<>();
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                long[] own = new long[1 << 16];
+                latencies.add(own);
+                workers.execute(() -> run(client, request, deadline, own, outcomes));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // Primeira posição de cada vetor guarda quantas latências ele tem
+        long[] all = latencies.stream()
+                .flatMapToLong(own -> Arrays.stream(own, 1, (int) own[0] + 1))
+                .sorted()
+                .toArray();
+        long total = outcomes.values().stream().mapToLong(LongAdder::sum).sum();
+        System.out.printf("  Total:\t%.4f secs%n", seconds);
+        System.out.printf("  Requests/sec:\t%.4f%n", total / seconds);
+        if (all.length > 0) {
+            System.out.printf("  Average:\t%.4f secs%n", Arrays.stream(all).average().orElse(0) / 1e9);
+            System.out.printf("  50%% in %.4f secs%n", all[(int) (all.length * 0.50)] / 1e9);
+            System.out.printf("  99%% in %.4f secs%n", all[Math.min(all.length - 1, (int) (all.length * 0.99))] / 1e9);
+        }
+        System.out.println("Status code distribution:");
+        new TreeMap<>(outcomes).forEach((k, v) -> System.out.printf("  [%s]\t%d responses%n", k, v.sum()));
+    }
+
+    private static void run(HttpClient client, HttpRequest request, long deadline, long[] own,
+                            Map<String, LongAdder> outcomes) {
+        while (System.nanoTime() < deadline) {
+            long t0 = System.nanoTime();
+            String outcome;
+            try {
+                outcome = String.valueOf(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+            } catch (Exception e) {
+                outcome = "Error " + e.getClass().getSimpleName();
+            }
+            long elapsed = System.nanoTime() - t0;
+            if (own[0] < own.length - 1) {
+                own[(int) ++own[0]] = elapsed;
+            }
+            outcomes.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+        }
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value.replace("s", "")));
+    }
+}
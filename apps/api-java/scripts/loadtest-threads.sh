@@ -0,0 +1,76 @@
+#!/bin/bash
+set -euo pipefail
+
+# ==============================================================================
+# Comparação de carga: threads de plataforma vs. virtual threads
+#
+# Sobe o mesmo JAR duas vezes (uma por modo) com o MESMO tamanho de pool do Hikari
+# e dispara a mesma carga contra GET /reports, com o rate limit desligado. Requer um
+# Postgres acessível pelas variáveis SPRING_DATASOURCE_*. Usa o `hey`
+# (https://github.com/rakyll/hey) se estiver instalado; senão, scripts/LoadTest.java.
+# Além de vazão e latência, mostra a espera média por conexão do Hikari no período medido.
+#
+# Uso: ./scripts/loadtest-threads.sh [concorrência] [duração]
+#      ./scripts/loadtest-threads.sh 1000 30s
+# ==============================================================================
+
+CONCURRENCY="${1:-1000}"
+DURATION="${2:-30s}"
+POOL_SIZE="${DB_POOL_SIZE:-10}"
+BASE_PROFILE="${BASE_PROFILE:-dev}"
+PORT=3999
+JAR="$(ls target/api-java-*.jar 2>/dev/null | head -1)"
+TARGET="http://localhost:${PORT}/reports?limit=20"
+
+log() { echo -e "[$(date +'%Y-%m-%d %H:%M:%S')] $1"; }
+
+load() {
+    if command -v hey > /dev/null; then
+        hey -z "$2" -c "$1" "${TARGET}"
+    else
+        java scripts/LoadTest.java "${TARGET}" "$1" "$2"
+    fi
+}
+
+# Soma e contagem de hikaricp_connections_acquire_seconds de todos os pools
+acquire() {
+    curl -sf "http://localhost:${PORT}/actuator/prometheus" \
+        | awk '/^hikaricp_connections_acquire_seconds_(sum|count)/ { if ($1 ~ /_sum/) s += $2; else c += $2 }
+               END { printf "%s %s\n", s + 0, c + 0 }'
+}
+
+if [ -z "${JAR}" ]; then
+    log "JAR não encontrado; executando mvn package"
+    mvn -B -q -DskipTests package
+    JAR="$(ls target/api-java-*.jar | head -1)"
+fi
+
+run_mode() {
+    local mode="$1" profiles="$2"
+    log "Modo ${mode}: pool=${POOL_SIZE}, concorrência=${CONCURRENCY}, duração=${DURATION}"
+
+    DB_POOL_SIZE="${POOL_SIZE}" PORT="${PORT}" SPRING_PROFILES_ACTIVE="${profiles}" RATE_LIMIT_ENABLED=false \
+        java -Djdk.tracePinnedThreads=short -jar "${JAR}" > "target/loadtest-${mode}.log" 2>&1 &
+    local pid=$!
+
+    until curl -sf "http://localhost:${PORT}/health" > /dev/null; do sleep 1; done
+
+    # aquecimento do JIT antes da medição
+    load 50 10s > /dev/null
+    local before after
+    before="$(acquire)"
+    load "${CONCURRENCY}" "${DURATION}" > "target/loadtest-${mode}.txt"
+    after="$(acquire)"
+
+    kill "${pid}" && wait "${pid}" 2>/dev/null || true
+    grep -E "Requests/sec|Average|99% in|\[|Error" "target/loadtest-${mode}.txt" || true
+    echo "${before} ${after}" | awk '{ n = $4 - $2; printf "pool wait: %.2f ms média em %d aquisições\n", (n > 0 ? ($3 - $1) * 1000 / n : 0), n }'
+    # -Djdk.tracePinnedThreads=short imprime cada pilha distinta uma vez, marcando o frame que segura o monitor
+    echo "pinned: $(grep -c '<== monitors' "target/loadtest-${mode}.log" || true)"
+    grep '<== monitors' "target/loadtest-${mode}.log" | sort | uniq -c || true
+}
+
+run_mode platform "${BASE_PROFILE}"
+run_mode virtual "${BASE_PROFILE},virtual"
+
+log "Resultados completos em target/loadtest-platform.txt e target/loadtest-virtual.txt"
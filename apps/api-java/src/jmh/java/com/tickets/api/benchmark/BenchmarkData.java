@@ -0,0 +1,68 @@
+package com.tickets.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tickets.api.dto.common.PageResponseDto;
+import com.tickets.api.dto.report.ReportResponseDto;
+import com.tickets.api.model.enums.ReportStatus;
+import org.mockito.Mockito;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Constructor;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/** Dados e ObjectMapper compartilhados pelos benchmarks. */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /** Mesma configuração de serialização do application.properties. */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /**
+     * Instancia um bean pelo seu construtor (injeção por construtor do Lombok), usando os
+     * objetos informados quando o tipo bate e mocks do Mockito para as demais dependências.
+     */
+    static <T> T withMocks(Class<T> type, Object... provided) {
+        Constructor<?> ctor = type.getConstructors()[0];
+        Object[] args = Arrays.stream(ctor.getParameterTypes())
+                .map(p -> Arrays.stream(provided).filter(p::isInstance).findFirst().orElseGet(() -> stub(p)))
+                .toArray();
+        try {
+            return type.cast(ctor.newInstance(args));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Mock sem registro de invocações: não acumula memória ao longo das iterações. */
+    static <T> T stub(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+
+    static PageResponseDto<ReportResponseDto> reportPage(int size) {
+        Instant now = Instant.parse("2025-01-01T12:00:00Z");
+        List<ReportResponseDto> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(new ReportResponseDto(
+                    "5f0c1d2e-0000-4000-8000-" + String.format("%012d", i),
+                    "Elevador quebrado na plataforma " + i,
+                    "O elevador de acesso à plataforma está parado desde ontem, sem previsão de conserto.",
+                    ReportStatus.values()[i % ReportStatus.values().length],
+                    i % 3 == 0 ? "https://cdn.example.com/img/" + i + ".jpg" : null,
+                    now.minusSeconds(i * 60L), now,
+                    "u-" + (i % 17), "Usuário " + (i % 17),
+                    "l-" + (i % 5), "Estação " + (i % 5),
+                    "c-" + (i % 7), "Categoria " + (i % 7), 0, null));
+        }
+        return new PageResponseDto<>(data, 10_000, 1, size, (10_000 + size - 1) / size);
+    }
+}
@@ -0,0 +1,82 @@
+package com.tickets.api.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Repasse TCP local que atrasa cada bloco em metade do RTT em cada sentido, para medir o custo
+ * de idas e voltas ao banco como se ele estivesse em outra máquina. O protocolo do Postgres é
+ * pergunta e resposta, então cada ida e volta paga o RTT inteiro.
+ */
+final class LatencyProxy implements AutoCloseable {
+
+    private final ServerSocket server;
+    private final long delayNanos;
+
+    LatencyProxy(String host, int port, long rttMicros) throws IOException {
+        this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.delayNanos = rttMicros * 500;
+        Thread acceptor = new Thread(() -> accept(new InetSocketAddress(host, port)), "latency-proxy");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int port() {
+        return server.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+
+    private void accept(InetSocketAddress target) {
+        while (!server.isClosed()) {
+            try {
+                Socket client = server.accept();
+                Socket upstream = new Socket(target.getAddress(), target.getPort());
+                client.setTcpNoDelay(true);
+                upstream.setTcpNoDelay(true);
+                pump(client, upstream);
+                pump(upstream, client);
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void pump(Socket from, Socket to) {
+        Thread thread = new Thread(() -> {
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    LockSupport.parkNanos(delayNanos);
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+            } catch (IOException ignored) {
+                // a outra ponta fechou
+            } finally {
+                close(from);
+                close(to);
+            }
+        }, "latency-proxy-pump");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void close(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // já fechado
+        }
+    }
+}
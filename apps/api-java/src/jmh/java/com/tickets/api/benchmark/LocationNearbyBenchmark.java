@@ -0,0 +1,119 @@
+package com.tickets.api.benchmark;
+
+import com.tickets.api.dto.location.LocationResponseDto;
+import com.tickets.api.dto.location.NearbyLocationDto;
+import com.tickets.api.service.LocationSpatialIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * k-vizinhos de /locations/nearby: índice em grade vs. o plano que o Postgres usa
+ * com idx_location_coords (latitude, longitude) para o retângulo envolvente —
+ * faixa de latitude pelo B-tree, filtro de longitude, distância e ordenação.
+ * O baseline roda em memória, então não inclui I/O nem ida e volta ao banco:
+ * é um limite inferior do custo real da consulta SQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocationNearbyBenchmark {
+
+    private static final double MIN_LAT = -24.0, MAX_LAT = -23.3;
+    private static final double MIN_LON = -46.9, MAX_LON = -46.3;
+
+    @Param({"100000", "500000"})
+    public int stops;
+
+    @Param({"1000"})
+    public double radiusMeters;
+
+    @Param({"10"})
+    public int k;
+
+    private LocationSpatialIndex index;
+    private LocationResponseDto[] byLatitude;
+    private double[] latitudes;
+    private double[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        List<LocationResponseDto> all = new ArrayList<>(stops);
+        for (int i = 0; i < stops; i++) {
+            LocationResponseDto dto = new LocationResponseDto();
+            dto.setId("s" + i);
+            dto.setName("Parada " + i);
+            dto.setLatitude(MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT));
+            dto.setLongitude(MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON));
+            all.add(dto);
+        }
+
+        index = new LocationSpatialIndex(0.01);
+        index.rebuild(all);
+
+        byLatitude = all.toArray(new LocationResponseDto[0]);
+        Arrays.sort(byLatitude, Comparator.comparingDouble(LocationResponseDto::getLatitude));
+        latitudes = Arrays.stream(byLatitude).mapToDouble(LocationResponseDto::getLatitude).toArray();
+
+        queries = new double[1024][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new double[]{
+                    MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT),
+                    MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON)};
+        }
+    }
+
+    @Benchmark
+    public List<NearbyLocationDto> gridIndex() {
+        double[] q = queries[next++ & (queries.length - 1)];
+        return index.nearest(q[0], q[1], radiusMeters, k);
+    }
+
+    @Benchmark
+    public List<NearbyLocationDto> boundingBoxBaseline() {
+        double[] q = queries[next++ & (queries.length - 1)];
+        double dLat = radiusMeters / 111_320.0;
+        double dLon = dLat / Math.cos(Math.toRadians(q[0]));
+
+        int from = lowerBound(latitudes, q[0] - dLat);
+        int to = lowerBound(latitudes, q[0] + dLat);
+        List<NearbyLocationDto> hits = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            LocationResponseDto s = byLatitude[i];
+            if (s.getLongitude() >= q[1] - dLon && s.getLongitude() <= q[1] + dLon) {
+                double d = LocationSpatialIndex.distanceMeters(q[0], q[1], s.getLatitude(), s.getLongitude());
+                if (d <= radiusMeters) {
+                    hits.add(new NearbyLocationDto(s, d));
+                }
+            }
+        }
+        return hits.stream()
+                .sorted(Comparator.comparingDouble(NearbyLocationDto::getDistanceMeters))
+                .limit(k)
+                .collect(Collectors.toList());
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
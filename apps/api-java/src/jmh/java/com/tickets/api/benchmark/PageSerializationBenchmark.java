@@ -0,0 +1,35 @@
+package com.tickets.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.tickets.api.dto.common.PageResponseDto;
+import com.tickets.api.dto.report.ReportResponseDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Serialização Jackson de PageResponseDto<ReportResponseDto>, como em GET /reports. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+    private PageResponseDto<ReportResponseDto> page;
+
+    @Setup
+    public void setUp() {
+        writer = BenchmarkData.objectMapper().writer();
+        page = BenchmarkData.reportPage(pageSize);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+}
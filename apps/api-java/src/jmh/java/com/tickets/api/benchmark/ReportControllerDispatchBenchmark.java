@@ -0,0 +1,71 @@
+package com.tickets.api.benchmark;
+
+import com.tickets.api.controller.ReportController;
+import com.tickets.api.dto.common.PageResponseDto;
+import com.tickets.api.dto.common.ResourceVersion;
+import com.tickets.api.dto.report.ReportResponseDto;
+import com.tickets.api.service.ReportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Despacho de GET /reports e GET /reports/{id} pelo DispatcherServlet até o ReportController
+ * (binding de parâmetros, conversão do enum de status, ETag e serialização), com o serviço
+ * simulado: mede só a camada web, sem banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportControllerDispatchBenchmark {
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private MockMvc mockMvc;
+    private String reportId;
+
+    @Setup
+    public void setUp() {
+        ReportService reportService = BenchmarkData.stub(ReportService.class);
+        PageResponseDto<ReportResponseDto> page = BenchmarkData.reportPage(pageSize);
+        when(reportService.findAll(anyInt(), anyInt(), any(), any(), any(), any(), anyBoolean())).thenReturn(page);
+        ReportResponseDto report = page.getData().get(0);
+        when(reportService.findVersion(report.getId()))
+                .thenReturn(ResourceVersion.of(report.getId(), report.getUpdatedAt()));
+        when(reportService.findById(report.getId())).thenReturn(report);
+        reportId = report.getId();
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(BenchmarkData.withMocks(ReportController.class, reportService))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(BenchmarkData.objectMapper()))
+                .build();
+    }
+
+    @Benchmark
+    public MvcResult findAll() throws Exception {
+        return mockMvc.perform(get("/reports")
+                        .param("page", "1")
+                        .param("limit", String.valueOf(pageSize))
+                        .param("status", "PENDING"))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult findById() throws Exception {
+        return mockMvc.perform(get("/reports/{id}", reportId)).andReturn();
+    }
+}
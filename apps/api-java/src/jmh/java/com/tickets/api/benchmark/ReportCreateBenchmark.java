@@ -0,0 +1,225 @@
+package com.tickets.api.benchmark;
+
+import com.tickets.api.model.id.UuidV7Generator;
+import com.tickets.api.repository.ReportRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.repository.Query;
+
+import java.io.IOException;
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * POST /reports contra um Postgres real, no schema da aplicação (migrações aplicadas, com os
+ * triggers e as partições de reports): a sequência que o Hibernate fazia (SELECT do autor, da
+ * localização e da categoria, INSERT do report, INSERT do histórico e a projeção do DTO), a
+ * mesma sequência com as três entidades já no cache de segundo nível, e o comando único do
+ * ReportRepository.insertWithInitialHistory. Uma transação por operação; os reports criados
+ * levam um título próprio e são apagados no fim. Por padrão roda com synchronous_commit off,
+ * para que a diferença medida seja a de idas e voltas ao banco e não a do fsync, direto e com
+ * rttMicros de latência simulada entre a aplicação e o banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReportCreateBenchmark {
+
+    private static final String TITLE = "bench-create";
+    private static final Pattern NAMED = Pattern.compile(":(\\w+)");
+
+    @Param({"off"})
+    public String synchronousCommit;
+
+    // 0 conecta direto; acima disso passa pelo LatencyProxy
+    @Param({"0", "500"})
+    public long rttMicros;
+
+    private LatencyProxy proxy;
+    private Connection connection;
+    private UUID authorId;
+    private UUID locationId;
+    private UUID categoryId;
+
+    private PreparedStatement selectUser;
+    private PreparedStatement selectLocation;
+    private PreparedStatement selectCategory;
+    private PreparedStatement insertReport;
+    private PreparedStatement insertHistory;
+    private PreparedStatement selectDto;
+
+    private PreparedStatement insertWithHistory;
+    private List<String> insertWithHistoryParams;
+
+    @Setup
+    public void setUp() throws Exception {
+        String url = env("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/tickets");
+        if (rttMicros > 0) {
+            URI target = URI.create(url.substring("jdbc:".length()));
+            proxy = new LatencyProxy(target.getHost(), target.getPort() < 0 ? 5432 : target.getPort(), rttMicros);
+            url = "jdbc:postgresql://localhost:" + proxy.port() + target.getRawPath() +
+                    (target.getRawQuery() == null ? "" : "?" + target.getRawQuery());
+        }
+        connection = DriverManager.getConnection(url,
+                env("SPRING_DATASOURCE_USERNAME", "postgres"),
+                env("SPRING_DATASOURCE_PASSWORD", "postgres"));
+        try (Statement st = connection.createStatement()) {
+            authorId = firstId(st, "users");
+            locationId = firstId(st, "locations");
+            categoryId = firstId(st, "categories");
+            // O flush do WAL no commit custa o mesmo nas três variantes e, em disco local, só acrescenta ruído
+            st.execute("SET synchronous_commit = " + synchronousCommit);
+        }
+        connection.setAutoCommit(false);
+
+        selectUser = connection.prepareStatement(
+                "SELECT id, created_at, email, name, role, updated_at FROM users WHERE id = ?");
+        selectLocation = connection.prepareStatement("SELECT id, address, admin_id, created_at, description, " +
+                "latitude, longitude, name, type, updated_at FROM locations WHERE id = ?");
+        selectCategory = connection.prepareStatement(
+                "SELECT id, created_at, description, name, type, updated_at FROM categories WHERE id = ?");
+        insertReport = connection.prepareStatement("INSERT INTO reports (id, title, description, image_url, " +
+                "status, author_id, location_id, category_id, duplicate_of_id, comment_count, created_at, updated_at) " +
+                "VALUES (?, ?, ?, NULL, 'PENDING', ?, ?, ?, NULL, 0, ?, ?)");
+        insertHistory = connection.prepareStatement("INSERT INTO status_history (id, report_id, status, comment, " +
+                "updated_by, created_at) VALUES (?, ?, 'PENDING', 'Report criado', ?, ?)");
+        selectDto = connection.prepareStatement("SELECT r.id, r.title, r.description, r.status, r.image_url, " +
+                "r.created_at, r.updated_at, a.id, a.name, l.id, l.name, c.id, c.name, r.comment_count, " +
+                "r.duplicate_of_id FROM reports r JOIN users a ON a.id = r.author_id " +
+                "JOIN locations l ON l.id = r.location_id JOIN categories c ON c.id = r.category_id WHERE r.id = ?");
+
+        insertWithHistoryParams = new ArrayList<>();
+        insertWithHistory = connection.prepareStatement(positional(repositoryCreateSql(), insertWithHistoryParams));
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException, IOException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("DELETE FROM status_history WHERE report_id IN (SELECT id FROM reports WHERE title = '" +
+                    TITLE + "')");
+            st.execute("DELETE FROM reports WHERE title = '" + TITLE + "'");
+        }
+        connection.commit();
+        connection.close();
+        if (proxy != null) {
+            proxy.close();
+        }
+    }
+
+    @Benchmark
+    public String loadThenInsert() throws SQLException {
+        readRow(selectUser, authorId);
+        readRow(selectLocation, locationId);
+        readRow(selectCategory, categoryId);
+        return insertThenProject();
+    }
+
+    @Benchmark
+    public String cachedLookupsThenInsert() throws SQLException {
+        return insertThenProject();
+    }
+
+    @Benchmark
+    public String singleStatement() throws SQLException {
+        UUID id = UuidV7Generator.next();
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", id);
+        values.put("historyId", UuidV7Generator.next());
+        values.put("title", TITLE);
+        values.put("description", "descrição do benchmark");
+        values.put("imageUrl", null);
+        values.put("authorId", authorId);
+        values.put("locationId", locationId);
+        values.put("categoryId", categoryId);
+        values.put("duplicateOfId", null);
+        values.put("now", Timestamp.from(Instant.now()));
+        for (int i = 0; i < insertWithHistoryParams.size(); i++) {
+            insertWithHistory.setObject(i + 1, values.get(insertWithHistoryParams.get(i)));
+        }
+        String names;
+        try (ResultSet rs = insertWithHistory.executeQuery()) {
+            rs.next();
+            names = rs.getString(1) + rs.getString(2) + rs.getString(3);
+        }
+        connection.commit();
+        return names;
+    }
+
+    private String insertThenProject() throws SQLException {
+        UUID id = UuidV7Generator.next();
+        Timestamp now = Timestamp.from(Instant.now());
+        insertReport.setObject(1, id);
+        insertReport.setString(2, TITLE);
+        insertReport.setString(3, "descrição do benchmark");
+        insertReport.setObject(4, authorId);
+        insertReport.setObject(5, locationId);
+        insertReport.setObject(6, categoryId);
+        insertReport.setTimestamp(7, now);
+        insertReport.setTimestamp(8, now);
+        insertReport.executeUpdate();
+        insertHistory.setObject(1, UuidV7Generator.next());
+        insertHistory.setObject(2, id);
+        insertHistory.setObject(3, authorId);
+        insertHistory.setTimestamp(4, now);
+        insertHistory.executeUpdate();
+        String name = readRow(selectDto, id);
+        connection.commit();
+        return name;
+    }
+
+    private static String readRow(PreparedStatement statement, UUID id) throws SQLException {
+        statement.setObject(1, id);
+        try (ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? rs.getString(2) : null;
+        }
+    }
+
+    private static UUID firstId(Statement st, String table) throws SQLException {
+        try (ResultSet rs = st.executeQuery("SELECT id FROM " + table + " ORDER BY id LIMIT 1")) {
+            if (!rs.next()) {
+                throw new IllegalStateException("O benchmark precisa de ao menos uma linha em " + table);
+            }
+            return rs.getObject(1, UUID.class);
+        }
+    }
+
+    private static String repositoryCreateSql() throws NoSuchMethodException {
+        return ReportRepository.class.getMethod("insertWithInitialHistory", UUID.class, UUID.class, String.class,
+                        String.class, String.class, UUID.class, UUID.class, UUID.class, UUID.class, Instant.class)
+                .getAnnotation(Query.class).value();
+    }
+
+    // :nome → ?, guardando a ordem para o bind
+    private static String positional(String sql, List<String> params) {
+        Matcher matcher = NAMED.matcher(sql);
+        StringBuilder out = new StringBuilder();
+        while (matcher.find()) {
+            params.add(matcher.group(1));
+            matcher.appendReplacement(out, "?");
+        }
+        matcher.appendTail(out);
+        return out.toString();
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
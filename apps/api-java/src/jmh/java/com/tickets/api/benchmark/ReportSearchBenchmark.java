@@ -0,0 +1,168 @@
+package com.tickets.api.benchmark;
+
+import com.tickets.api.repository.ReportRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.repository.Query;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /reports/search contra um Postgres real: a consulta do ReportRepository (GIN em
+ * search_vector, ranking e ts_headline na página) vs. o ILIKE que seria a alternativa sem
+ * índice textual. O corpus sintético fica no schema bench_search do banco apontado por
+ * SPRING_DATASOURCE_URL e é reaproveitado entre execuções; a coluna e o índice vêm da
+ * própria migração V3, então o benchmark mede o mesmo DDL da produção.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ReportSearchBenchmark {
+
+    private static final String SCHEMA = "bench_search";
+
+    private static final String COMMON_WORDS = "'elevador','escada','rolante','rampa','piso','tátil','plataforma'," +
+            "'catraca','porta','sinalização','sonora','corrimão','degrau','calçada','ônibus','estação','trem'," +
+            "'metrô','bilheteria','cadeira','rodas','acesso','entrada','saída','painel','quebrado','parado'," +
+            "'solto','danificado','escuro','bloqueado','lento','não','funciona','está','há','dias','semanas'," +
+            "'desde','ontem','hoje','manhã','noite','sempre','novamente','muito','perigoso','difícil'";
+
+    @Param({"1000000"})
+    public int reports;
+
+    // frequente, intermediária (termos raros no título) e rara
+    @Param({"elevador quebrado", "corrimão solto", "banheiro interditado"})
+    public String q;
+
+    @Param({"10"})
+    public int limit;
+
+    private Connection connection;
+    private PreparedStatement search;
+    private PreparedStatement ilike;
+
+    @Setup
+    public void setUp() throws Exception {
+        connection = DriverManager.getConnection(
+                env("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/tickets"),
+                env("SPRING_DATASOURCE_USERNAME", "postgres"),
+                env("SPRING_DATASOURCE_PASSWORD", "postgres"));
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+            st.execute("SET search_path TO " + SCHEMA + ", public");
+        }
+        seedIfNeeded();
+
+        search = connection.prepareStatement(repositorySearchSql());
+        ilike = connection.prepareStatement(
+                "SELECT r.id FROM reports r WHERE " + ilikeAllTerms(q.split(" ").length) +
+                " ORDER BY r.created_at DESC, r.id DESC LIMIT ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<String> fullTextRanked() throws SQLException {
+        search.setString(1, q);
+        search.setInt(2, limit + 1);
+        search.setInt(3, 0);
+        return ids(search);
+    }
+
+    @Benchmark
+    public List<String> ilikeBaseline() throws SQLException {
+        String[] terms = q.split(" ");
+        int i = 1;
+        for (String term : terms) {
+            ilike.setString(i++, "%" + term + "%");
+            ilike.setString(i++, "%" + term + "%");
+        }
+        ilike.setInt(i, limit + 1);
+        return ids(ilike);
+    }
+
+    private void seedIfNeeded() throws SQLException, IOException {
+        try (Statement st = connection.createStatement()) {
+            ResultSet rs = st.executeQuery("SELECT count(*) FROM pg_tables WHERE schemaname = '" + SCHEMA +
+                    "' AND tablename = 'reports'");
+            rs.next();
+            if (rs.getInt(1) == 1) {
+                ResultSet count = st.executeQuery("SELECT count(*) FROM reports");
+                count.next();
+                if (count.getInt(1) == reports) {
+                    return;
+                }
+                st.execute("DROP TABLE reports");
+            }
+
+            st.execute("CREATE EXTENSION IF NOT EXISTS unaccent SCHEMA public");
+            st.execute("CREATE TABLE reports (id VARCHAR(255) PRIMARY KEY, title VARCHAR(255) NOT NULL, " +
+                    "description TEXT NOT NULL, created_at TIMESTAMP WITH TIME ZONE NOT NULL)");
+            // Cada linha sorteia as próprias palavras (a referência a g força a reavaliação);
+            // corrimão/solto aparecem em ~1% dos títulos e "banheiro interditado" em ~0,1% das descrições
+            st.execute("INSERT INTO reports (id, title, description, created_at) " +
+                    "SELECT 'r' || g, " +
+                    "  (SELECT string_agg(w[1 + floor(random() * array_length(w, 1))::int], ' ') " +
+                    "     FROM (SELECT ARRAY[" + COMMON_WORDS + "] AS w) a, generate_series(1, 2 + g % 2)) " +
+                    "  || CASE WHEN random() < 0.01 THEN ' corrimão solto' ELSE '' END, " +
+                    "  (SELECT string_agg(w[1 + floor(random() * array_length(w, 1))::int], ' ') " +
+                    "     FROM (SELECT ARRAY[" + COMMON_WORDS + "] AS w) a, generate_series(1, 12 + g % 20)) " +
+                    "  || CASE WHEN random() < 0.001 THEN ' banheiro interditado' ELSE '' END, " +
+                    "  now() - (g || ' seconds')::interval " +
+                    "FROM generate_series(1, " + reports + ") g");
+            st.execute(migration("db/migration/V3__report_search.sql"));
+            st.execute("ANALYZE reports");
+        }
+    }
+
+    private static String repositorySearchSql() throws NoSuchMethodException {
+        String sql = ReportRepository.class.getMethod("search", String.class, boolean.class, int.class, int.class)
+                .getAnnotation(Query.class).value();
+        return sql.replace(":q", "?").replace(":includeArchived", "false").replace(":limit", "?").replace(":offset", "?");
+    }
+
+    private static String ilikeAllTerms(int terms) {
+        List<String> conditions = new ArrayList<>();
+        for (int i = 0; i < terms; i++) {
+            conditions.add("(r.title ILIKE ? OR r.description ILIKE ?)");
+        }
+        return String.join(" AND ", conditions);
+    }
+
+    private static List<String> ids(PreparedStatement statement) throws SQLException {
+        List<String> ids = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getString(1));
+            }
+        }
+        return ids;
+    }
+
+    private static String migration(String resource) throws IOException {
+        try (InputStream in = ReportSearchBenchmark.class.getClassLoader().getResourceAsStream(resource)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
@@ -0,0 +1,135 @@
+package com.tickets.api.benchmark;
+
+import com.tickets.api.model.id.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chave primária antes e depois da V9 contra um Postgres real: VARCHAR com UUID v4 em texto
+ * (como era), uuid nativo v4 e uuid nativo v7 (como ficou). Mede lotes de INSERT com ids
+ * gerados no Java, como o Hibernate faz, e a busca por id; imprime o tamanho da tabela e do
+ * índice da PK depois da carga inicial e ao fim. A tabela é recriada a cada execução no schema
+ * bench_uuid do banco apontado por SPRING_DATASOURCE_URL, com as linhas inseridas na ordem em
+ * que os ids chegariam.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class UuidKeyBenchmark {
+
+    private static final String SCHEMA = "bench_uuid";
+    private static final int SAMPLE = 10_000;
+
+    @Param({"varchar-v4", "uuid-v4", "uuid-v7"})
+    public String key;
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"100"})
+    public int batch;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private PreparedStatement lookup;
+    private final List<String> sample = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                env("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/tickets"),
+                env("SPRING_DATASOURCE_USERNAME", "postgres"),
+                env("SPRING_DATASOURCE_PASSWORD", "postgres"));
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+            st.execute("SET search_path TO " + SCHEMA + ", public");
+            st.execute("DROP TABLE IF EXISTS keys");
+            st.execute("CREATE TABLE keys (id " + (key.startsWith("uuid") ? "uuid" : "VARCHAR(255)") +
+                    " PRIMARY KEY, title VARCHAR(255) NOT NULL, created_at TIMESTAMP WITH TIME ZONE NOT NULL)");
+            st.execute("INSERT INTO keys (id, title, created_at) SELECT " + seededId() + ", 'report ' || g, ts " +
+                    "FROM (SELECT g, clock_timestamp() - ((" + rows + " - g) || ' ms')::interval AS ts " +
+                    "      FROM generate_series(1, " + rows + ") g) s ORDER BY g");
+            st.execute("VACUUM ANALYZE keys");
+            ResultSet rs = st.executeQuery("SELECT id FROM keys TABLESAMPLE SYSTEM (5) LIMIT " + SAMPLE);
+            while (rs.next()) {
+                sample.add(rs.getString(1));
+            }
+        }
+        printSize();
+        insert = connection.prepareStatement("INSERT INTO keys (id, title, created_at) VALUES (?, 'novo', now())");
+        lookup = connection.prepareStatement("SELECT title FROM keys WHERE id = ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        printSize();
+        connection.close();
+    }
+
+    @Benchmark
+    public int insertBatch() throws SQLException {
+        for (int i = 0; i < batch; i++) {
+            bind(insert, newId());
+            insert.addBatch();
+        }
+        return insert.executeBatch().length;
+    }
+
+    @Benchmark
+    public String findById() throws SQLException {
+        bind(lookup, sample.get(ThreadLocalRandom.current().nextInt(sample.size())));
+        try (ResultSet rs = lookup.executeQuery()) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    private void printSize() throws SQLException {
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT count(*), pg_table_size('keys'), pg_relation_size('keys_pkey') FROM keys")) {
+            rs.next();
+            System.out.printf("%n%s: %d linhas, tabela %d MB, índice da PK %d MB (%.1f bytes/linha)%n",
+                    key, rs.getLong(1), rs.getLong(2) >> 20, rs.getLong(3) >> 20, rs.getLong(3) / (double) rs.getLong(1));
+        }
+    }
+
+    private String newId() {
+        return ("uuid-v7".equals(key) ? UuidV7Generator.next() : UUID.randomUUID()).toString();
+    }
+
+    private void bind(PreparedStatement statement, String id) throws SQLException {
+        if (key.startsWith("uuid")) {
+            statement.setObject(1, UUID.fromString(id));
+        } else {
+            statement.setString(1, id);
+        }
+    }
+
+    // v7 montado no SQL a partir do instante da linha: 48 bits de ms, versão, bits aleatórios e variante
+    private String seededId() {
+        return switch (key) {
+            case "uuid-v7" -> "(lpad(to_hex((extract(epoch FROM ts) * 1000)::bigint), 12, '0') || '7' || " +
+                    "substr(md5(random()::text), 1, 3) || '8' || substr(md5(random()::text), 1, 15))::uuid";
+            case "uuid-v4" -> "gen_random_uuid()";
+            default -> "gen_random_uuid()::text";
+        };
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
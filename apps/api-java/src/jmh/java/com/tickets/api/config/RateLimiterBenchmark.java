@@ -0,0 +1,51 @@
+package com.tickets.api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do rate limit por requisição com 8 threads: um cliente só (todas disputam o mesmo
+ * balde, pior caso do CAS) e 10 mil clientes (disputa espalhada pela tabela). O limite é
+ * alto o bastante para nunca rejeitar, então mede o caminho comum.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "10000"})
+    public int clients;
+
+    private RateLimiter limiter;
+    private RateLimiter.Limit limit;
+    private String[] ids;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setMethod("GET");
+        rule.setPath("/reports");
+        rule.setRequestsPerMinute(Integer.MAX_VALUE);
+        rule.setBurst(1_000_000);
+        properties.getRules().put("list-reports", rule);
+        limiter = new RateLimiter(properties, new SimpleMeterRegistry());
+        limit = limiter.limitFor("GET", "/reports");
+        ids = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            ids[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        return limiter.tryAcquire(limit, ids[ThreadLocalRandom.current().nextInt(clients)]);
+    }
+}
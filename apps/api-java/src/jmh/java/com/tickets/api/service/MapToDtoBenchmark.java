@@ -0,0 +1,63 @@
+package com.tickets.api.service;
+
+import com.tickets.api.dto.location.LocationResponseDto;
+import com.tickets.api.dto.report.ReportResponseDto;
+import com.tickets.api.model.entity.Category;
+import com.tickets.api.model.entity.Location;
+import com.tickets.api.model.entity.Report;
+import com.tickets.api.model.entity.User;
+import com.tickets.api.model.enums.CategoryType;
+import com.tickets.api.model.enums.ReportStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do mapeamento entidade -> DTO (fica no pacote do serviço porque os
+ * mapeadores são package-private). O construtor da projeção JPQL entra como referência.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapToDtoBenchmark {
+
+    private Report report;
+    private Location location;
+
+    @Setup
+    public void setUp() {
+        Instant now = Instant.now();
+        User author = User.builder().id("u1").name("Ana").email("ana@example.com").createdAt(now).updatedAt(now).build();
+        location = Location.builder().id("l1").name("Estação Sé").address("Praça da Sé")
+                .latitude(-23.55).longitude(-46.63).type("Estação de Metrô")
+                .admin(author).createdAt(now).updatedAt(now).build();
+        Category category = Category.builder().id("c1").name("Elevador").type(CategoryType.ELEVATOR)
+                .createdAt(now).updatedAt(now).build();
+        report = Report.builder().id("r1").title("Elevador quebrado").description("Parado desde ontem")
+                .status(ReportStatus.PENDING).author(author).location(location).category(category)
+                .createdAt(now).updatedAt(now).build();
+    }
+
+    @Benchmark
+    public ReportResponseDto reportMapToDto() {
+        return ReportService.mapToDto(report);
+    }
+
+    @Benchmark
+    public ReportResponseDto reportProjectionConstructor() {
+        Report r = report;
+        return new ReportResponseDto(r.getId(), r.getTitle(), r.getDescription(), r.getStatus(), r.getImageUrl(),
+                r.getCreatedAt(), r.getUpdatedAt(), r.getAuthor().getId(), r.getAuthor().getName(),
+                r.getLocation().getId(), r.getLocation().getName(), r.getCategory().getId(), r.getCategory().getName(),
+                r.getCommentCount(), r.getDuplicateOf() == null ? null : r.getDuplicateOf().getId());
+    }
+
+    @Benchmark
+    public LocationResponseDto locationMapToDto() {
+        return LocationService.mapToDto(location);
+    }
+}
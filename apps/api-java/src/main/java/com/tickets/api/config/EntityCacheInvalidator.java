@@ -0,0 +1,203 @@
+package com.tickets.api.config;
+
+import com.tickets.api.model.entity.Category;
+import com.tickets.api.model.entity.Location;
+import com.tickets.api.model.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Invalidação do cache de segundo nível entre instâncias. Os triggers da migração V11 fazem
+ * NOTIFY tickets_cache a cada UPDATE ou DELETE em users, categories e locations (a notificação
+ * sai no commit, venha a alteração de qualquer instância ou de SQL manual); aqui uma conexão
+ * própria com o primário fica em LISTEN e tira a entrada do cache local. Ao (re)conectar, tudo
+ * é descartado: o que mudou sem LISTEN não vai chegar. Com réplicas de leitura, uma leitura
+ * atrasada pode devolver ao cache a versão antiga logo depois da notificação; por isso a entrada
+ * é removida de novo após reevict-after-ms.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "cache.entities", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EntityCacheInvalidator implements SmartLifecycle {
+
+    static final String CHANNEL = "tickets_cache";
+
+    private static final Map<String, Class<?>> ENTITIES =
+            Map.of("users", User.class, "categories", Category.class, "locations", Location.class);
+    private static final int POLL_MS = 5000;
+    private static final long RETRY_MS = 5000;
+
+    private record Pending(long due, String payload) {}
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSourceProperties dataSource;
+    private final long reevictAfterMs;
+    private final Map<String, Counter> invalidations = new HashMap<>();
+    // Só a thread do LISTEN mexe na fila
+    private final Deque<Pending> pending = new ArrayDeque<>();
+
+    private volatile boolean running;
+    private volatile Connection connection;
+
+    public EntityCacheInvalidator(EntityManagerFactory entityManagerFactory, DataSourceProperties dataSource,
+                                  @Value("${cache.entities.reevict-after-ms:0}") long reevictAfterMs,
+                                  MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+        this.reevictAfterMs = reevictAfterMs;
+        for (String table : ENTITIES.keySet()) {
+            invalidations.put(table, Counter.builder("tickets.cache.invalidations")
+                    .description("Entradas do cache de segundo nível removidas por NOTIFY")
+                    .tag("table", table)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!dataSource.determineUrl().startsWith("jdbc:postgresql:")) {
+            log.info("Invalidação do cache entre instâncias desligada: o banco não é Postgres");
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::listen, "entity-cache-invalidator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Connection current = connection;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException ignored) {
+                // a thread termina de qualquer forma
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** "tabela:id", como enviado pelo trigger. */
+    public void invalidate(String payload) {
+        String table = evict(payload);
+        if (table != null) {
+            invalidations.get(table).increment();
+        }
+    }
+
+    void evictAll() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    private String evict(String payload) {
+        int colon = payload.indexOf(':');
+        String table = colon < 0 ? payload : payload.substring(0, colon);
+        Class<?> entity = ENTITIES.get(table);
+        if (entity == null) {
+            log.debug("Notificação de cache ignorada: {}", payload);
+            return null;
+        }
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(entity, payload.substring(colon + 1));
+        if (entity == User.class) {
+            // O e-mail antigo não vem na notificação: a região de e-mails inteira sai
+            cache.evictNaturalIdData(User.class);
+        }
+        return table;
+    }
+
+    private void listen() {
+        Properties props = new Properties();
+        props.setProperty("user", dataSource.determineUsername());
+        if (dataSource.determinePassword() != null) {
+            props.setProperty("password", dataSource.determinePassword());
+        }
+        // Conexão que cai sem aviso aparece no SELECT 1 em vez de travar a thread
+        props.setProperty("socketTimeout", "30");
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(dataSource.determineUrl(), props);
+                 Statement statement = conn.createStatement()) {
+                connection = conn;
+                statement.execute("LISTEN " + CHANNEL);
+                evictAll();
+                log.info("Cache de entidades em LISTEN {}", CHANNEL);
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(pollMs());
+                    if (notifications == null || notifications.length == 0) {
+                        statement.execute("SELECT 1");
+                    } else {
+                        for (PGNotification notification : notifications) {
+                            invalidate(notification.getParameter());
+                            if (reevictAfterMs > 0) {
+                                pending.addLast(new Pending(System.currentTimeMillis() + reevictAfterMs,
+                                        notification.getParameter()));
+                            }
+                        }
+                    }
+                    reevictDue();
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("LISTEN {} interrompido, cache de entidades descartado: {}", CHANNEL, e.getMessage());
+                evictAll();
+                pending.clear();
+                sleep();
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private int pollMs() {
+        Pending next = pending.peekFirst();
+        if (next == null) {
+            return POLL_MS;
+        }
+        return (int) Math.max(1, Math.min(POLL_MS, next.due() - System.currentTimeMillis()));
+    }
+
+    private void reevictDue() {
+        long now = System.currentTimeMillis();
+        while (!pending.isEmpty() && pending.peekFirst().due() <= now) {
+            evict(pending.pollFirst().payload());
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(RETRY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
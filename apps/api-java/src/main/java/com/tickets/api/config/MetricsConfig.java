@@ -0,0 +1,115 @@
+package com.tickets.api.config;
+
+import com.tickets.api.model.enums.ReportStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Instrumentação exposta em /actuator/prometheus. As consultas dos repositórios
+ * (spring.data.repository.invocations), as requisições HTTP e o pool do Hikari
+ * (hikaricp.connections.*) já são medidos pelo Spring Boot; aqui entram os timers
+ * dos serviços, a contagem de SQL por requisição e a saturação do pool.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /** Valor da tag quando o filtro de status não foi informado (ou é inválido). */
+    static final String NO_FILTER = "ALL";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // http.server.requests ganha a tag status.filter; o valor é limitado aos valores do enum
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context)
+                        .and("status.filter", statusFilter(context.getCarrier()));
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspector(SqlStatementCounter counter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+
+    @Bean
+    public MeterBinder connectionPoolSaturation(DataSource dataSource) {
+        return registry -> {
+            for (HikariDataSource hikari : pools(dataSource)) {
+                Gauge.builder("tickets.db.pool.saturation", hikari, MetricsConfig::saturation)
+                        .description("Conexões em uso mais threads aguardando, dividido pelo tamanho máximo do pool")
+                        .tag("pool", String.valueOf(hikari.getPoolName()))
+                        .register(registry);
+            }
+        };
+    }
+
+    // Com réplicas, o DataSource é o roteador: um pool para o primário e um por réplica
+    static List<HikariDataSource> pools(DataSource dataSource) {
+        List<DataSource> candidates = new ArrayList<>();
+        try {
+            if (dataSource.isWrapperFor(ReplicaRoutingDataSource.class)) {
+                ReplicaRoutingDataSource routing = dataSource.unwrap(ReplicaRoutingDataSource.class);
+                candidates.add(routing.primary());
+                routing.replicaSet().replicas().forEach(replica -> candidates.add(replica.dataSource));
+            } else {
+                candidates.add(dataSource);
+            }
+        } catch (SQLException e) {
+            candidates.add(dataSource);
+        }
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (DataSource candidate : candidates) {
+            if (candidate instanceof HikariDataSource hikari) {
+                pools.add(hikari);
+            }
+        }
+        return pools;
+    }
+
+    static String statusFilter(HttpServletRequest request) {
+        String status = request.getParameter("status");
+        if (status != null) {
+            for (ReportStatus value : ReportStatus.values()) {
+                if (value.name().equals(status)) {
+                    return status;
+                }
+            }
+        }
+        return NO_FILTER;
+    }
+
+    // > 1 significa que há requisições esperando conexão
+    private static double saturation(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return 0;
+        }
+        return (double) (pool.getActiveConnections() + pool.getThreadsAwaitingConnection())
+                / hikari.getMaximumPoolSize();
+    }
+}
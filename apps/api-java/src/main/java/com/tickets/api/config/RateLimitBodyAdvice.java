@@ -0,0 +1,71 @@
+package com.tickets.api.config;
+
+import com.tickets.api.dto.report.CreateReportDto;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Segundo balde de POST /reports, por autor: o autor só é conhecido depois de ler o corpo,
+ * então o limite por IP do interceptor não pega um script que troca de IP. Em POST /reports/batch
+ * (regra per-item) o lote consome um token por item do balde do IP e, de cada autor presente,
+ * um por item dele.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class RateLimitBodyAdvice extends RequestBodyAdviceAdapter {
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean supports(MethodParameter parameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return CreateReportDto.class.equals(targetType)
+                || targetType instanceof ParameterizedType list && List.class.equals(list.getRawType())
+                        && CreateReportDto.class.equals(list.getActualTypeArguments()[0]);
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return body;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        RateLimiter.Limit limit = pattern == null ? null : rateLimiter.limitFor(request.getMethod(), pattern.toString());
+        if (limit == null) {
+            return body;
+        }
+        if (body instanceof CreateReportDto dto) {
+            if (dto.getAuthorId() != null) {
+                rateLimiter.check(limit, "author:" + dto.getAuthorId());
+            }
+        } else if (body instanceof List<?> items && limit.perItem()) {
+            rateLimiter.check(limit, "ip:" + request.getRemoteAddr(), items.size());
+            // Ordem fixa: o mesmo lote sempre consome os baldes na mesma sequência
+            Map<String, Integer> byAuthor = new TreeMap<>();
+            items.stream()
+                    .filter(CreateReportDto.class::isInstance)
+                    .map(item -> ((CreateReportDto) item).getAuthorId())
+                    .filter(Objects::nonNull)
+                    .forEach(authorId -> byAuthor.merge(authorId, 1, Integer::sum));
+            byAuthor.forEach((authorId, n) -> rateLimiter.check(limit, "author:" + authorId, n));
+        }
+        return body;
+    }
+}
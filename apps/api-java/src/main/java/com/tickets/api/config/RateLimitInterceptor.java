@@ -0,0 +1,32 @@
+package com.tickets.api.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Rate limit por IP antes dos controllers. Atrás de proxy, o IP do cliente depende de
+ * server.forward-headers-strategy; sem isso todos dividem o balde do proxy. Limites por item
+ * dependem do corpo e ficam com o {@link RateLimitBodyAdvice}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            RateLimiter.Limit limit = rateLimiter.limitFor(request.getMethod(), pattern.toString());
+            if (limit != null && !limit.perItem()) {
+                rateLimiter.check(limit, "ip:" + request.getRemoteAddr());
+            }
+        }
+        return true;
+    }
+}
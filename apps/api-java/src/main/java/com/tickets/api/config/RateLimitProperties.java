@@ -0,0 +1,29 @@
+package com.tickets.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Limites por rota em rate-limit.rules.&lt;nome&gt;.*: método, padrão da rota (o mesmo do
+ * {@code @RequestMapping}), taxa sustentada e rajada. Com per-item, a taxa e a rajada contam
+ * itens do corpo (lista) em vez de requisições.
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private Map<String, Rule> rules = new LinkedHashMap<>();
+
+    @Data
+    public static class Rule {
+        private String method;
+        private String path;
+        private int requestsPerMinute;
+        private int burst = 1;
+        private boolean perItem;
+    }
+}
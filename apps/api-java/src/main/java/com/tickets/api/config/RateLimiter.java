@@ -0,0 +1,153 @@
+package com.tickets.api.config;
+
+import com.tickets.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de requisições por cliente e rota pelo GCRA, equivalente a um token bucket: cada
+ * balde é um único long com o instante teórico da próxima chegada (TAT), atualizado por CAS,
+ * sem lock. A tabela é um ConcurrentHashMap, que já divide a contenção entre os bins. Um balde
+ * com o TAT no passado equivale a um balde cheio, então a varredura periódica pode removê-lo
+ * sem mudar o resultado de nenhuma requisição futura.
+ */
+@Component
+public class RateLimiter {
+
+    /** Limite de uma rota: uma requisição a cada {@code intervalNanos}, com rajada de {@code burst}. */
+    public static final class Limit {
+        private final String name;
+        private final long intervalNanos;
+        private final long capacityNanos;
+        private final boolean perItem;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        Limit(String name, int requestsPerMinute, int burst, boolean perItem, MeterRegistry registry) {
+            this.name = name;
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / requestsPerMinute;
+            this.capacityNanos = intervalNanos * burst;
+            this.perItem = perItem;
+            this.allowed = requests(registry, name, "ALLOWED");
+            this.rejected = requests(registry, name, "REJECTED");
+        }
+
+        public String name() {
+            return name;
+        }
+
+        /** Consome um token por item do corpo; verificado depois da leitura, não no interceptor. */
+        public boolean perItem() {
+            return perItem;
+        }
+    }
+
+    private record BucketKey(String limit, String client) {}
+
+    // método -> padrão da rota -> limite; consultado a cada requisição sem montar strings
+    private final Map<String, Map<String, Limit>> limits = new HashMap<>();
+    private final ConcurrentHashMap<BucketKey, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+        this(properties, registry, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, MeterRegistry registry, LongSupplier clock) {
+        this.clock = clock;
+        if (properties.isEnabled()) {
+            properties.getRules().forEach((name, rule) -> {
+                if (rule.getRequestsPerMinute() < 1 || rule.getBurst() < 1) {
+                    throw new IllegalStateException("rate-limit.rules." + name + ": taxa e rajada devem ser positivas");
+                }
+                limits.computeIfAbsent(rule.getMethod().toUpperCase(), m -> new HashMap<>())
+                        .put(rule.getPath(), new Limit(name, rule.getRequestsPerMinute(), rule.getBurst(),
+                                rule.isPerItem(), registry));
+            });
+        }
+        Gauge.builder("tickets.ratelimit.buckets", buckets, Map::size)
+                .description("Baldes ativos (cliente x rota) na tabela do rate limit")
+                .register(registry);
+    }
+
+    /** Limite configurado para a rota, ou null quando ela não é limitada. */
+    public Limit limitFor(String method, String pattern) {
+        Map<String, Limit> byPattern = limits.get(method);
+        return byPattern == null ? null : byPattern.get(pattern);
+    }
+
+    /** Consome uma requisição do balde do cliente ou lança 429 com o tempo até a próxima caber. */
+    public void check(Limit limit, String client) {
+        check(limit, client, 1);
+    }
+
+    /** Consome {@code permits} de uma vez (todos ou nenhum), como {@link #check(Limit, String)}. */
+    public void check(Limit limit, String client, int permits) {
+        long waitNanos = tryAcquire(limit, client, permits);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException("Limite de requisições excedido",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+
+    /** 0 quando a requisição cabe no limite; senão os nanossegundos até caber. */
+    long tryAcquire(Limit limit, String client) {
+        return tryAcquire(limit, client, 1);
+    }
+
+    long tryAcquire(Limit limit, String client, int permits) {
+        if (permits < 1) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        BucketKey key = new BucketKey(limit.name, client);
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = tat.get();
+            long next = (current - now > 0 ? current : now) + limit.intervalNanos * permits;
+            long excess = next - now - limit.capacityNanos;
+            if (excess > 0) {
+                limit.rejected.increment();
+                return excess;
+            }
+            if (tat.compareAndSet(current, next)) {
+                limit.allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    // Uma requisição que pegou o balde pouco antes da remoção não é contada: o erro é de uma unidade
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        buckets.values().removeIf(tat -> tat.get() - now <= 0);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private static Counter requests(MeterRegistry registry, String rule, String outcome) {
+        return Counter.builder("tickets.ratelimit.requests")
+                .description("Verificações do rate limit (IP e autor contam separadamente), por regra e resultado")
+                .tag("rule", rule)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,77 @@
+package com.tickets.api.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Leitura das próprias escritas com réplicas. Depois de uma transação de escrita, o cliente
+ * recebe o cookie {@value #COOKIE} com o fim da janela e a posição do WAL do primário após o
+ * commit; até o fim da janela, as leituras dele só vão para uma réplica que já tenha aplicado
+ * essa posição (sem posição conhecida, vão para o primário). O estado vale para a thread da
+ * requisição, entre o {@link ReadYourWritesFilter} e o fim dela.
+ */
+public final class ReadYourWrites {
+
+    public static final String COOKIE = "tickets-rw";
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+
+    /** lsn 0 = posição desconhecida (o primário não é Postgres ou a consulta falhou). */
+    static final class Session {
+        private final HttpServletResponse response;
+        private long until;
+        private long lsn;
+
+        Session(HttpServletResponse response, long until, long lsn) {
+            this.response = response;
+            this.until = until;
+            this.lsn = lsn;
+        }
+
+        /** Posição mínima que a réplica precisa ter aplicado; -1 sem restrição, 0 só o primário. */
+        long requiredLsn(long now) {
+            return now >= until ? -1 : lsn;
+        }
+
+        void wrote(long now, long lsn, long windowMs) {
+            this.until = now + windowMs;
+            // Posição desconhecida invalida a anterior: até o fim da janela, só o primário
+            this.lsn = lsn == 0 ? 0 : Math.max(this.lsn, lsn);
+            if (response != null && !response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE, until + "-" + Long.toHexString(this.lsn));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, (windowMs + 999) / 1000));
+                response.addCookie(cookie);
+            }
+        }
+    }
+
+    private ReadYourWrites() {
+    }
+
+    static Session current() {
+        return CURRENT.get();
+    }
+
+    static void begin(HttpServletResponse response, String cookieValue, long now, long windowMs) {
+        long until = 0;
+        long lsn = 0;
+        if (cookieValue != null) {
+            int dash = cookieValue.indexOf('-');
+            try {
+                // O cookie vem do cliente: a janela nunca passa da configurada
+                until = Math.min(Long.parseLong(cookieValue.substring(0, dash)), now + windowMs);
+                lsn = Long.parseUnsignedLong(cookieValue.substring(dash + 1), 16);
+            } catch (RuntimeException e) {
+                until = 0; // cookie adulterado ou de outra versão: sem janela
+                lsn = 0;
+            }
+        }
+        CURRENT.set(new Session(response, until, lsn));
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,73 @@
+package com.tickets.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Com datasource.replicas.enabled=true, o DataSource da aplicação (JPA, Flyway) passa a ser o
+ * {@link ReplicaRoutingDataSource} atrás de um {@link LazyConnectionDataSourceProxy}. O pool do
+ * primário continua configurado por spring.datasource.*; cada réplica tem o próprio pool,
+ * somente leitura, com as métricas hikaricp.* marcadas pelo nome (replica-0, replica-1...).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaSet replicaSet(HikariDataSource primaryDataSource, ReplicaProperties properties,
+                                 MeterRegistry meterRegistry) {
+        if (properties.getUrls().isEmpty()) {
+            throw new IllegalStateException("datasource.replicas.enabled=true sem datasource.replicas.urls");
+        }
+        List<ReplicaSet.Replica> replicas = new ArrayList<>();
+        for (String url : properties.getUrls()) {
+            String name = "replica-" + replicas.size();
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(url);
+            pool.setUsername(properties.getUsername());
+            pool.setPassword(properties.getPassword());
+            pool.setMaximumPoolSize(properties.getPoolSize());
+            pool.setConnectionTimeout(properties.getConnectionTimeoutMs());
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaSet.Replica(name, pool));
+        }
+        return new ReplicaSet(primaryDataSource, replicas, properties.getMaxLagBytes(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaSet replicaSet,
+                                 ReplicaProperties properties, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primaryDataSource, replicaSet, properties.getStickinessMs(), meterRegistry));
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaProperties properties) {
+        return new ReadYourWritesFilter(properties.getStickinessMs());
+    }
+}
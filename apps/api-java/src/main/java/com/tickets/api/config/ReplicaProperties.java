@@ -0,0 +1,27 @@
+package com.tickets.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de leitura em datasource.replicas.*: URLs JDBC (usuário e senha do primário quando
+ * não informados), pool por réplica, verificação de saúde, atraso máximo aceito e a janela em
+ * que um cliente que acabou de escrever lê só do que já contém a escrita.
+ */
+@Data
+@ConfigurationProperties(prefix = "datasource.replicas")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+    private List<String> urls = new ArrayList<>();
+    private String username;
+    private String password;
+    private int poolSize = 10;
+    private long connectionTimeoutMs = 1000;
+    private long healthIntervalMs = 1000;
+    private long maxLagBytes = 16 * 1024 * 1024;
+    private long stickinessMs = 5000;
+}
@@ -0,0 +1,117 @@
+package com.tickets.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Transações {@code readOnly = true} leem de uma réplica saudável; todo o resto vai para o
+ * primário. Precisa ficar atrás de um {@code LazyConnectionDataSourceProxy}: o gerenciador de
+ * transações pede a conexão antes de marcar a transação como somente leitura, e o proxy só a
+ * obtém no primeiro comando. Se a réplica escolhida não entrega conexão, a leitura vai para o
+ * primário. Transações de escrita dentro de uma requisição renovam a janela do
+ * {@link ReadYourWrites} após o commit.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    enum Route { PRIMARY_WRITE, PRIMARY_STICKY, PRIMARY_NO_REPLICA, PRIMARY_FAILOVER, REPLICA }
+
+    private final DataSource primary;
+    private final ReplicaSet replicas;
+    private final long stickinessMs;
+    private final LongSupplier clock;
+    private final Map<Route, Counter> routed = new EnumMap<>(Route.class);
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaSet replicas, long stickinessMs,
+                                    MeterRegistry meterRegistry) {
+        this(primary, replicas, stickinessMs, meterRegistry, System::currentTimeMillis);
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, ReplicaSet replicas, long stickinessMs,
+                             MeterRegistry meterRegistry, LongSupplier clock) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.stickinessMs = stickinessMs;
+        this.clock = clock;
+        for (Route route : Route.values()) {
+            routed.put(route, Counter.builder("tickets.db.routing")
+                    .description("Conexões obtidas, por destino e motivo")
+                    .tag("route", route.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Connection connection = primary(Route.PRIMARY_WRITE);
+            trackWrite(connection);
+            return connection;
+        }
+        ReadYourWrites.Session session = ReadYourWrites.current();
+        long requiredLsn = session == null ? -1 : session.requiredLsn(clock.getAsLong());
+        ReplicaSet.Replica replica = replicas.pick(requiredLsn);
+        if (replica == null) {
+            return primary(requiredLsn >= 0 ? Route.PRIMARY_STICKY : Route.PRIMARY_NO_REPLICA);
+        }
+        try {
+            Connection connection = replica.dataSource.getConnection();
+            routed.get(Route.REPLICA).increment();
+            return connection;
+        } catch (SQLException e) {
+            replicas.markDown(replica, e);
+            return primary(Route.PRIMARY_FAILOVER);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Usuário e senha vêm da configuração de cada pool");
+    }
+
+    DataSource primary() {
+        return primary;
+    }
+
+    ReplicaSet replicaSet() {
+        return replicas;
+    }
+
+    private Connection primary(Route route) throws SQLException {
+        routed.get(route).increment();
+        return primary.getConnection();
+    }
+
+    // Uma vez por transação de escrita de uma requisição: a posição do WAL é lida após o commit na
+    // própria conexão da transação, que só volta ao pool depois. Outra conexão do primário aqui
+    // esperaria o connection-timeout inteiro com o pool ocupado por escritas
+    private void trackWrite(Connection connection) {
+        ReadYourWrites.Session session = ReadYourWrites.current();
+        if (session == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, session);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                session.wrote(clock.getAsLong(), replicas.insertLsn(connection), stickinessMs);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaRoutingDataSource.this);
+            }
+        });
+    }
+}
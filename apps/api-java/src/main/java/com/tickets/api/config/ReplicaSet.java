@@ -0,0 +1,172 @@
+package com.tickets.api.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Réplicas de leitura e a saúde de cada uma. A verificação periódica marca como fora a réplica
+ * que não responde ou que está mais de {@code maxLagBytes} atrás do primário, e guarda a
+ * posição do WAL já aplicada por ela (Postgres em recuperação), usada pelo
+ * {@link ReadYourWrites}. Uma falha ao obter conexão também tira a réplica até a próxima
+ * verificação bem-sucedida. Sem Postgres (H2 nos testes, réplica que não é standby), só a
+ * conexão é verificada e a posição fica desconhecida.
+ */
+@Slf4j
+public class ReplicaSet {
+
+    static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean healthy = true;
+        volatile long replayLsn;
+        volatile long lagBytes;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagBytes;
+    private final AtomicInteger next = new AtomicInteger();
+    // Primário e réplicas são o mesmo banco; descoberto na primeira conexão
+    private volatile Boolean postgres;
+
+    ReplicaSet(DataSource primary, List<Replica> replicas, long maxLagBytes, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLagBytes = maxLagBytes;
+        for (Replica replica : replicas) {
+            Gauge.builder("tickets.db.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("1 quando a réplica recebe leituras")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("tickets.db.replica.lag", replica, r -> r.lagBytes)
+                    .description("Atraso da réplica em relação ao primário na última verificação")
+                    .baseUnit("bytes")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    List<Replica> replicas() {
+        return replicas;
+    }
+
+    /**
+     * Réplica saudável (rodízio) que já aplicou {@code requiredLsn}; -1 aceita qualquer uma e 0
+     * nenhuma. null quando a leitura deve ir para o primário.
+     */
+    Replica pick(long requiredLsn) {
+        if (requiredLsn == 0) {
+            return null;
+        }
+        int n = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), n);
+        for (int i = 0; i < n; i++) {
+            Replica replica = replicas.get((start + i) % n);
+            if (replica.healthy && (requiredLsn < 0 || replica.replayLsn >= requiredLsn)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    void markDown(Replica replica, SQLException cause) {
+        if (replica.healthy) {
+            log.warn("Réplica {} fora das leituras: {}", replica.name, cause.getMessage());
+        }
+        replica.healthy = false;
+    }
+
+    /** Posição atual do WAL no primário; 0 se não for possível saber. */
+    long primaryLsn() {
+        try (Connection connection = primary.getConnection()) {
+            return isPostgres(connection) ? lsn(connection, "SELECT pg_current_wal_lsn()") : 0;
+        } catch (SQLException e) {
+            log.debug("Posição do WAL do primário indisponível: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Posição do WAL já inserida, lida na conexão do primário que acabou de confirmar uma escrita
+     * (inclui o registro do commit); 0 se não for possível saber.
+     */
+    long insertLsn(Connection connection) {
+        try {
+            return isPostgres(connection) ? lsn(connection, "SELECT pg_current_wal_insert_lsn()") : 0;
+        } catch (SQLException e) {
+            log.debug("Posição do WAL da transação indisponível: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-interval-ms:1000}")
+    public void check() {
+        long primaryLsn = primaryLsn();
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                long replayLsn = isPostgres(connection) ? lsn(connection, "SELECT pg_last_wal_replay_lsn()") : 0;
+                long lag = primaryLsn > 0 && replayLsn > 0 ? Math.max(0, primaryLsn - replayLsn) : 0;
+                replica.replayLsn = replayLsn;
+                replica.lagBytes = lag;
+                boolean healthy = lag <= maxLagBytes;
+                if (healthy != replica.healthy) {
+                    if (healthy) {
+                        log.info("Réplica {} de volta às leituras", replica.name);
+                    } else {
+                        log.warn("Réplica {} fora das leituras: {} bytes atrás do primário", replica.name, lag);
+                    }
+                }
+                replica.healthy = healthy;
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+
+    private boolean isPostgres(Connection connection) throws SQLException {
+        Boolean known = postgres;
+        if (known == null) {
+            known = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            postgres = known;
+        }
+        return known;
+    }
+
+    // pg_last_wal_replay_lsn() é NULL fora de recuperação (réplica que não é standby)
+    private static long lsn(Connection connection, String sql) throws SQLException {
+        try (Statement st = connection.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            String value = rs.next() ? rs.getString(1) : null;
+            return value == null ? 0 : parseLsn(value);
+        }
+    }
+
+    /** "16/B374D848" → 0x16B374D848. */
+    static long parseLsn(String value) {
+        int slash = value.indexOf('/');
+        return Long.parseUnsignedLong(value.substring(0, slash), 16) << 32
+                | Long.parseUnsignedLong(value.substring(slash + 1), 16);
+    }
+}
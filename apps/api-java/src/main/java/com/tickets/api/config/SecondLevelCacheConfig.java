@@ -0,0 +1,70 @@
+package com.tickets.api.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de segundo nível do Hibernate para User, Category e Location (e User por e-mail), em
+ * memória com Caffeine via JCache. Cada região tem limite de entradas e validade, e as
+ * estatísticas viram cache.gets/cache.puts/cache.evictions em /actuator/prometheus. O
+ * {@link EntityCacheInvalidator} cuida das alterações feitas por outras instâncias. As
+ * propriedades vão para o Hibernate por código: os testes de repositório só usam o cache
+ * quando importam esta classe.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "cache.entities", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    /** Regiões declaradas nas entidades (@Cache e @NaturalIdCache). */
+    static final List<String> REGIONS = List.of("users", "users-by-email", "categories", "locations");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(@Value("${cache.entities.max-entries:10000}") long maxEntries,
+                                           @Value("${cache.entities.ttl-seconds:600}") long ttlSeconds) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager();
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+            config.setMaximumSize(OptionalLong.of(maxEntries));
+            config.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+            // O Hibernate já guarda o estado desmontado da entidade; cópia a cada leitura seria desperdício
+            config.setStoreByValue(false);
+            config.setStatisticsEnabled(true);
+            cacheManager.createCache(region, config);
+        }
+        return cacheManager;
+    }
+
+    // Região que não existir no gerenciador é erro na subida, em vez de um cache criado sem limites
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder entityCacheMetrics(CacheManager entityCacheManager) {
+        return registry -> REGIONS.forEach(region ->
+                JCacheMetrics.monitor(registry, entityCacheManager.getCache(region)));
+    }
+}
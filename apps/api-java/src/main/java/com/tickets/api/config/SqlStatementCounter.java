@@ -0,0 +1,29 @@
+package com.tickets.api.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread atual. O
+ * {@link SqlStatementMetricsFilter} zera a contagem no início de cada requisição
+ * e registra o total ao final.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public int current() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,53 @@
+package com.tickets.api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Registra quantos comandos SQL cada requisição executou, com as mesmas tags de
+ * baixa cardinalidade do http.server.requests (padrão da rota, método, filtro de
+ * status e outcome).
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry registry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        counter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DistributionSummary.builder("tickets.http.sql.statements")
+                    .description("Comandos SQL executados por requisição")
+                    .baseUnit("statements")
+                    .tag("uri", uri(request))
+                    .tag("method", request.getMethod())
+                    .tag("status.filter", MetricsConfig.statusFilter(request))
+                    .tag("outcome", Outcome.forStatus(response.getStatus()).name())
+                    .register(registry)
+                    .record(counter.current());
+        }
+    }
+
+    // Sem padrão de rota (404, recursos estáticos) agrupa tudo em UNKNOWN
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -2,14 +2,16 @@ package com.tickets.api.controller;
 
 import com.tickets.api.dto.category.CategoryResponseDto;
 import com.tickets.api.dto.category.CreateCategoryDto;
+import com.tickets.api.service.CategoryCatalog;
 import com.tickets.api.service.CategoryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/categories")
@@ -24,9 +26,21 @@ public class CategoryController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    // Serve o JSON pré-serializado do catálogo; If-None-Match com o ETag atual responde 304
     @GetMapping
-    public ResponseEntity<List<CategoryResponseDto>> findAll() {
-        return ResponseEntity.ok(categoryService.findAll());
+    public ResponseEntity<byte[]> findAll(WebRequest request) {
+        CategoryCatalog.Snapshot catalog = categoryService.getCatalog();
+        if (request.checkNotModified(catalog.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(catalog.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalog.json());
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,35 @@
+package com.tickets.api.controller;
+
+import com.tickets.api.dto.comment.CommentResponseDto;
+import com.tickets.api.dto.comment.CreateCommentDto;
+import com.tickets.api.dto.common.CursorPageResponseDto;
+import com.tickets.api.service.CommentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/reports/{reportId}/comments")
+@RequiredArgsConstructor
+public class CommentController {
+
+    private final CommentService commentService;
+
+    @PostMapping
+    public ResponseEntity<CommentResponseDto> create(@PathVariable String reportId,
+                                                     @Valid @RequestBody CreateCommentDto dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(commentService.create(reportId, dto));
+    }
+
+    // total = contador do report; nextCursor = null na última página
+    @GetMapping
+    public ResponseEntity<CursorPageResponseDto<CommentResponseDto>> findByReport(
+            @PathVariable String reportId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(commentService.findByReport(reportId, cursor, limit));
+    }
+}
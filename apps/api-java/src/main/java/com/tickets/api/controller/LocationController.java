@@ -1,13 +1,16 @@
 package com.tickets.api.controller;
 
+import com.tickets.api.dto.common.ResourceVersion;
 import com.tickets.api.dto.location.CreateLocationDto;
 import com.tickets.api.dto.location.LocationResponseDto;
+import com.tickets.api.dto.location.NearbyLocationDto;
 import com.tickets.api.service.LocationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -24,12 +27,30 @@ public class LocationController {
     }
 
     @GetMapping
-    public ResponseEntity<List<LocationResponseDto>> findAll() {
+    public ResponseEntity<List<LocationResponseDto>> findAll(WebRequest request) {
+        ResourceVersion version = locationService.findListVersion();
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version.etag()).build();
+        }
         return ResponseEntity.ok(locationService.findAll());
     }
 
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyLocationDto>> findNearby(
+            @RequestParam("lat") double lat,
+            @RequestParam("lon") double lon,
+            @RequestParam(value = "radius", required = false) Double radius,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(locationService.findNearby(lat, lon, radius, limit));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<LocationResponseDto> findById(@PathVariable String id) {
+    public ResponseEntity<LocationResponseDto> findById(@PathVariable String id, WebRequest request) {
+        ResourceVersion version = locationService.findVersion(id);
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version.etag()).build();
+        }
         return ResponseEntity.ok(locationService.findById(id));
     }
 
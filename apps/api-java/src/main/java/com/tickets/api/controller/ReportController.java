@@ -1,16 +1,40 @@
 package com.tickets.api.controller;
 
+import com.tickets.api.dto.common.CursorPageResponseDto;
 import com.tickets.api.dto.common.PageResponseDto;
+import com.tickets.api.dto.common.ResourceVersion;
+import com.tickets.api.dto.report.BatchReportResponseDto;
 import com.tickets.api.dto.report.CreateReportDto;
+import com.tickets.api.dto.report.MergeReportsDto;
+import com.tickets.api.dto.report.MergeReportsResponseDto;
 import com.tickets.api.dto.report.ReportResponseDto;
+import com.tickets.api.dto.report.ReportSearchResponseDto;
+import com.tickets.api.dto.report.ReportStatsDto;
+import com.tickets.api.dto.report.StatusHistoryEntryDto;
 import com.tickets.api.dto.report.UpdateStatusDto;
 import com.tickets.api.model.enums.ReportStatus;
+import com.tickets.api.service.IdempotencyService;
+import com.tickets.api.service.ReportExportService;
 import com.tickets.api.service.ReportService;
+import com.tickets.api.service.ReportStatusStream;
+import com.tickets.api.service.StatusHistoryService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/reports")
@@ -18,12 +42,31 @@ import org.springframework.web.bind.annotation.*;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportExportService reportExportService;
+    private final StatusHistoryService statusHistoryService;
+    private final ReportStatusStream reportStatusStream;
+    private final IdempotencyService idempotencyService;
 
+    // Repetição com a mesma Idempotency-Key devolve o report criado na primeira vez
     @PostMapping
-    public ResponseEntity<ReportResponseDto> create(@Valid @RequestBody CreateReportDto dto) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(reportService.create(dto));
+    public ResponseEntity<ReportResponseDto> create(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateReportDto dto) {
+        ReportResponseDto res = idempotencyService.execute(idempotencyKey, "POST /reports", dto,
+                ReportResponseDto.class, () -> reportService.create(dto));
+        return ResponseEntity.status(HttpStatus.CREATED).body(res);
+    }
+
+    // Sem @Valid: cada item é validado no serviço e os erros voltam por item (207 se houver falhas)
+    @PostMapping("/batch")
+    public ResponseEntity<BatchReportResponseDto> createBatch(@RequestBody List<CreateReportDto> dtos) {
+        BatchReportResponseDto result = reportService.createBatch(dtos);
+        HttpStatus status = result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(result);
     }
 
+    // Listas: ETag das linhas devolvidas (nada além da própria página é consultado); o 304
+    // economiza a serialização e a transferência
     @GetMapping
     public ResponseEntity<PageResponseDto<ReportResponseDto>> findAll(
             @RequestParam(value = "page", required = false) Integer page,
@@ -31,18 +74,134 @@ public class ReportController {
             @RequestParam(value = "status", required = false) ReportStatus status,
             @RequestParam(value = "locationId", required = false) String locationId,
             @RequestParam(value = "categoryId", required = false) String categoryId,
-            @RequestParam(value = "authorId", required = false) String authorId
+            @RequestParam(value = "authorId", required = false) String authorId,
+            @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived,
+            WebRequest request
+    ) {
+        PageResponseDto<ReportResponseDto> res = reportService.findAll(
+                page, limit, status, locationId, categoryId, authorId, includeArchived);
+        ResourceVersion version = pageVersion(res.getData(), String.valueOf(res.getTotal()));
+        if (request.checkNotModified(version.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version.etag()).build();
+        }
+        return ResponseEntity.ok(res);
+    }
+
+    // Modo cursor: ativado pela presença do parâmetro "cursor" (vazio na primeira página)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageResponseDto<ReportResponseDto>> findAllByCursor(
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal,
+            @RequestParam(value = "status", required = false) ReportStatus status,
+            @RequestParam(value = "locationId", required = false) String locationId,
+            @RequestParam(value = "categoryId", required = false) String categoryId,
+            @RequestParam(value = "authorId", required = false) String authorId,
+            @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(reportService.findAll(page, limit, status, locationId, categoryId, authorId));
+        CursorPageResponseDto<ReportResponseDto> res = reportService.findAllByCursor(
+                cursor, limit, includeTotal, status, locationId, categoryId, authorId, includeArchived);
+        ResourceVersion version = pageVersion(res.getData(), res.getTotal() + "-" + (res.getNextCursor() != null));
+        if (request.checkNotModified(version.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version.etag()).build();
+        }
+        return ResponseEntity.ok(res);
     }
 
+    // Dump completo para auditoria, escrito direto no corpo da resposta (NDJSON ou CSV)
+    @GetMapping("/export")
+    public void export(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "status", required = false) ReportStatus status,
+            @RequestParam(value = "locationId", required = false) String locationId,
+            @RequestParam(value = "categoryId", required = false) String categoryId,
+            @RequestParam(value = "authorId", required = false) String authorId,
+            @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived,
+            HttpServletResponse response
+    ) throws IOException {
+        ReportExportService.Format f = ReportExportService.Format.parse(format);
+        response.setContentType(f.contentType);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reports." + f.extension + "\"");
+        reportExportService.export(
+                f, status, locationId, categoryId, authorId, includeArchived, response.getOutputStream());
+    }
+
+    // Últimas mudanças de status de vários reports: ?reportIds=a,b,c&perReport=5
+    @GetMapping("/history")
+    public ResponseEntity<Map<String, List<StatusHistoryEntryDto>>> latestHistory(
+            @RequestParam(value = "reportIds") List<String> reportIds,
+            @RequestParam(value = "perReport", required = false) Integer perReport
+    ) {
+        return ResponseEntity.ok(statusHistoryService.findLatestByReports(reportIds, perReport));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ReportSearchResponseDto> search(
+            @RequestParam(value = "q") String q,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived
+    ) {
+        return ResponseEntity.ok(reportService.search(q, page, limit, includeArchived));
+    }
+
+    // SSE com as mudanças de status dos reports de um autor ou de uma localização
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(value = "authorId", required = false) String authorId,
+            @RequestParam(value = "locationId", required = false) String locationId
+    ) {
+        return reportStatusStream.subscribe(authorId, locationId);
+    }
+
+    // Totais por status, globais ou de uma localização/categoria (contadores mantidos em memória)
+    @GetMapping("/stats")
+    public ResponseEntity<ReportStatsDto> stats(
+            @RequestParam(value = "locationId", required = false) String locationId,
+            @RequestParam(value = "categoryId", required = false) String categoryId
+    ) {
+        return ResponseEntity.ok(reportService.getStats(locationId, categoryId));
+    }
+
+    // If-None-Match / If-Modified-Since respondidos com 304 a partir só de updatedAt;
+    // checkNotModified também grava ETag e Last-Modified na resposta 200
     @GetMapping("/{id}")
-    public ResponseEntity<ReportResponseDto> findById(@PathVariable String id) {
+    public ResponseEntity<ReportResponseDto> findById(@PathVariable String id, WebRequest request) {
+        ResourceVersion version = reportService.findVersion(id);
+        if (request.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version.etag()).build();
+        }
         return ResponseEntity.ok(reportService.findById(id));
     }
 
+    @GetMapping("/{id}/history")
+    public ResponseEntity<CursorPageResponseDto<StatusHistoryEntryDto>> history(
+            @PathVariable String id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(statusHistoryService.findByReport(id, cursor, limit));
+    }
+
     @PatchMapping("/{id}/status")
-    public ResponseEntity<ReportResponseDto> updateStatus(@PathVariable String id, @Valid @RequestBody UpdateStatusDto dto) {
-        return ResponseEntity.ok(reportService.updateStatus(id, dto));
+    public ResponseEntity<ReportResponseDto> updateStatus(
+            @PathVariable String id,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody UpdateStatusDto dto) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "PATCH /reports/" + id + "/status", dto,
+                ReportResponseDto.class, () -> reportService.updateStatus(id, dto)));
+    }
+
+    @PostMapping("/{id}/merge")
+    public ResponseEntity<MergeReportsResponseDto> merge(@PathVariable String id, @Valid @RequestBody MergeReportsDto dto) {
+        return ResponseEntity.ok(reportService.merge(id, dto));
+    }
+
+    private static ResourceVersion pageVersion(List<ReportResponseDto> rows, String extra) {
+        Instant maxUpdatedAt = rows.stream().map(ReportResponseDto::getUpdatedAt)
+                .max(Comparator.naturalOrder()).orElse(null);
+        return ResourceVersion.ofPage(rows.stream().map(ReportResponseDto::getId).toList(), maxUpdatedAt, extra);
     }
 }
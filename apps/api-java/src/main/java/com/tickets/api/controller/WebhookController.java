@@ -0,0 +1,36 @@
+package com.tickets.api.controller;
+
+import com.tickets.api.dto.webhook.CreateWebhookDto;
+import com.tickets.api.dto.webhook.WebhookResponseDto;
+import com.tickets.api.service.WebhookService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/webhooks")
+@RequiredArgsConstructor
+public class WebhookController {
+
+    private final WebhookService webhookService;
+
+    @PostMapping
+    public ResponseEntity<WebhookResponseDto> create(@Valid @RequestBody CreateWebhookDto dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(webhookService.create(dto));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<WebhookResponseDto>> findByLocation(@RequestParam("locationId") String locationId) {
+        return ResponseEntity.ok(webhookService.findByLocation(locationId));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        webhookService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
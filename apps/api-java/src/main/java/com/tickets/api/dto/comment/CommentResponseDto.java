@@ -0,0 +1,26 @@
+package com.tickets.api.dto.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentResponseDto {
+    private String id;
+    private String reportId;
+    private String content;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private String authorId;
+    private String authorName; // preenchido em lote no serviço
+
+    // Usado pelas consultas JPQL: autor resolvido depois, um SELECT por página
+    public CommentResponseDto(String id, String reportId, String content, Instant createdAt, Instant updatedAt,
+                              String authorId) {
+        this(id, reportId, content, createdAt, updatedAt, authorId, null);
+    }
+}
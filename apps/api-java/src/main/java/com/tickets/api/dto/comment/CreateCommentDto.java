@@ -0,0 +1,17 @@
+package com.tickets.api.dto.comment;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class CreateCommentDto {
+
+    @NotBlank(message = "Conteúdo é obrigatório")
+    @Size(max = 5000, message = "Comentário excede 5000 caracteres")
+    private String content;
+
+    @NotNull(message = "ID do autor é obrigatório")
+    private String authorId;
+}
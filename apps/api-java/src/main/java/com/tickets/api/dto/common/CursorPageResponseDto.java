@@ -0,0 +1,15 @@
+package com.tickets.api.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CursorPageResponseDto<T> {
+    private List<T> data;
+    private String nextCursor; // null quando não há mais páginas
+    private int limit;
+    private Long total;        // null quando o cliente não pede a contagem
+}
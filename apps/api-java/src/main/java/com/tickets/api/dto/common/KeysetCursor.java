@@ -0,0 +1,37 @@
+package com.tickets.api.dto.common;
+
+import com.tickets.api.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Posição de uma paginação por seek em (createdAt, id). Serializado como
+ * base64url opaco para que o cliente apenas devolva o valor recebido.
+ */
+public record KeysetCursor(Instant createdAt, String id) {
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + "." + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            int dot = raw.indexOf('.');
+            if (sep < 0 || dot < 0 || dot > sep || sep == raw.length() - 1) {
+                throw new IllegalArgumentException(raw);
+            }
+            Instant createdAt = Instant.ofEpochSecond(
+                    Long.parseLong(raw.substring(0, dot)),
+                    Long.parseLong(raw.substring(dot + 1, sep)));
+            return new KeysetCursor(createdAt, raw.substring(sep + 1));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.tickets.api.dto.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Versão de um recurso para GET condicional: ETag fraca e Last-Modified. Um item usa
+ * id + updatedAt; uma lista usa o maior updatedAt e a quantidade de itens do filtro,
+ * que mudam quando um item é criado, alterado ou removido. Uma página usa só as linhas
+ * devolvidas, então custa o mesmo que montá-la.
+ */
+public record ResourceVersion(String etag, Instant lastModified) {
+
+    // Usado pelas consultas JPQL de versão das listas (MAX(updatedAt), COUNT)
+    public ResourceVersion(Instant maxUpdatedAt, Long count) {
+        this(weak(count + "-" + micros(maxUpdatedAt)), maxUpdatedAt);
+    }
+
+    public static ResourceVersion of(String id, Instant updatedAt) {
+        return new ResourceVersion(weak(id + "-" + micros(updatedAt)), updatedAt);
+    }
+
+    /**
+     * Página já carregada: ids na ordem, maior updatedAt e o que mais a resposta traz (total,
+     * próximo cursor). Sem Last-Modified: uma linha removida da página traz outra mais antiga e
+     * o maior updatedAt não muda, então só o ETag decide.
+     */
+    public static ResourceVersion ofPage(List<String> ids, Instant maxUpdatedAt, String extra) {
+        CRC32C crc = new CRC32C();
+        for (String id : ids) {
+            crc.update(id.getBytes(StandardCharsets.UTF_8));
+        }
+        return new ResourceVersion(weak(ids.size() + "-" + Long.toHexString(crc.getValue()) + "-" +
+                micros(maxUpdatedAt) + "-" + extra), null);
+    }
+
+    /** Para WebRequest.checkNotModified: -1 quando não há data (lista vazia). */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+
+    // Microssegundos: a precisão do timestamp no Postgres
+    private static String micros(Instant instant) {
+        if (instant == null) {
+            return "0";
+        }
+        return Long.toHexString(instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000);
+    }
+
+    private static String weak(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+}
@@ -1,10 +1,14 @@
 package com.tickets.api.dto.location;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class LocationResponseDto {
     private String id;
     private String name;
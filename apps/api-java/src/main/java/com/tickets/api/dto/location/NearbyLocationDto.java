@@ -0,0 +1,11 @@
+package com.tickets.api.dto.location;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class NearbyLocationDto {
+    private LocationResponseDto location;
+    private double distanceMeters;
+}
@@ -0,0 +1,24 @@
+package com.tickets.api.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchItemResultDto {
+
+    public enum Outcome { CREATED, FAILED }
+
+    private int index;                // posição do item no array enviado
+    private Outcome outcome;
+    private ReportResponseDto report; // preenchido quando CREATED
+    private String error;             // preenchido quando FAILED
+
+    public static BatchItemResultDto created(int index, ReportResponseDto report) {
+        return new BatchItemResultDto(index, Outcome.CREATED, report, null);
+    }
+
+    public static BatchItemResultDto failed(int index, String error) {
+        return new BatchItemResultDto(index, Outcome.FAILED, null, error);
+    }
+}
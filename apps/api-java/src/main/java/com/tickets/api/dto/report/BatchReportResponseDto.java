@@ -0,0 +1,14 @@
+package com.tickets.api.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchReportResponseDto {
+    private int created;
+    private int failed;
+    private List<BatchItemResultDto> results;
+}
@@ -0,0 +1,15 @@
+package com.tickets.api.dto.report;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MergeReportsDto {
+    // Vazio: mescla todos os duplicados abertos já apontados para o report de destino
+    private List<String> duplicateIds;
+    private String comment;
+    @NotBlank
+    private String updatedBy; // user id
+}
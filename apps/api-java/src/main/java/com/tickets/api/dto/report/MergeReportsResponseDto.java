@@ -0,0 +1,16 @@
+package com.tickets.api.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MergeReportsResponseDto {
+    private String targetId;
+    private int merged;
+    private List<String> mergedIds;
+}
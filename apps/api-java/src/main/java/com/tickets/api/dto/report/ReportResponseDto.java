@@ -1,11 +1,15 @@
 package com.tickets.api.dto.report;
 
 import com.tickets.api.model.enums.ReportStatus;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ReportResponseDto {
     private String id;
     private String title;
@@ -22,4 +26,8 @@ public class ReportResponseDto {
     private String locationName;
     private String categoryId;
     private String categoryName;
+
+    private int commentCount; // contador mantido em reports.comment_count
+
+    private String duplicateOfId; // report original, quando este é um duplicado
 }
@@ -0,0 +1,15 @@
+package com.tickets.api.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportSearchHitDto {
+    private ReportResponseDto report;
+    private double rank;
+    private String titleHighlight; // HTML escapado; termos encontrados entre <mark> e </mark>
+    private String snippet;        // Trechos da descrição, no mesmo formato
+}
@@ -0,0 +1,16 @@
+package com.tickets.api.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ReportSearchResponseDto {
+    private String query;
+    private int page;
+    private int limit;
+    private boolean hasNext;
+    private List<ReportSearchHitDto> data;
+}
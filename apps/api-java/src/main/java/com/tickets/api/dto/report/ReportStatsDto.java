@@ -0,0 +1,18 @@
+package com.tickets.api.dto.report;
+
+import com.tickets.api.model.enums.ReportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportStatsDto {
+    private String locationId;
+    private String categoryId;
+    private long total;
+    private Map<ReportStatus, Long> byStatus;
+}
@@ -0,0 +1,22 @@
+package com.tickets.api.dto.report;
+
+import com.tickets.api.model.enums.ReportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Evento "status" de GET /reports/stream; previousStatus é null na criação do report
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportStatusEventDto {
+    private String reportId;
+    private String authorId;
+    private String locationId;
+    private String categoryId;
+    private ReportStatus previousStatus;
+    private ReportStatus status;
+    private Instant changedAt;
+}
@@ -0,0 +1,21 @@
+package com.tickets.api.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Carga do índice de duplicados: só o necessário para calcular a assinatura
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportTextDto {
+    private String id;
+    private String duplicateOfId;
+    private String locationId;
+    private String categoryId;
+    private String title;
+    private String description;
+    private Instant createdAt;
+}
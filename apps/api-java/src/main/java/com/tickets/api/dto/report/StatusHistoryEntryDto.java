@@ -0,0 +1,29 @@
+package com.tickets.api.dto.report;
+
+import com.tickets.api.model.enums.ReportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusHistoryEntryDto {
+    private String id;
+    private String reportId;
+    private ReportStatus status;
+    private String comment;
+    private Instant createdAt;
+    private String userId;
+    private String userName;
+    private long secondsInStatus; // até a próxima mudança ou, na entrada atual, até agora
+    private boolean current;      // status em que o report está hoje
+
+    // Usado pelas consultas JPQL: nome do usuário e duração são preenchidos no serviço
+    public StatusHistoryEntryDto(String id, String reportId, ReportStatus status, String comment,
+                                 Instant createdAt, String userId) {
+        this(id, reportId, status, comment, createdAt, userId, null, 0, false);
+    }
+}
@@ -0,0 +1,16 @@
+package com.tickets.api.dto.webhook;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class CreateWebhookDto {
+
+    @NotBlank(message = "ID da localização é obrigatório")
+    private String locationId;
+
+    @NotBlank(message = "URL é obrigatória")
+    @Size(max = 2048, message = "URL excede 2048 caracteres")
+    private String url;
+}
@@ -0,0 +1,28 @@
+package com.tickets.api.dto.webhook;
+
+import com.tickets.api.dto.report.ReportStatusEventDto;
+import com.tickets.api.model.enums.ReportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Linha do outbox reservada pelo relay, já com a URL do endpoint
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookDeliveryDto {
+    private Long id;
+    private String endpointId;
+    private String url;
+    private int attempts;
+    private ReportStatusEventDto event;
+
+    public WebhookDeliveryDto(Long id, String endpointId, String url, int attempts, String reportId, String authorId,
+                              String locationId, String categoryId, ReportStatus previousStatus,
+                              ReportStatus newStatus, Instant occurredAt) {
+        this(id, endpointId, url, attempts, new ReportStatusEventDto(
+                reportId, authorId, locationId, categoryId, previousStatus, newStatus, occurredAt));
+    }
+}
@@ -0,0 +1,17 @@
+package com.tickets.api.dto.webhook;
+
+import com.tickets.api.dto.report.ReportStatusEventDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Corpo do POST: todas as mudanças pendentes do endpoint, na ordem em que aconteceram
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookPayloadDto {
+    private String endpointId;
+    private List<ReportStatusEventDto> events;
+}
@@ -0,0 +1,17 @@
+package com.tickets.api.dto.webhook;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookResponseDto {
+    private String id;
+    private String locationId;
+    private String url;
+    private Instant createdAt;
+}
@@ -0,0 +1,7 @@
+package com.tickets.api.event;
+
+/**
+ * Publicado pelo CategoryService sempre que uma categoria é criada, alterada ou removida.
+ */
+public record CategoryCatalogChangedEvent(String categoryId) {
+}
@@ -0,0 +1,14 @@
+package com.tickets.api.event;
+
+import com.tickets.api.dto.location.LocationResponseDto;
+
+/**
+ * Publicado pelo LocationService ao criar, alterar ou remover uma localização.
+ * {@code location} é null quando a localização foi removida.
+ */
+public record LocationChangedEvent(String locationId, LocationResponseDto location) {
+
+    public boolean deleted() {
+        return location == null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.tickets.api.event;
+
+import com.tickets.api.model.enums.ReportStatus;
+
+/**
+ * Publicado pelo ReportService quando um report é criado ou muda de status, dentro
+ * da transação da mudança. {@code previousStatus} é null na criação.
+ */
+public record ReportStatusChangedEvent(
+        String reportId,
+        String authorId,
+        String locationId,
+        String categoryId,
+        ReportStatus previousStatus,
+        ReportStatus newStatus
+) {
+
+    public static ReportStatusChangedEvent created(String reportId, String authorId, String locationId,
+                                                   String categoryId, ReportStatus status) {
+        return new ReportStatusChangedEvent(reportId, authorId, locationId, categoryId, null, status);
+    }
+}
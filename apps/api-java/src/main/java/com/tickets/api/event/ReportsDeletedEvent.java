@@ -0,0 +1,14 @@
+package com.tickets.api.event;
+
+import com.tickets.api.model.enums.ReportStatus;
+
+import java.util.List;
+
+/**
+ * Publicado pelo ReportPurger a cada lote de reports removidos junto com o usuário, a
+ * localização ou a categoria dona deles, dentro da transação do lote.
+ */
+public record ReportsDeletedEvent(List<Deleted> reports) {
+
+    public record Deleted(String reportId, String locationId, String categoryId, ReportStatus status) {}
+}
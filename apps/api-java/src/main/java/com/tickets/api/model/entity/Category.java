@@ -1,8 +1,13 @@
 package com.tickets.api.model.entity;
 
 import com.tickets.api.model.enums.CategoryType;
+import com.tickets.api.model.id.UuidStringJavaType;
+import com.tickets.api.model.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JavaType;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -14,6 +19,7 @@ import java.util.List;
 @Entity
 @Table(name = "categories")
 @EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,7 +28,8 @@ import java.util.List;
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
+    @JavaType(UuidStringJavaType.class)
     private String id;
 
     @Column(nullable = false, unique = true)
@@ -43,8 +50,8 @@ public class Category {
     @Column(nullable = false)
     private Instant updatedAt;
 
-    // Relações
-    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL)
+    // Relações (sem cascade: os reports saem em lote pelo ReportPurger)
+    @OneToMany(mappedBy = "category")
     @Builder.Default
     private List<Report> reports = new ArrayList<>();
 }
@@ -1,7 +1,10 @@
 package com.tickets.api.model.entity;
 
+import com.tickets.api.model.id.UuidStringJavaType;
+import com.tickets.api.model.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JavaType;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -10,7 +13,7 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "comments", indexes = {
-    @Index(name = "idx_comment_report", columnList = "report_id"),
+    @Index(name = "idx_comment_report", columnList = "report_id, created_at, id"),
     @Index(name = "idx_comment_author", columnList = "author_id")
 })
 @EntityListeners(AuditingEntityListener.class)
@@ -22,7 +25,8 @@ import java.time.Instant;
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
+    @JavaType(UuidStringJavaType.class)
     private String id;
 
     @Column(nullable = false, columnDefinition = "TEXT")
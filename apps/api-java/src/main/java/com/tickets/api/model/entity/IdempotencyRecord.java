@@ -0,0 +1,45 @@
+package com.tickets.api.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Uma Idempotency-Key recebida em POST /reports ou PATCH /reports/{id}/status. A linha é
+ * criada antes de executar a requisição (a chave primária impede duas execuções, mesmo entre
+ * instâncias) e recebe a resposta na mesma transação que grava o report. {@code responseBody}
+ * null significa requisição em andamento até {@code lockedUntil}; depois disso outra
+ * tentativa pode assumir a chave.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_expires", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    // SHA-256 da rota + corpo: a mesma chave com outra requisição é rejeitada
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -1,7 +1,12 @@
 package com.tickets.api.model.entity;
 
+import com.tickets.api.model.id.UuidStringJavaType;
+import com.tickets.api.model.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JavaType;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -13,9 +18,11 @@ import java.util.List;
 @Entity
 @Table(name = "locations", indexes = {
     @Index(name = "idx_location_coords", columnList = "latitude, longitude"),
-    @Index(name = "idx_location_name", columnList = "name")
+    @Index(name = "idx_location_name", columnList = "name"),
+    @Index(name = "idx_location_admin", columnList = "admin_id")
 })
 @EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "locations")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,7 +31,8 @@ import java.util.List;
 public class Location {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
+    @JavaType(UuidStringJavaType.class)
     private String id;
 
     @Column(nullable = false)
@@ -53,8 +61,8 @@ public class Location {
     @Column(nullable = false)
     private Instant updatedAt;
 
-    // Relações
-    @OneToMany(mappedBy = "location", cascade = CascadeType.ALL)
+    // Relações (sem cascade: os reports saem em lote pelo ReportPurger)
+    @OneToMany(mappedBy = "location")
     @Builder.Default
     private List<Report> reports = new ArrayList<>();
 
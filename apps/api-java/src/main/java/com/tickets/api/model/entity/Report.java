@@ -1,8 +1,12 @@
 package com.tickets.api.model.entity;
 
 import com.tickets.api.model.enums.ReportStatus;
+import com.tickets.api.model.id.UuidStringJavaType;
+import com.tickets.api.model.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JavaType;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -28,7 +32,8 @@ import java.util.List;
 public class Report {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
+    @JavaType(UuidStringJavaType.class)
     private String id;
 
     @Column(nullable = false)
@@ -53,6 +58,11 @@ public class Report {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    // Mantido pelo CommentService; evita COUNT em comments e o carregamento da coleção
+    @Column(name = "comment_count", nullable = false)
+    @Builder.Default
+    private int commentCount = 0;
+
     // Relações (muitos-para-um)
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "author_id", nullable = false)
@@ -66,6 +76,16 @@ public class Report {
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
+    // Partição fria (migração V10); só o ReportArchiver e a volta para a quente alteram, por SQL
+    @ColumnDefault("false")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private boolean cold;
+
+    // Report original quando este foi apontado como duplicado (na criação ou numa mesclagem)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "duplicate_of_id")
+    private Report duplicateOf;
+
     // Relações (um-para-muitos)
     @OneToMany(mappedBy = "report", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
@@ -0,0 +1,23 @@
+package com.tickets.api.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Total de reports por status em cada dimensão (global, localização, categoria),
+ * mantido por deltas a cada criação ou mudança de status. Ver ReportCounters.
+ */
+@Entity
+@Table(name = "report_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportCounter {
+
+    @EmbeddedId
+    private ReportCounterId id;
+
+    @Column(nullable = false)
+    private long count;
+}
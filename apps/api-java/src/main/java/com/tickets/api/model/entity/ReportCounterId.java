@@ -0,0 +1,31 @@
+package com.tickets.api.model.entity;
+
+import com.tickets.api.model.enums.CounterDimension;
+import com.tickets.api.model.enums.ReportStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportCounterId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private CounterDimension dimension;
+
+    @Column(name = "dimension_id", nullable = false)
+    private String dimensionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private ReportStatus status;
+}
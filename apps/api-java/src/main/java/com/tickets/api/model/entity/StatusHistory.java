@@ -1,8 +1,11 @@
 package com.tickets.api.model.entity;
 
 import com.tickets.api.model.enums.ReportStatus;
+import com.tickets.api.model.id.UuidStringJavaType;
+import com.tickets.api.model.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JavaType;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -11,7 +14,9 @@ import java.time.Instant;
 @Entity
 @Table(name = "status_history", indexes = {
     @Index(name = "idx_status_history_report", columnList = "report_id"),
-    @Index(name = "idx_status_history_created", columnList = "created_at")
+    @Index(name = "idx_status_history_created", columnList = "created_at"),
+    @Index(name = "idx_status_history_report_created", columnList = "report_id, created_at, id"),
+    @Index(name = "idx_status_history_updated_by", columnList = "updated_by")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Getter
@@ -22,7 +27,8 @@ import java.time.Instant;
 public class StatusHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
+    @JavaType(UuidStringJavaType.class)
     private String id;
 
     @Enumerated(EnumType.STRING)
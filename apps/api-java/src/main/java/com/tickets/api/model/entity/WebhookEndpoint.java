@@ -0,0 +1,42 @@
+package com.tickets.api.model.entity;
+
+import com.tickets.api.model.id.UuidStringJavaType;
+import com.tickets.api.model.id.UuidV7;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JavaType;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+// URL de um operador que recebe as mudanças de status dos reports de uma localização
+@Entity
+@Table(name = "webhook_endpoints", indexes = {
+    @Index(name = "idx_webhook_endpoint_location", columnList = "location_id")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WebhookEndpoint {
+
+    @Id
+    @UuidV7
+    @JavaType(UuidStringJavaType.class)
+    private String id;
+
+    @Column(nullable = false, length = 2048)
+    private String url;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Relações
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "location_id", nullable = false)
+    private Location location;
+}
@@ -0,0 +1,65 @@
+package com.tickets.api.model.entity;
+
+import com.tickets.api.model.enums.ReportStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Uma mudança de status pendente de entrega para um endpoint. Gravada na mesma transação
+ * da mudança e removida quando o endpoint confirma o recebimento. {@code nextAttemptAt}
+ * null significa que as tentativas se esgotaram (a linha fica para inspeção).
+ */
+@Entity
+@Table(name = "webhook_outbox", indexes = {
+    @Index(name = "idx_webhook_outbox_due", columnList = "next_attempt_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WebhookOutboxEntry {
+
+    // Identity: a ordem de inserção é a ordem de entrega para cada endpoint
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Sem FK para reports: a entrega independe do report continuar existindo
+    @Column(nullable = false)
+    private String reportId;
+
+    @Column(nullable = false)
+    private String authorId;
+
+    @Column(nullable = false)
+    private String locationId;
+
+    @Column(nullable = false)
+    private String categoryId;
+
+    @Enumerated(EnumType.STRING)
+    private ReportStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportStatus newStatus;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    private Instant nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    // Relações
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "endpoint_id", nullable = false)
+    private WebhookEndpoint endpoint;
+}
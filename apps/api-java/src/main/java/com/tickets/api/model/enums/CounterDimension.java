@@ -0,0 +1,7 @@
+package com.tickets.api.model.enums;
+
+public enum CounterDimension {
+    GLOBAL,    // Todos os reports (dimension_id vazio)
+    LOCATION,  // Por localização
+    CATEGORY   // Por categoria
+}
@@ -0,0 +1,56 @@
+package com.tickets.api.model.id;
+
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.StringJavaType;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.type.descriptor.jdbc.JdbcTypeIndicators;
+
+import java.util.UUID;
+
+/**
+ * Id String no Java gravado como uuid nativo no banco: DTOs, rotas e JSON continuam com
+ * String. Uma String que não é UUID vira o UUID nulo (só zeros), que nenhum gerador produz:
+ * a consulta não encontra nada e a API responde 404, como antes com VARCHAR.
+ */
+public class UuidStringJavaType extends StringJavaType {
+
+    static final UUID NIL = new UUID(0, 0);
+
+    @Override
+    public JdbcType getRecommendedJdbcType(JdbcTypeIndicators indicators) {
+        return indicators.getTypeConfiguration().getJdbcTypeRegistry().getDescriptor(SqlTypes.UUID);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+        if (value != null && UUID.class.equals(type)) {
+            return (X) parse(value);
+        }
+        return super.unwrap(value, type, options);
+    }
+
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+        if (value instanceof UUID uuid) {
+            return uuid.toString();
+        }
+        return super.wrap(value, options);
+    }
+
+    /** Mesma conversão usada nos parâmetros: String que não é UUID canônico vira o UUID nulo. */
+    public static UUID parse(String value) {
+        // UUID.fromString aceita grupos curtos ("1-1-1-1-1") e maiúsculas; só o texto que o
+        // wrap devolve (canônico, minúsculo) é id válido, senão a String não faz o caminho de volta
+        if (value.length() != 36) {
+            return NIL;
+        }
+        try {
+            UUID uuid = UUID.fromString(value);
+            return uuid.toString().equals(value) ? uuid : NIL;
+        } catch (IllegalArgumentException e) {
+            return NIL;
+        }
+    }
+}
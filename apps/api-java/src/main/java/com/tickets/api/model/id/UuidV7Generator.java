@@ -0,0 +1,43 @@
+package com.tickets.api.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUID versão 7 (RFC 9562): 48 bits de milissegundos desde a época, 12 bits de contador
+ * dentro do mesmo milissegundo e 62 bits aleatórios. Ids novos caem sempre no fim do índice
+ * da chave primária (e dos índices das FKs que apontam para ela), em vez de espalhados
+ * como no UUID v4, então o B-tree não divide páginas no meio a cada INSERT.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    // milissegundo << 12 | contador; o contador que estoura avança o milissegundo
+    private static final AtomicLong LAST = new AtomicLong();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return next().toString();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long stamp = LAST.updateAndGet(last -> now > last ? now : last + 1);
+        long msb = (stamp >>> 12) << 16 | 0x7000L | (stamp & 0xFFFL);
+        long lsb = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
@@ -1,13 +1,48 @@
 package com.tickets.api.repository;
 
+import com.tickets.api.dto.comment.CommentResponseDto;
 import com.tickets.api.model.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, String> {
-    
-    List<Comment> findByReportIdOrderByCreatedAtAsc(String reportId);
+
+    // Remoção em lote (Postgres) dos comentários de um autor, descontando comment_count dos
+    // reports de onde saíram; retorna quantos comentários o lote removeu
+    @Transactional
+    @Query(value = "WITH batch AS (" +
+           "  SELECT id, report_id FROM comments WHERE author_id = CAST(:authorId AS uuid) LIMIT :limit FOR UPDATE), " +
+           "c AS (DELETE FROM comments WHERE id IN (SELECT id FROM batch)), " +
+           "r AS (UPDATE reports SET comment_count = reports.comment_count - n.removed, updated_at = now() " +
+           "      FROM (SELECT report_id, count(*) AS removed FROM batch GROUP BY report_id) n " +
+           "      WHERE reports.id = n.report_id) " +
+           "SELECT count(*) FROM batch",
+           nativeQuery = true)
+    long deleteBatchByAuthor(@Param("authorId") String authorId, @Param("limit") int limit);
+
+    // Lê report_id e author_id das FKs: nem o Report nem a coleção Report.comments são carregados
+    String DTO_PROJECTION = "SELECT new com.tickets.api.dto.comment.CommentResponseDto(" +
+           "c.id, c.report.id, c.content, c.createdAt, c.updatedAt, c.author.id) FROM Comment c ";
+
+    // Seek em (report_id, created_at, id) pelo idx_comment_report, do mais antigo ao mais novo
+    @Query(DTO_PROJECTION + "WHERE c.report.id = :reportId ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentResponseDto> findDtoFirstPage(@Param("reportId") String reportId, Pageable pageable);
+
+    @Query(DTO_PROJECTION + "WHERE c.report.id = :reportId AND " +
+           "c.createdAt >= :createdAt AND (c.createdAt > :createdAt OR c.id > :id) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentResponseDto> findDtoPageAfter(
+        @Param("reportId") String reportId,
+        @Param("createdAt") Instant createdAt,
+        @Param("id") String id,
+        Pageable pageable
+    );
 }
@@ -0,0 +1,54 @@
+package com.tickets.api.repository;
+
+import com.tickets.api.model.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // INSERT direto (sem o SELECT do merge): chave repetida viola a PK e quem chegou depois perde
+    @Modifying
+    @Query("INSERT INTO IdempotencyRecord (key, requestHash, lockedUntil, createdAt, expiresAt) " +
+           "VALUES (:key, :requestHash, :lockedUntil, :now, :expiresAt)")
+    int claim(
+        @Param("key") String key,
+        @Param("requestHash") String requestHash,
+        @Param("lockedUntil") Instant lockedUntil,
+        @Param("now") Instant now,
+        @Param("expiresAt") Instant expiresAt
+    );
+
+    // Assume uma chave cuja execução anterior não terminou (instância caiu ou a transação falhou)
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.lockedUntil = :lockedUntil " +
+           "WHERE r.key = :key AND r.requestHash = :requestHash AND r.responseBody IS NULL AND r.lockedUntil < :now")
+    int takeOver(
+        @Param("key") String key,
+        @Param("requestHash") String requestHash,
+        @Param("lockedUntil") Instant lockedUntil,
+        @Param("now") Instant now
+    );
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.responseBody = :responseBody WHERE r.key = :key")
+    int complete(@Param("key") String key, @Param("responseBody") String responseBody);
+
+    // Libera a chave quando a execução falhou: a próxima tentativa executa de novo
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.responseBody IS NULL")
+    int release(@Param("key") String key);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.expiresAt < :now")
+    int deleteExpired(@Param("key") String key, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteAllExpired(@Param("now") Instant now);
+}
@@ -1,15 +1,60 @@
 package com.tickets.api.repository;
 
+import com.tickets.api.dto.common.ResourceVersion;
+import com.tickets.api.dto.location.LocationResponseDto;
 import com.tickets.api.model.entity.Location;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LocationRepository extends JpaRepository<Location, String> {
+
+    String DTO_PROJECTION = "SELECT new com.tickets.api.dto.location.LocationResponseDto(" +
+           "l.id, l.name, l.address, l.latitude, l.longitude, l.type, l.description, " +
+           "l.createdAt, l.updatedAt, a.id, a.name) " +
+           "FROM Location l LEFT JOIN l.admin a ";
     
     List<Location> findByNameContainingIgnoreCase(String name);
     
     List<Location> findByType(String type);
+
+    // Carga do índice espacial em memória (uma única consulta, admin via LEFT JOIN)
+    @Query(DTO_PROJECTION)
+    List<LocationResponseDto> findAllDto();
+
+    @Query(DTO_PROJECTION + "WHERE l.id IN :ids")
+    List<LocationResponseDto> findDtoByIdIn(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT l.id FROM Location l WHERE l.admin.id = :adminId")
+    List<String> findIdsByAdminId(@Param("adminId") String adminId);
+
+    // Remoção do usuário: as localizações que ele administrava continuam, sem administrador
+    @Modifying
+    @Query("UPDATE Location l SET l.admin = null, l.updatedAt = :now WHERE l.admin.id = :adminId")
+    int unassignAdmin(@Param("adminId") String adminId, @Param("now") Instant now);
+
+    // Versões para GET condicional
+    @Query("SELECT l.updatedAt FROM Location l WHERE l.id = :id")
+    Optional<Instant> findUpdatedAtById(@Param("id") String id);
+
+    @Query("SELECT new com.tickets.api.dto.common.ResourceVersion(MAX(l.updatedAt), COUNT(l)) FROM Location l")
+    ResourceVersion findVersion();
+
+    // Retângulo envolvente sobre idx_location_coords; usado enquanto o índice em memória não está pronto
+    @Query(DTO_PROJECTION + "WHERE l.latitude BETWEEN :minLat AND :maxLat " +
+           "AND l.longitude BETWEEN :minLon AND :maxLon")
+    List<LocationResponseDto> findDtoWithinBoundingBox(
+        @Param("minLat") double minLat,
+        @Param("maxLat") double maxLat,
+        @Param("minLon") double minLon,
+        @Param("maxLon") double maxLon
+    );
 }
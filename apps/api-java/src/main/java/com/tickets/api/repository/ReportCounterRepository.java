@@ -0,0 +1,57 @@
+package com.tickets.api.repository;
+
+import com.tickets.api.model.entity.ReportCounter;
+import com.tickets.api.model.entity.ReportCounterId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReportCounterRepository extends JpaRepository<ReportCounter, ReportCounterId> {
+
+    // Incremento atômico no banco: transações concorrentes não perdem deltas. A dica declara a
+    // tabela tocada; sem ela o Hibernate esvazia todo o cache de segundo nível a cada incremento
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "report_counters"))
+    @Query(value = "INSERT INTO report_counters (dimension, dimension_id, status, count) " +
+            "VALUES (:dimension, :dimensionId, :status, :delta) " +
+            "ON CONFLICT (dimension, dimension_id, status) " +
+            "DO UPDATE SET count = report_counters.count + EXCLUDED.count",
+            nativeQuery = true)
+    void increment(@Param("dimension") String dimension,
+                   @Param("dimensionId") String dimensionId,
+                   @Param("status") String status,
+                   @Param("delta") long delta);
+
+    // Só uma instância reconcilia por vez; solto no fim da transação
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLockForReconcile(@Param("key") long key);
+
+    interface ReconcileRow {
+        String getLocationId();   // linhas de reports
+        String getCategoryId();
+        String getDimension();    // linhas de report_counters
+        String getDimensionId();
+        String getStatus();
+        long getCount();
+    }
+
+    // Contagem de reports por (localização, categoria, status), nas duas partições, e as linhas da
+    // tabela no mesmo comando: as duas partes vêm do mesmo snapshot, então a diferença entre elas
+    // não inclui deltas de transações que confirmaram no meio da leitura
+    @Query(value = "SELECT CAST(location_id AS varchar) AS \"locationId\", " +
+            "CAST(category_id AS varchar) AS \"categoryId\", NULL AS \"dimension\", NULL AS \"dimensionId\", " +
+            "status AS \"status\", COUNT(*) AS \"count\" " +
+            "FROM reports GROUP BY location_id, category_id, status " +
+            "UNION ALL " +
+            "SELECT NULL, NULL, dimension, dimension_id, status, count FROM report_counters",
+            nativeQuery = true)
+    List<ReconcileRow> snapshotForReconcile();
+}
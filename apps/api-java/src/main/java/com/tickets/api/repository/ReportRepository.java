@@ -1,16 +1,45 @@
 package com.tickets.api.repository;
 
+import com.tickets.api.dto.report.ReportResponseDto;
+import com.tickets.api.dto.report.ReportTextDto;
 import com.tickets.api.model.entity.Report;
 import com.tickets.api.model.enums.ReportStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReportRepository extends JpaRepository<Report, String> {
+
+    // Projeção usada pelos endpoints de leitura: monta o DTO em um único SELECT com JOIN,
+    // sem inicializar os proxies LAZY de autor, localização e categoria.
+    String DTO_PROJECTION = "SELECT new com.tickets.api.dto.report.ReportResponseDto(" +
+           "r.id, r.title, r.description, r.status, r.imageUrl, r.createdAt, r.updatedAt, " +
+           "a.id, a.name, l.id, l.name, c.id, c.name, r.commentCount, r.duplicateOf.id) " +
+           "FROM Report r JOIN r.author a JOIN r.location l JOIN r.category c ";
+
+    // Só a partição quente (cold = false), a não ser com includeArchived; reports arquivados
+    // continuam acessíveis pelo id.
+    // O Postgres não deduz o tipo de um parâmetro uuid nulo em "? IS NULL": o cast dá o tipo
+    String FILTERS = "(:includeArchived = true OR r.cold = false) AND (:status IS NULL OR r.status = :status) AND " +
+           "(CAST(:locationId AS String) IS NULL OR r.location.id = :locationId) AND " +
+           "(CAST(:categoryId AS String) IS NULL OR r.category.id = :categoryId) AND " +
+           "(CAST(:authorId AS String) IS NULL OR r.author.id = :authorId)";
     
     Page<Report> findByStatus(ReportStatus status, Pageable pageable);
     
@@ -20,16 +49,240 @@ public interface ReportRepository extends JpaRepository<Report, String> {
     
     Page<Report> findByAuthorId(String authorId, Pageable pageable);
     
-    @Query("SELECT r FROM Report r WHERE " +
-           "(:status IS NULL OR r.status = :status) AND " +
-           "(:locationId IS NULL OR r.location.id = :locationId) AND " +
-           "(:categoryId IS NULL OR r.category.id = :categoryId) AND " +
-           "(:authorId IS NULL OR r.author.id = :authorId)")
+    @Query("SELECT r FROM Report r WHERE " + FILTERS)
     Page<Report> findByFilters(
         @Param("status") ReportStatus status,
         @Param("locationId") String locationId,
         @Param("categoryId") String categoryId,
         @Param("authorId") String authorId,
+        @Param("includeArchived") boolean includeArchived,
         Pageable pageable
     );
+
+    @Query(value = DTO_PROJECTION + "WHERE " + FILTERS,
+           countQuery = "SELECT COUNT(r) FROM Report r WHERE " + FILTERS)
+    Page<ReportResponseDto> findDtoByFilters(
+        @Param("status") ReportStatus status,
+        @Param("locationId") String locationId,
+        @Param("categoryId") String categoryId,
+        @Param("authorId") String authorId,
+        @Param("includeArchived") boolean includeArchived,
+        Pageable pageable
+    );
+
+    // Paginação por seek em (createdAt, id): a condição em createdAt sozinha é indexável
+    // por idx_report_created e o desempate por id só é avaliado nas linhas do mesmo instante.
+    @Query(DTO_PROJECTION + "WHERE " + FILTERS + " ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReportResponseDto> findDtoFirstPage(
+        @Param("status") ReportStatus status,
+        @Param("locationId") String locationId,
+        @Param("categoryId") String categoryId,
+        @Param("authorId") String authorId,
+        @Param("includeArchived") boolean includeArchived,
+        Pageable pageable
+    );
+
+    @Query(DTO_PROJECTION + "WHERE " + FILTERS + " AND " +
+           "r.createdAt <= :createdAt AND (r.createdAt < :createdAt OR r.id < :id) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReportResponseDto> findDtoPageAfter(
+        @Param("status") ReportStatus status,
+        @Param("locationId") String locationId,
+        @Param("categoryId") String categoryId,
+        @Param("authorId") String authorId,
+        @Param("includeArchived") boolean includeArchived,
+        @Param("createdAt") Instant createdAt,
+        @Param("id") String id,
+        Pageable pageable
+    );
+
+    // Exportação: cursor forward-only do Postgres (fetch size exige transação aberta) e
+    // projeção em DTO, então nenhuma entidade entra no contexto de persistência.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(DTO_PROJECTION + "WHERE " + FILTERS + " ORDER BY r.createdAt")
+    Stream<ReportResponseDto> streamDtoByFilters(
+        @Param("status") ReportStatus status,
+        @Param("locationId") String locationId,
+        @Param("categoryId") String categoryId,
+        @Param("authorId") String authorId,
+        @Param("includeArchived") boolean includeArchived
+    );
+
+    @Query("SELECT COUNT(r) FROM Report r WHERE " + FILTERS)
+    long countByFilters(
+        @Param("status") ReportStatus status,
+        @Param("locationId") String locationId,
+        @Param("categoryId") String categoryId,
+        @Param("authorId") String authorId,
+        @Param("includeArchived") boolean includeArchived
+    );
+
+    @Query(DTO_PROJECTION + "WHERE r.id = :id")
+    Optional<ReportResponseDto> findDtoById(@Param("id") String id);
+
+    // Versões para GET condicional: só colunas do próprio report, sem JOIN
+    @Query("SELECT r.updatedAt FROM Report r WHERE r.id = :id")
+    Optional<Instant> findUpdatedAtById(@Param("id") String id);
+
+    @Query(DTO_PROJECTION + "WHERE r.id IN :ids")
+    List<ReportResponseDto> findDtoByIdIn(@Param("ids") Collection<String> ids);
+
+    // Linha da busca textual; os demais campos do report vêm de findDtoByIdIn
+    interface SearchRow {
+        String getId();
+        Double getRank();
+        String getTitleHighlight();
+        String getSnippet();
+    }
+
+    // Busca em search_vector (coluna gerada + GIN, migração V3). O ts_headline é caro,
+    // então só é calculado para as linhas da página, depois do LIMIT.
+    @Query(value = "SELECT h.id AS \"id\", h.rank AS \"rank\", " +
+           "ts_headline('pt_unaccent', h.title, h.q, 'StartSel=<mark>, StopSel=</mark>, HighlightAll=true') AS \"titleHighlight\", " +
+           "ts_headline('pt_unaccent', h.description, h.q, 'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=20, MinWords=8') AS \"snippet\" " +
+           "FROM (" +
+           "  SELECT r.id, r.title, r.description, r.created_at, q, " +
+           "         CAST(ts_rank_cd(r.search_vector, q, 32) AS double precision) AS rank " +
+           "  FROM reports r, websearch_to_tsquery('pt_unaccent', :q) q " +
+           "  WHERE r.search_vector @@ q AND (:includeArchived OR NOT r.cold) " +
+           "  ORDER BY rank DESC, r.created_at DESC, r.id DESC " +
+           "  LIMIT :limit OFFSET :offset" +
+           ") h " +
+           "ORDER BY h.rank DESC, h.created_at DESC, h.id DESC",
+           nativeQuery = true)
+    List<SearchRow> search(@Param("q") String q, @Param("includeArchived") boolean includeArchived,
+                           @Param("limit") int limit, @Param("offset") int offset);
+
+    // Nomes que completam o DTO de um report recém-criado
+    interface CreatedNames {
+        String getAuthorName();
+        String getLocationName();
+        String getCategoryName();
+    }
+
+    // Criação em um único comando (Postgres): o report e o histórico inicial entram juntos e a
+    // linha devolvida traz os nomes do DTO. Autor, localização ou categoria inexistente viola a
+    // FK correspondente (fk_reports_*, fk_status_history_user) e nada é gravado. O cast dá o
+    // tipo ao duplicate_of_id nulo
+    @Transactional
+    @Query(value = "WITH r AS (" +
+           "  INSERT INTO reports (id, title, description, image_url, status, author_id, location_id, " +
+           "                       category_id, duplicate_of_id, comment_count, created_at, updated_at) " +
+           "  VALUES (:id, :title, :description, :imageUrl, 'PENDING', :authorId, :locationId, :categoryId, " +
+           "          CAST(:duplicateOfId AS uuid), 0, :now, :now) " +
+           "  RETURNING id), " +
+           "h AS (INSERT INTO status_history (id, report_id, status, comment, updated_by, created_at) " +
+           "  SELECT :historyId, r.id, 'PENDING', 'Report criado', :authorId, :now FROM r) " +
+           "SELECT a.name AS \"authorName\", l.name AS \"locationName\", c.name AS \"categoryName\" " +
+           "FROM r, users a, locations l, categories c " +
+           "WHERE a.id = :authorId AND l.id = :locationId AND c.id = :categoryId",
+           nativeQuery = true)
+    CreatedNames insertWithInitialHistory(@Param("id") UUID id, @Param("historyId") UUID historyId,
+                                          @Param("title") String title, @Param("description") String description,
+                                          @Param("imageUrl") String imageUrl, @Param("authorId") UUID authorId,
+                                          @Param("locationId") UUID locationId, @Param("categoryId") UUID categoryId,
+                                          @Param("duplicateOfId") UUID duplicateOfId, @Param("now") Instant now);
+
+    // Incremento atômico do contador de comentários; 0 linhas afetadas = report inexistente.
+    // updatedAt acompanha porque commentCount faz parte da representação (ETag/Last-Modified)
+    @Modifying
+    @Query("UPDATE Report r SET r.commentCount = r.commentCount + 1, r.updatedAt = :now WHERE r.id = :id")
+    int incrementCommentCount(@Param("id") String id, @Param("now") Instant now);
+
+    @Query("SELECT r.commentCount FROM Report r WHERE r.id = :id")
+    Optional<Integer> findCommentCount(@Param("id") String id);
+
+    // Carga do índice de duplicados: reports abertos dentro da janela, sem JOIN
+    @Query("SELECT new com.tickets.api.dto.report.ReportTextDto(r.id, r.duplicateOf.id, r.location.id, " +
+           "r.category.id, r.title, r.description, r.createdAt) " +
+           "FROM Report r WHERE r.cold = false AND r.status IN :statuses AND r.createdAt >= :since")
+    List<ReportTextDto> findTextByStatusInCreatedSince(@Param("statuses") Collection<ReportStatus> statuses,
+                                                       @Param("since") Instant since);
+
+    // Duplicados que apontavam para um report agora mesclado passam a apontar para o destino
+    @Modifying
+    @Query("UPDATE Report r SET r.duplicateOf = :target, r.updatedAt = :now WHERE r.duplicateOf.id IN :ids")
+    int repointDuplicates(@Param("ids") Collection<String> ids, @Param("target") Report target,
+                          @Param("now") Instant now);
+
+    @Query("SELECT r.id FROM Report r WHERE r.duplicateOf.id = :id AND r.status IN :statuses ORDER BY r.createdAt")
+    List<String> findDuplicateIds(@Param("id") String id, @Param("statuses") Collection<ReportStatus> statuses,
+                                  Pageable pageable);
+
+    // Arquivamento (Postgres, migração V10): um lote de reports fechados sem alteração desde
+    // cutoff vai para as partições frias junto com histórico e comentários, em um único comando.
+    // SKIP LOCKED deixa de fora reports em uso e divide o trabalho entre instâncias.
+    // As tabelas tocadas são declaradas: sem isso o Hibernate esvazia todo o cache de segundo nível
+    @Modifying
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reports"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "status_history"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comments")
+    })
+    @Query(value = "WITH batch AS (" +
+           "  SELECT id FROM reports WHERE NOT cold AND status IN (:statuses) AND updated_at < :cutoff " +
+           "  LIMIT :limit FOR UPDATE SKIP LOCKED), " +
+           "h AS (UPDATE status_history SET cold = true WHERE NOT cold AND report_id IN (SELECT id FROM batch)), " +
+           "c AS (UPDATE comments SET cold = true WHERE NOT cold AND report_id IN (SELECT id FROM batch)) " +
+           "UPDATE reports SET cold = true WHERE NOT cold AND id IN (SELECT id FROM batch)",
+           nativeQuery = true)
+    int archiveClosedBefore(@Param("statuses") Collection<String> statuses, @Param("cutoff") Instant cutoff,
+                            @Param("limit") int limit);
+
+    // Volta de um report frio (e das suas linhas) para a partição quente
+    @Modifying
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reports"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "status_history"),
+        @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comments")
+    })
+    @Query(value = "WITH h AS (UPDATE status_history SET cold = false WHERE cold AND report_id = CAST(:id AS uuid)), " +
+           "c AS (UPDATE comments SET cold = false WHERE cold AND report_id = CAST(:id AS uuid)) " +
+           "UPDATE reports SET cold = false WHERE cold AND id = CAST(:id AS uuid)",
+           nativeQuery = true)
+    int restoreFromCold(@Param("id") String id);
+
+    boolean existsByIdAndColdTrue(String id);
+
+    // Partições frias do ano nas três tabelas (função da migração V10); retorna quantas criou
+    @Query(value = "SELECT create_cold_partitions(:year)", nativeQuery = true)
+    int createColdPartitions(@Param("year") int year);
+
+    // Linha de um report removido em lote
+    interface DeletedReport {
+        String getId();
+        String getLocationId();
+        String getCategoryId();
+        ReportStatus getStatus();
+    }
+
+    // Remoção em lote (Postgres) dos reports de um autor, localização ou categoria, nas duas
+    // partições, com histórico e comentários. Quem apontava como duplicado para um report removido
+    // volta a ser original (a FK de duplicate_of_id saiu na V10). Para o Hibernate é uma consulta:
+    // nenhum cache é esvaziado (reports não fica no cache de segundo nível)
+    String PURGE_BATCH = "WITH batch AS (SELECT id FROM reports WHERE ";
+    String PURGE_APPLY = " LIMIT :limit FOR UPDATE), " +
+           "h AS (DELETE FROM status_history WHERE report_id IN (SELECT id FROM batch)), " +
+           "c AS (DELETE FROM comments WHERE report_id IN (SELECT id FROM batch)), " +
+           "d AS (UPDATE reports SET duplicate_of_id = NULL, updated_at = now() " +
+           "      WHERE duplicate_of_id IN (SELECT id FROM batch) AND id NOT IN (SELECT id FROM batch)), " +
+           "r AS (DELETE FROM reports WHERE id IN (SELECT id FROM batch) " +
+           "      RETURNING id, location_id, category_id, status) " +
+           "SELECT CAST(id AS varchar) AS \"id\", CAST(location_id AS varchar) AS \"locationId\", " +
+           "CAST(category_id AS varchar) AS \"categoryId\", status AS \"status\" FROM r";
+
+    @Transactional
+    @Query(value = PURGE_BATCH + "author_id = CAST(:ownerId AS uuid)" + PURGE_APPLY, nativeQuery = true)
+    List<DeletedReport> deleteBatchByAuthor(@Param("ownerId") String authorId, @Param("limit") int limit);
+
+    @Transactional
+    @Query(value = PURGE_BATCH + "location_id = CAST(:ownerId AS uuid)" + PURGE_APPLY, nativeQuery = true)
+    List<DeletedReport> deleteBatchByLocation(@Param("ownerId") String locationId, @Param("limit") int limit);
+
+    @Transactional
+    @Query(value = PURGE_BATCH + "category_id = CAST(:ownerId AS uuid)" + PURGE_APPLY, nativeQuery = true)
+    List<DeletedReport> deleteBatchByCategory(@Param("ownerId") String categoryId, @Param("limit") int limit);
 }
@@ -1,13 +1,62 @@
 package com.tickets.api.repository;
 
+import com.tickets.api.dto.report.StatusHistoryEntryDto;
 import com.tickets.api.model.entity.StatusHistory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface StatusHistoryRepository extends JpaRepository<StatusHistory, String> {
+
+    // Remoção em lote das entradas registradas por um usuário (Postgres: LIMIT na subconsulta)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "status_history"))
+    @Query(value = "DELETE FROM status_history WHERE id IN (" +
+           "  SELECT id FROM status_history WHERE updated_by = CAST(:userId AS uuid) LIMIT :limit)",
+           nativeQuery = true)
+    int deleteBatchByUpdatedBy(@Param("userId") String userId, @Param("limit") int limit);
+
+    // h.user.id e h.report.id são lidos da própria FK, sem JOIN nem proxy do usuário
+    String ENTRY_PROJECTION = "SELECT new com.tickets.api.dto.report.StatusHistoryEntryDto(" +
+           "h.id, h.report.id, h.status, h.comment, h.createdAt, h.user.id) FROM StatusHistory h ";
     
     List<StatusHistory> findByReportIdOrderByCreatedAtDesc(String reportId);
+
+    // Seek em (report_id, created_at, id) pelo idx_status_history_report_created
+    @Query(ENTRY_PROJECTION + "WHERE h.report.id = :reportId ORDER BY h.createdAt DESC, h.id DESC")
+    List<StatusHistoryEntryDto> findEntriesFirstPage(@Param("reportId") String reportId, Pageable pageable);
+
+    @Query(ENTRY_PROJECTION + "WHERE h.report.id = :reportId AND " +
+           "h.createdAt <= :createdAt AND (h.createdAt < :createdAt OR h.id < :id) " +
+           "ORDER BY h.createdAt DESC, h.id DESC")
+    List<StatusHistoryEntryDto> findEntriesPageAfter(
+        @Param("reportId") String reportId,
+        @Param("createdAt") Instant createdAt,
+        @Param("id") String id,
+        Pageable pageable
+    );
+
+    // Últimas :perReport entradas de cada report em uma única consulta (ROW_NUMBER por report)
+    @Query("SELECT new com.tickets.api.dto.report.StatusHistoryEntryDto(" +
+           "x.id, x.reportId, x.status, x.comment, x.createdAt, x.userId) FROM (" +
+           "  SELECT h.id AS id, h.report.id AS reportId, h.status AS status, h.comment AS comment, " +
+           "         h.createdAt AS createdAt, h.user.id AS userId, " +
+           "         ROW_NUMBER() OVER (PARTITION BY h.report.id ORDER BY h.createdAt DESC, h.id DESC) AS rn " +
+           "  FROM StatusHistory h WHERE h.report.id IN :reportIds" +
+           ") x WHERE x.rn <= :perReport ORDER BY x.reportId, x.createdAt DESC, x.id DESC")
+    List<StatusHistoryEntryDto> findLatestEntries(
+        @Param("reportIds") Collection<String> reportIds,
+        @Param("perReport") int perReport
+    );
 }
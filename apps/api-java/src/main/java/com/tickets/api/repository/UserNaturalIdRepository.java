@@ -0,0 +1,11 @@
+package com.tickets.api.repository;
+
+import com.tickets.api.model.entity.User;
+
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+
+    /** Busca pelo e-mail (natural id): e-mail → id e id → usuário vêm do cache de segundo nível. */
+    Optional<User> findByEmail(String email);
+}
@@ -4,12 +4,8 @@ import com.tickets.api.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
-    
-    Optional<User> findByEmail(String email);
-    
+public interface UserRepository extends JpaRepository<User, String>, UserNaturalIdRepository {
+
     boolean existsByEmail(String email);
 }
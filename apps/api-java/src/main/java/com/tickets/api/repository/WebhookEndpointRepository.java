@@ -0,0 +1,18 @@
+package com.tickets.api.repository;
+
+import com.tickets.api.dto.webhook.WebhookResponseDto;
+import com.tickets.api.model.entity.WebhookEndpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WebhookEndpointRepository extends JpaRepository<WebhookEndpoint, String> {
+
+    @Query("SELECT new com.tickets.api.dto.webhook.WebhookResponseDto(e.id, e.location.id, e.url, e.createdAt) " +
+           "FROM WebhookEndpoint e WHERE e.location.id = :locationId ORDER BY e.createdAt")
+    List<WebhookResponseDto> findDtoByLocationId(@Param("locationId") String locationId);
+}
@@ -0,0 +1,67 @@
+package com.tickets.api.repository;
+
+import com.tickets.api.dto.webhook.WebhookDeliveryDto;
+import com.tickets.api.model.entity.WebhookOutboxEntry;
+import com.tickets.api.model.enums.ReportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WebhookOutboxRepository extends JpaRepository<WebhookOutboxEntry, Long> {
+
+    // Uma linha por endpoint da localização, em um único INSERT ... SELECT (nenhuma se não houver endpoints)
+    @Modifying
+    @Query("INSERT INTO WebhookOutboxEntry (endpoint, reportId, authorId, locationId, categoryId, " +
+           "previousStatus, newStatus, occurredAt, attempts, nextAttemptAt) " +
+           "SELECT e, :reportId, :authorId, :locationId, :categoryId, :previousStatus, :newStatus, :now, 0, :now " +
+           "FROM WebhookEndpoint e WHERE e.location.id = :locationId")
+    int enqueue(
+        @Param("reportId") String reportId,
+        @Param("authorId") String authorId,
+        @Param("locationId") String locationId,
+        @Param("categoryId") String categoryId,
+        @Param("previousStatus") ReportStatus previousStatus,
+        @Param("newStatus") ReportStatus newStatus,
+        @Param("now") Instant now
+    );
+
+    // Linhas vencidas travadas por esta transação; as que outra instância já travou são puladas
+    @Query(value = "SELECT id FROM webhook_outbox WHERE next_attempt_at <= :now " +
+           "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") Instant now, @Param("limit") int limit);
+
+    // Reserva: as linhas só voltam a vencer se a entrega não for confirmada até leaseUntil
+    @Modifying
+    @Query("UPDATE WebhookOutboxEntry o SET o.attempts = o.attempts + 1, o.nextAttemptAt = :leaseUntil " +
+           "WHERE o.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") Instant leaseUntil);
+
+    @Query("SELECT new com.tickets.api.dto.webhook.WebhookDeliveryDto(o.id, e.id, e.url, o.attempts, " +
+           "o.reportId, o.authorId, o.locationId, o.categoryId, o.previousStatus, o.newStatus, o.occurredAt) " +
+           "FROM WebhookOutboxEntry o JOIN o.endpoint e WHERE o.id IN :ids ORDER BY o.id")
+    List<WebhookDeliveryDto> findDeliveries(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM WebhookOutboxEntry o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE WebhookOutboxEntry o SET o.nextAttemptAt = :nextAttemptAt, o.lastError = :error " +
+           "WHERE o.id IN :ids")
+    int reschedule(
+        @Param("ids") Collection<Long> ids,
+        @Param("nextAttemptAt") Instant nextAttemptAt,
+        @Param("error") String error
+    );
+
+    @Modifying
+    @Query("DELETE FROM WebhookOutboxEntry o WHERE o.endpoint.id = :endpointId")
+    int deleteByEndpointId(@Param("endpointId") String endpointId);
+}
@@ -0,0 +1,107 @@
+package com.tickets.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickets.api.dto.category.CategoryResponseDto;
+import com.tickets.api.event.CategoryCatalogChangedEvent;
+import com.tickets.api.model.entity.Category;
+import com.tickets.api.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Snapshot imutável do catálogo de categorias, com o JSON já serializado.
+ * O catálogo muda raramente, então GET /categories serve os bytes prontos e
+ * o banco só é consultado quando alguma categoria muda (ou na revalidação periódica,
+ * que cobre alterações feitas por outras instâncias da API).
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryCatalog {
+
+    public record Snapshot(long version, List<CategoryResponseDto> categories, byte[] json, String etag) {}
+
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    public Snapshot snapshot() {
+        Snapshot s = current.get();
+        return s != null ? s : rebuild();
+    }
+
+    // Carregado na subida para que a primeira requisição não pague a leitura do banco
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    // Após o commit a transação original não serve mais para leitura: relê em uma nova
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCatalogChanged(CategoryCatalogChangedEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${categories.catalog.refresh-interval-ms:300000}")
+    public void refresh() {
+        if (current.get() != null) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Relê o catálogo e troca o snapshot de uma vez; a versão só avança se o conteúdo mudou.
+     * Sem lock durante a leitura do banco: se outro rebuild publicou enquanto este lia, o que
+     * foi lido pode ser mais antigo que o publicado, então relê em vez de sobrescrever.
+     */
+    public Snapshot rebuild() {
+        while (true) {
+            Snapshot previous = current.get();
+            List<CategoryResponseDto> categories = categoryRepository.findAll().stream()
+                    .sorted(Comparator.comparing(Category::getName))
+                    .map(CategoryService::mapToDto)
+                    .toList();
+            byte[] json;
+            try {
+                json = objectMapper.writeValueAsBytes(categories);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Falha ao serializar o catálogo de categorias", e);
+            }
+
+            if (previous != null && Arrays.equals(previous.json(), json)) {
+                return previous;
+            }
+            long version = previous == null ? 1 : previous.version() + 1;
+            Snapshot next = new Snapshot(version, categories, json, strongEtag(json));
+            if (current.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+
+    // ETag derivado do conteúdo: igual em todas as instâncias que servem o mesmo catálogo
+    private static String strongEtag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,22 +2,28 @@ package com.tickets.api.service;
 
 import com.tickets.api.dto.category.CategoryResponseDto;
 import com.tickets.api.dto.category.CreateCategoryDto;
+import com.tickets.api.event.CategoryCatalogChangedEvent;
 import com.tickets.api.exception.ConflictException;
 import com.tickets.api.exception.ResourceNotFoundException;
 import com.tickets.api.model.entity.Category;
 import com.tickets.api.repository.CategoryRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("tickets.service")
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryCatalog categoryCatalog;
+    private final ReportPurger reportPurger;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public CategoryResponseDto create(CreateCategoryDto dto) {
@@ -32,12 +38,17 @@ public class CategoryService {
                 .build();
 
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryCatalogChangedEvent(saved.getId()));
         return mapToDto(saved);
     }
 
-    @Transactional(readOnly = true)
     public List<CategoryResponseDto> findAll() {
-        return categoryRepository.findAll().stream().map(this::mapToDto).collect(Collectors.toList());
+        return categoryCatalog.snapshot().categories();
+    }
+
+    // Catálogo completo já serializado, servido por GET /categories
+    public CategoryCatalog.Snapshot getCatalog() {
+        return categoryCatalog.snapshot();
     }
 
     @Transactional(readOnly = true)
@@ -61,18 +72,22 @@ public class CategoryService {
         cat.setDescription(dto.getDescription());
 
         Category updated = categoryRepository.save(cat);
+        eventPublisher.publishEvent(new CategoryCatalogChangedEvent(id));
         return mapToDto(updated);
     }
 
-    @Transactional
+    // Reports da categoria saem em lotes antes dela (ReportPurger)
     public void delete(String id) {
         if (!categoryRepository.existsById(id)) {
             throw new ResourceNotFoundException("Categoria não encontrada");
         }
-        categoryRepository.deleteById(id);
+        reportPurger.purge(ReportPurger.Owner.CATEGORY, id, () -> {
+            categoryRepository.deleteById(id);
+            eventPublisher.publishEvent(new CategoryCatalogChangedEvent(id));
+        });
     }
 
-    private CategoryResponseDto mapToDto(Category c) {
+    static CategoryResponseDto mapToDto(Category c) {
         CategoryResponseDto dto = new CategoryResponseDto();
         dto.setId(c.getId());
         dto.setName(c.getName());
@@ -0,0 +1,98 @@
+package com.tickets.api.service;
+
+import com.tickets.api.dto.comment.CommentResponseDto;
+import com.tickets.api.dto.comment.CreateCommentDto;
+import com.tickets.api.dto.common.CursorPageResponseDto;
+import com.tickets.api.dto.common.KeysetCursor;
+import com.tickets.api.exception.ResourceNotFoundException;
+import com.tickets.api.model.entity.Comment;
+import com.tickets.api.model.entity.User;
+import com.tickets.api.repository.CommentRepository;
+import com.tickets.api.repository.ReportRepository;
+import com.tickets.api.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Timed("tickets.service")
+public class CommentService {
+
+    static final int MAX_LIMIT = 100;
+
+    private final CommentRepository commentRepository;
+    private final ReportRepository reportRepository;
+    private final UserRepository userRepository;
+
+    @Transactional
+    public CommentResponseDto create(String reportId, CreateCommentDto dto) {
+        User author = userRepository.findById(dto.getAuthorId())
+                .orElseThrow(() -> new ResourceNotFoundException("Autor não encontrado"));
+        // O UPDATE do contador também confirma que o report existe, sem carregá-lo
+        if (reportRepository.incrementCommentCount(reportId, Instant.now()) == 0) {
+            throw new ResourceNotFoundException("Report não encontrado");
+        }
+        // Comentar um report arquivado o traz de volta à partição quente
+        if (reportRepository.existsByIdAndColdTrue(reportId)) {
+            reportRepository.restoreFromCold(reportId);
+        }
+
+        Comment saved = commentRepository.save(Comment.builder()
+                .content(dto.getContent())
+                .report(reportRepository.getReferenceById(reportId))
+                .author(author)
+                .build());
+        return new CommentResponseDto(saved.getId(), reportId, saved.getContent(), saved.getCreatedAt(),
+                saved.getUpdatedAt(), author.getId(), author.getName());
+    }
+
+    /**
+     * Comentários de um report em ordem cronológica. Cada página custa três consultas
+     * (contador, comentários e autores), qualquer que seja o tamanho da discussão.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<CommentResponseDto> findByReport(String reportId, String cursor, Integer limit) {
+        int total = reportRepository.findCommentCount(reportId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report não encontrado"));
+        int l = (limit == null || limit < 1) ? 20 : Math.min(limit, MAX_LIMIT);
+        Pageable pageable = PageRequest.of(0, l + 1);
+
+        List<CommentResponseDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = commentRepository.findDtoFirstPage(reportId, pageable);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = commentRepository.findDtoPageAfter(reportId, after.createdAt(), after.id(), pageable);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > l) {
+            rows = rows.subList(0, l);
+            CommentResponseDto last = rows.get(l - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        fillAuthorNames(rows);
+        return new CursorPageResponseDto<>(rows, nextCursor, l, (long) total);
+    }
+
+    private void fillAuthorNames(List<CommentResponseDto> rows) {
+        Set<String> authorIds = rows.stream().map(CommentResponseDto::getAuthorId).collect(Collectors.toSet());
+        if (authorIds.isEmpty()) {
+            return;
+        }
+        Map<String, String> names = userRepository.findAllById(authorIds).stream()
+                .collect(Collectors.toMap(User::getId, User::getName));
+        rows.forEach(row -> row.setAuthorName(names.get(row.getAuthorId())));
+    }
+}
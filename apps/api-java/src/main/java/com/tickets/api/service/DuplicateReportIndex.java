@@ -0,0 +1,247 @@
+package com.tickets.api.service;
+
+import com.tickets.api.dto.report.ReportTextDto;
+import com.tickets.api.event.ReportStatusChangedEvent;
+import com.tickets.api.event.ReportsDeletedEvent;
+import com.tickets.api.model.enums.ReportStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports abertos recentes por (localização, categoria) com a assinatura MinHash do
+ * título + descrição, para apontar duplicados na criação. A assinatura estima a
+ * similaridade de Jaccard entre os conjuntos de trigramas de caracteres dos textos;
+ * como cada grupo tem no máximo algumas dezenas de reports dentro da janela, a busca
+ * compara a assinatura nova com todas as do grupo (sem LSH). Leituras não bloqueiam:
+ * cada grupo é um array trocado por inteiro nas escritas (copy-on-write).
+ */
+@Component
+public class DuplicateReportIndex {
+
+    static final int HASHES = 64;
+    static final int MAX_TEXT_LENGTH = 2000;
+    static final Set<ReportStatus> OPEN = EnumSet.of(ReportStatus.PENDING, ReportStatus.IN_ANALYSIS);
+
+    private record Key(String locationId, String categoryId) {}
+
+    private record Entry(String reportId, String rootId, Instant createdAt, int[] signature) {}
+
+    /** Report existente mais parecido; {@code reportId} é sempre o report original (raiz). */
+    public record Match(String reportId, double similarity) {}
+
+    private static final Entry[] EMPTY = new Entry[0];
+
+    private final Map<Key, Entry[]> groups = new ConcurrentHashMap<>();
+    private final Map<String, Key> keysById = new ConcurrentHashMap<>();
+    private final double threshold;
+    private final Duration window;
+    private volatile boolean ready;
+
+    public DuplicateReportIndex(@Value("${reports.duplicates.threshold:0.4}") double threshold,
+                                @Value("${reports.duplicates.window-hours:48}") long windowHours) {
+        this.threshold = threshold;
+        this.window = Duration.ofHours(windowHours);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+
+    public Instant windowStart(Instant now) {
+        return now.minus(window);
+    }
+
+    /** Substitui todo o conteúdo do índice (reports abertos dentro da janela). */
+    public synchronized void rebuild(Collection<ReportTextDto> reports) {
+        Map<Key, List<Entry>> grouped = new HashMap<>();
+        Map<String, Key> ids = new HashMap<>();
+        for (ReportTextDto r : reports) {
+            Key key = new Key(r.getLocationId(), r.getCategoryId());
+            String root = r.getDuplicateOfId() != null ? r.getDuplicateOfId() : r.getId();
+            grouped.computeIfAbsent(key, k -> new ArrayList<>())
+                    .add(new Entry(r.getId(), root, r.getCreatedAt(), signature(r.getTitle(), r.getDescription())));
+            ids.put(r.getId(), key);
+        }
+        groups.clear();
+        keysById.clear();
+        grouped.forEach((k, list) -> groups.put(k, list.toArray(EMPTY)));
+        keysById.putAll(ids);
+        ready = true;
+    }
+
+    /** Report aberto mais parecido acima do limiar, ou null. */
+    public Match findDuplicate(String locationId, String categoryId, int[] signature, Instant now) {
+        Entry[] group = groups.getOrDefault(new Key(locationId, categoryId), EMPTY);
+        Instant since = windowStart(now);
+        Entry best = null;
+        double bestSimilarity = threshold;
+        for (Entry e : group) {
+            if (e.createdAt().isBefore(since)) {
+                continue;
+            }
+            double s = similarity(signature, e.signature());
+            if (s >= bestSimilarity) {
+                best = e;
+                bestSimilarity = s;
+            }
+        }
+        return best == null ? null : new Match(best.rootId(), bestSimilarity);
+    }
+
+    /** Inclui um report recém-criado; dentro de uma transação, só depois do commit. */
+    public void add(String reportId, String rootId, String locationId, String categoryId, Instant createdAt,
+                    int[] signature) {
+        Runnable action = () -> put(new Key(locationId, categoryId), new Entry(reportId, rootId, createdAt, signature));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public synchronized void remove(String reportId) {
+        Key key = keysById.remove(reportId);
+        if (key == null) {
+            return;
+        }
+        groups.computeIfPresent(key, (k, group) -> {
+            Entry[] kept = Arrays.stream(group).filter(e -> !e.reportId().equals(reportId)).toArray(Entry[]::new);
+            return kept.length == 0 ? null : kept;
+        });
+    }
+
+    // Report resolvido, arquivado ou mesclado deixa de ser candidato
+    @TransactionalEventListener
+    public void onStatusChanged(ReportStatusChangedEvent event) {
+        if (!OPEN.contains(event.newStatus())) {
+            remove(event.reportId());
+        }
+    }
+
+    // Reports removidos com o autor, a localização ou a categoria: saem do índice, e quem os
+    // tinha como original passa a ser original, como no banco (duplicate_of_id volta a null)
+    @TransactionalEventListener
+    public void onReportsDeleted(ReportsDeletedEvent event) {
+        Set<String> ids = new HashSet<>();
+        for (ReportsDeletedEvent.Deleted report : event.reports()) {
+            ids.add(report.reportId());
+        }
+        removeAll(ids);
+    }
+
+    synchronized void removeAll(Set<String> ids) {
+        ids.forEach(this::remove);
+        groups.replaceAll((key, group) -> {
+            if (Arrays.stream(group).noneMatch(e -> ids.contains(e.rootId()))) {
+                return group;
+            }
+            return Arrays.stream(group)
+                    .map(e -> ids.contains(e.rootId()) ? new Entry(e.reportId(), e.reportId(), e.createdAt(), e.signature()) : e)
+                    .toArray(Entry[]::new);
+        });
+    }
+
+    // Aproveita a escrita para descartar o que já saiu da janela
+    private synchronized void put(Key key, Entry entry) {
+        Instant since = windowStart(Instant.now());
+        List<String> expired = new ArrayList<>();
+        groups.compute(key, (k, group) -> {
+            List<Entry> kept = new ArrayList<>();
+            for (Entry e : group == null ? EMPTY : group) {
+                if (e.createdAt().isBefore(since)) {
+                    expired.add(e.reportId());
+                } else {
+                    kept.add(e);
+                }
+            }
+            kept.add(entry);
+            return kept.toArray(EMPTY);
+        });
+        expired.forEach(keysById::remove);
+        keysById.put(entry.reportId(), key);
+    }
+
+    /**
+     * Assinatura MinHash dos trigramas de caracteres do texto normalizado (minúsculas,
+     * sem acentos e pontuação). Cada trigrama gera um hash de 64 bits; as {@link #HASHES}
+     * funções derivam dele por hashing duplo (a + i·b), seguido de mistura.
+     */
+    static int[] signature(String title, String description) {
+        String text = normalize((title == null ? "" : title) + " " + (description == null ? "" : description));
+        int[] mins = new int[HASHES];
+        Arrays.fill(mins, Integer.MAX_VALUE);
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            long h = fmix64(((long) text.charAt(i) << 32) ^ ((long) text.charAt(i + 1) << 16) ^ text.charAt(i + 2));
+            int a = (int) h;
+            int b = (int) (h >>> 32) | 1;
+            for (int j = 0; j < HASHES; j++) {
+                int v = fmix32(a + j * b);
+                if (v < mins[j]) {
+                    mins[j] = v;
+                }
+            }
+        }
+        return mins;
+    }
+
+    /** Fração de posições iguais: estimativa da similaridade de Jaccard. */
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    static String normalize(String text) {
+        String s = text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+        s = Normalizer.normalize(s.toLowerCase(), Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return s.replaceAll("[^a-z0-9]+", " ").trim();
+    }
+
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int fmix32(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
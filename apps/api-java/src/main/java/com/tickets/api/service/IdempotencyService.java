@@ -0,0 +1,295 @@
+package com.tickets.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickets.api.exception.BadRequestException;
+import com.tickets.api.exception.ConflictException;
+import com.tickets.api.model.entity.IdempotencyRecord;
+import com.tickets.api.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key para as escritas que o app repete em redes ruins. A primeira requisição
+ * com uma chave grava a linha em idempotency_keys (a PK decide quem executa, mesmo entre
+ * instâncias), executa e guarda a resposta na mesma transação; as repetições recebem a
+ * resposta guardada sem tocar em reports. Repetições simultâneas esperam a primeira:
+ * na mesma instância pelo future em andamento, em outra consultando a linha até a resposta
+ * aparecer. As respostas recentes ficam também em memória (limite de entradas e TTL), então
+ * a repetição comum não chega ao banco.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 255;
+    private static final long MAX_POLL_MS = 500;
+
+    record Stored(String requestHash, String body, Instant expiresAt) {}
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate separateTransaction;
+    private final ObjectMapper objectMapper;
+    private final Map<String, CompletableFuture<Stored>> inFlight = new ConcurrentHashMap<>();
+    // Mesmo TTL para todas: a ordem de inserção é a ordem de expiração
+    private final LinkedHashMap<String, Stored> completed = new LinkedHashMap<>();
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Duration wait;
+    private final Counter executed;
+    private final Counter replayed;
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${idempotency.cache.max-entries:10000}") int maxEntries,
+                              @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${idempotency.lease-ms:30000}") long leaseMs,
+                              @Value("${idempotency.wait-ms:10000}") long waitMs) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lease = Duration.ofMillis(leaseMs);
+        this.wait = Duration.ofMillis(waitMs);
+        this.executed = requests(meterRegistry, "EXECUTED");
+        this.replayed = requests(meterRegistry, "REPLAYED");
+    }
+
+    /**
+     * Executa {@code action} uma única vez por chave. {@code scope} identifica a rota (e o
+     * recurso) e entra no hash junto com {@code request}: reusar a chave em outra requisição
+     * é erro do cliente. Sem chave, apenas executa.
+     */
+    public <T> T execute(String key, String scope, Object request, Class<T> type, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres");
+        }
+        String hash = requestHash(scope, request);
+
+        Stored cached = cached(key, Instant.now());
+        if (cached != null) {
+            return replay(cached, hash, type);
+        }
+        CompletableFuture<Stored> mine = new CompletableFuture<>();
+        CompletableFuture<Stored> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return replay(await(running), hash, type);
+        }
+        try {
+            Stored stored = claimOrWait(key, hash);
+            if (stored != null) {
+                remember(key, stored);
+                mine.complete(stored);
+                return replay(stored, hash, type);
+            }
+
+            String[] body = new String[1];
+            T result;
+            try {
+                result = transactionTemplate.execute(status -> {
+                    T r = action.get();
+                    body[0] = json(r);
+                    repository.complete(key, body[0]);
+                    return r;
+                });
+            } catch (RuntimeException e) {
+                // A transação da requisição foi desfeita: a chave volta a ficar livre
+                separateTransaction.executeWithoutResult(status -> repository.release(key));
+                throw e;
+            }
+            executed.increment();
+            stored = new Stored(hash, body[0], Instant.now().plus(ttl));
+            remember(key, stored);
+            mine.complete(stored);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${idempotency.cleanup-interval-ms:3600000}",
+               fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteAllExpired(Instant.now()));
+        log.debug("Idempotency-Keys expiradas removidas: {}", deleted);
+    }
+
+    /** null quando esta requisição ficou com a chave; senão a resposta da execução anterior. */
+    private Stored claimOrWait(String key, String hash) {
+        Instant deadline = Instant.now().plus(wait);
+        long pause = 20;
+        while (true) {
+            Instant now = Instant.now();
+            if (claim(key, hash, now)) {
+                return null;
+            }
+            IdempotencyRecord existing = separateTransaction.execute(status -> repository.findById(key).orElse(null));
+            if (existing == null) {
+                continue; // liberada entre o INSERT e a leitura
+            }
+            if (existing.getExpiresAt().isBefore(now)) {
+                separateTransaction.executeWithoutResult(status -> repository.deleteExpired(key, now));
+                continue;
+            }
+            if (!existing.getRequestHash().equals(hash)) {
+                throw mismatch();
+            }
+            if (existing.getResponseBody() != null) {
+                return new Stored(existing.getRequestHash(), existing.getResponseBody(), existing.getExpiresAt());
+            }
+            if (existing.getLockedUntil().isBefore(now) && Integer.valueOf(1).equals(separateTransaction.execute(
+                    status -> repository.takeOver(key, hash, now.plus(lease), now)))) {
+                return null;
+            }
+            if (now.isAfter(deadline)) {
+                throw inProgress();
+            }
+            try {
+                Thread.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw inProgress();
+            }
+            pause = Math.min(pause * 2, MAX_POLL_MS);
+        }
+    }
+
+    // Transação própria: a linha precisa estar visível para as outras instâncias antes da execução
+    private boolean claim(String key, String hash, Instant now) {
+        try {
+            separateTransaction.executeWithoutResult(status ->
+                    repository.claim(key, hash, now.plus(lease), now, now.plus(ttl)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private Stored await(CompletableFuture<Stored> running) {
+        try {
+            return running.get(wait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // A primeira execução falhou: a repetição simultânea recebe o mesmo erro
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        }
+    }
+
+    private <T> T replay(Stored stored, String hash, Class<T> type) {
+        if (!stored.requestHash().equals(hash)) {
+            throw mismatch();
+        }
+        replayed.increment();
+        try {
+            return objectMapper.readValue(stored.body(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resposta guardada ilegível", e);
+        }
+    }
+
+    private Stored cached(String key, Instant now) {
+        synchronized (completed) {
+            Stored stored = completed.get(key);
+            if (stored != null && stored.expiresAt().isBefore(now)) {
+                completed.remove(key);
+                return null;
+            }
+            return stored;
+        }
+    }
+
+    private void remember(String key, Stored stored) {
+        Instant now = Instant.now();
+        synchronized (completed) {
+            completed.put(key, stored);
+            Iterator<Stored> it = completed.values().iterator();
+            while (it.hasNext()) {
+                Stored eldest = it.next();
+                if (completed.size() <= maxEntries && !eldest.expiresAt().isBefore(now)) {
+                    break;
+                }
+                it.remove();
+            }
+        }
+    }
+
+    private String requestHash(String scope, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BadRequestException mismatch() {
+        return new BadRequestException(HEADER + " já usada em outra requisição");
+    }
+
+    private static ConflictException inProgress() {
+        return new ConflictException("Requisição com esta " + HEADER + " ainda em andamento");
+    }
+
+    private static Counter requests(MeterRegistry registry, String outcome) {
+        return Counter.builder("tickets.idempotency.requests")
+                .description("Requisições com Idempotency-Key executadas ou respondidas com a resposta guardada")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
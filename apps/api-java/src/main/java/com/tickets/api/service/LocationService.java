@@ -1,25 +1,42 @@
 package com.tickets.api.service;
 
+import com.tickets.api.dto.common.ResourceVersion;
 import com.tickets.api.dto.location.CreateLocationDto;
 import com.tickets.api.dto.location.LocationResponseDto;
+import com.tickets.api.dto.location.NearbyLocationDto;
+import com.tickets.api.event.LocationChangedEvent;
+import com.tickets.api.exception.BadRequestException;
 import com.tickets.api.exception.ResourceNotFoundException;
 import com.tickets.api.model.entity.Location;
 import com.tickets.api.model.entity.User;
 import com.tickets.api.repository.LocationRepository;
 import com.tickets.api.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("tickets.service")
 public class LocationService {
 
+    static final double MAX_NEARBY_RADIUS_METERS = 50_000;
+    static final int MAX_NEARBY_LIMIT = 100;
+
     private final LocationRepository locationRepository;
     private final UserRepository userRepository;
+    private final LocationSpatialIndex spatialIndex;
+    private final ReportPurger reportPurger;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public LocationResponseDto create(CreateLocationDto dto) {
@@ -33,12 +50,14 @@ public class LocationService {
                 .build();
 
         Location saved = locationRepository.save(l);
-        return mapToDto(saved);
+        LocationResponseDto res = mapToDto(saved);
+        eventPublisher.publishEvent(new LocationChangedEvent(res.getId(), res));
+        return res;
     }
 
     @Transactional(readOnly = true)
     public List<LocationResponseDto> findAll() {
-        return locationRepository.findAll().stream().map(this::mapToDto).collect(Collectors.toList());
+        return locationRepository.findAll().stream().map(LocationService::mapToDto).collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
@@ -48,6 +67,18 @@ public class LocationService {
         return mapToDto(l);
     }
 
+    @Transactional(readOnly = true)
+    public ResourceVersion findVersion(String id) {
+        Instant updatedAt = locationRepository.findUpdatedAtById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Localização não encontrada"));
+        return ResourceVersion.of(id, updatedAt);
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion findListVersion() {
+        return locationRepository.findVersion();
+    }
+
     @Transactional
     public LocationResponseDto update(String id, CreateLocationDto dto) {
         Location l = locationRepository.findById(id)
@@ -66,18 +97,72 @@ public class LocationService {
         }
 
         Location updated = locationRepository.save(l);
-        return mapToDto(updated);
+        LocationResponseDto res = mapToDto(updated);
+        eventPublisher.publishEvent(new LocationChangedEvent(res.getId(), res));
+        return res;
     }
 
-    @Transactional
+    // Reports da localização saem em lotes antes dela (ReportPurger); os webhooks, por ON DELETE CASCADE
     public void delete(String id) {
         if (!locationRepository.existsById(id)) {
             throw new ResourceNotFoundException("Localização não encontrada");
         }
-        locationRepository.deleteById(id);
+        reportPurger.purge(ReportPurger.Owner.LOCATION, id, () -> {
+            locationRepository.deleteById(id);
+            eventPublisher.publishEvent(new LocationChangedEvent(id, null));
+        });
+    }
+
+    /**
+     * Tira o administrador das localizações que ele administra (remoção do usuário) e avisa o
+     * índice espacial, que guarda o administrador de cada uma.
+     */
+    @Transactional
+    public void unassignAdmin(String userId) {
+        List<String> ids = locationRepository.findIdsByAdminId(userId);
+        if (ids.isEmpty()) {
+            return;
+        }
+        locationRepository.unassignAdmin(userId, Instant.now());
+        for (LocationResponseDto dto : locationRepository.findDtoByIdIn(ids)) {
+            eventPublisher.publishEvent(new LocationChangedEvent(dto.getId(), dto));
+        }
+    }
+
+    // Sem @Transactional: o caminho do índice não deve reservar conexão do pool
+    public List<NearbyLocationDto> findNearby(double lat, double lon, Double radius, Integer limit) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new BadRequestException("Coordenadas inválidas");
+        }
+        double r = (radius == null || radius <= 0) ? 1000 : Math.min(radius, MAX_NEARBY_RADIUS_METERS);
+        int l = (limit == null || limit < 1) ? 10 : Math.min(limit, MAX_NEARBY_LIMIT);
+
+        if (spatialIndex.isReady()) {
+            return spatialIndex.nearest(lat, lon, r, l);
+        }
+        return findNearbyByBoundingBox(lat, lon, r, l);
+    }
+
+    // Caminho em SQL, usado só até o índice em memória terminar de carregar
+    private List<NearbyLocationDto> findNearbyByBoundingBox(double lat, double lon, double radius, int limit) {
+        double dLat = radius / LocationSpatialIndex.METERS_PER_DEGREE_LAT;
+        double dLon = dLat / Math.max(0.01, Math.cos(Math.toRadians(lat)));
+        return locationRepository.findDtoWithinBoundingBox(lat - dLat, lat + dLat, lon - dLon, lon + dLon).stream()
+                .map(dto -> new NearbyLocationDto(dto,
+                        LocationSpatialIndex.distanceMeters(lat, lon, dto.getLatitude(), dto.getLongitude())))
+                .filter(n -> n.getDistanceMeters() <= radius)
+                .sorted(Comparator.comparingDouble(NearbyLocationDto::getDistanceMeters))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadSpatialIndex() {
+        spatialIndex.rebuild(locationRepository.findAllDto());
     }
 
-    private LocationResponseDto mapToDto(Location l) {
+    static LocationResponseDto mapToDto(Location l) {
         LocationResponseDto dto = new LocationResponseDto();
         dto.setId(l.getId());
         dto.setName(l.getName());
@@ -0,0 +1,206 @@
+package com.tickets.api.service;
+
+import com.tickets.api.dto.location.LocationResponseDto;
+import com.tickets.api.dto.location.NearbyLocationDto;
+import com.tickets.api.event.LocationChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice espacial em memória (grade regular em graus) para consultas de
+ * "pontos mais próximos". Leituras não bloqueiam; escritas trocam o array da
+ * célula afetada (copy-on-write), já que localizações mudam raramente.
+ */
+@Component
+public class LocationSpatialIndex {
+
+    static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    private record Entry(String id, double lat, double lon, LocationResponseDto dto) {}
+
+    private static final Entry[] EMPTY = new Entry[0];
+
+    private final double cellSizeDegrees;
+    private volatile Map<Long, Entry[]> cells = new ConcurrentHashMap<>();
+    private volatile Map<String, Entry> byId = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public LocationSpatialIndex(@Value("${locations.spatial-index.cell-size-degrees:0.01}") double cellSizeDegrees) {
+        this.cellSizeDegrees = cellSizeDegrees;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /** Substitui todo o conteúdo do índice. */
+    public synchronized void rebuild(Collection<LocationResponseDto> locations) {
+        Map<Long, List<Entry>> grouped = new HashMap<>();
+        Map<String, Entry> ids = new ConcurrentHashMap<>();
+        for (LocationResponseDto dto : locations) {
+            Entry e = toEntry(dto);
+            ids.put(e.id(), e);
+            grouped.computeIfAbsent(cellKey(e.lat(), e.lon()), k -> new ArrayList<>()).add(e);
+        }
+        Map<Long, Entry[]> newCells = new ConcurrentHashMap<>();
+        grouped.forEach((k, v) -> newCells.put(k, v.toArray(EMPTY)));
+
+        this.cells = newCells;
+        this.byId = ids;
+        this.ready = true;
+    }
+
+    public synchronized void put(LocationResponseDto dto) {
+        Entry e = toEntry(dto);
+        Entry previous = byId.put(e.id(), e);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+        cells.compute(cellKey(e.lat(), e.lon()), (k, arr) -> {
+            if (arr == null) {
+                return new Entry[]{e};
+            }
+            Entry[] copy = Arrays.copyOf(arr, arr.length + 1);
+            copy[arr.length] = e;
+            return copy;
+        });
+    }
+
+    public synchronized void remove(String id) {
+        Entry previous = byId.remove(id);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    // Só aplica mudanças confirmadas; um rollback não deixa o índice inconsistente
+    @TransactionalEventListener
+    public void onLocationChanged(LocationChangedEvent event) {
+        if (event.deleted()) {
+            remove(event.locationId());
+        } else {
+            put(event.location());
+        }
+    }
+
+    /**
+     * Retorna até {@code limit} localizações a no máximo {@code radiusMeters} do ponto,
+     * ordenadas pela distância. Percorre anéis de células a partir da célula do ponto e
+     * para assim que nenhuma célula do próximo anel pode conter algo mais próximo.
+     */
+    public List<NearbyLocationDto> nearest(double lat, double lon, double radiusMeters, int limit) {
+        Map<Long, Entry[]> snapshot = this.cells;
+        int centerLat = cellIndex(lat + 90.0);
+        int centerLon = cellIndex(lon + 180.0);
+
+        PriorityQueue<NearbyLocationDto> best = new PriorityQueue<>(
+                limit + 1, Comparator.comparingDouble(NearbyLocationDto::getDistanceMeters).reversed());
+
+        int maxRing = ringsFor(lat, radiusMeters);
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (ring > 0) {
+                double minRingDistance = (ring - 1) * cellWidthMeters(lat, ring);
+                if (minRingDistance > radiusMeters) {
+                    break;
+                }
+                if (best.size() == limit && minRingDistance > best.peek().getDistanceMeters()) {
+                    break;
+                }
+            }
+            for (int dLat = -ring; dLat <= ring; dLat++) {
+                boolean edgeRow = Math.abs(dLat) == ring;
+                for (int dLon = -ring; dLon <= ring; dLon += edgeRow ? 1 : 2 * ring) {
+                    Entry[] entries = snapshot.get(pack(centerLat + dLat, centerLon + dLon));
+                    if (entries != null) {
+                        collect(entries, lat, lon, radiusMeters, limit, best);
+                    }
+                    if (ring == 0) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        List<NearbyLocationDto> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(NearbyLocationDto::getDistanceMeters));
+        return result;
+    }
+
+    private static void collect(Entry[] entries, double lat, double lon, double radiusMeters, int limit,
+                                PriorityQueue<NearbyLocationDto> best) {
+        for (Entry e : entries) {
+            double d = distanceMeters(lat, lon, e.lat(), e.lon());
+            if (d > radiusMeters) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new NearbyLocationDto(e.dto(), d));
+            } else if (d < best.peek().getDistanceMeters()) {
+                best.poll();
+                best.add(new NearbyLocationDto(e.dto(), d));
+            }
+        }
+    }
+
+    /** Distância de grande círculo (haversine) em metros. */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // Menor lado (em metros) de uma célula até o anel informado; a largura em longitude
+    // encolhe com a latitude, então usa a latitude mais distante do equador alcançada.
+    private double cellWidthMeters(double lat, int ring) {
+        double worstLat = Math.min(89.0, Math.abs(lat) + (ring + 1) * cellSizeDegrees);
+        return cellSizeDegrees * METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(worstLat));
+    }
+
+    private int ringsFor(double lat, double radiusMeters) {
+        double worstLat = Math.min(89.0, Math.abs(lat) + radiusMeters / METERS_PER_DEGREE_LAT);
+        double width = cellSizeDegrees * METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(worstLat));
+        return (int) Math.ceil(radiusMeters / width) + 1;
+    }
+
+    private void removeFromCell(Entry e) {
+        cells.computeIfPresent(cellKey(e.lat(), e.lon()), (k, arr) -> {
+            Entry[] copy = Arrays.stream(arr).filter(x -> !x.id().equals(e.id())).toArray(Entry[]::new);
+            return copy.length == 0 ? null : copy;
+        });
+    }
+
+    private static Entry toEntry(LocationResponseDto dto) {
+        return new Entry(dto.getId(), dto.getLatitude(), dto.getLongitude(), dto);
+    }
+
+    private long cellKey(double lat, double lon) {
+        return pack(cellIndex(lat + 90.0), cellIndex(lon + 180.0));
+    }
+
+    private int cellIndex(double shiftedDegrees) {
+        return (int) Math.floor(shiftedDegrees / cellSizeDegrees);
+    }
+
+    private static long pack(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+}
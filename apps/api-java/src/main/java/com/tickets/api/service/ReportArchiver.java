@@ -0,0 +1,90 @@
+package com.tickets.api.service;
+
+import com.tickets.api.model.enums.ReportStatus;
+import com.tickets.api.repository.ReportRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Move para as partições frias (migração V10) os reports ARCHIVED e RESOLVED_CONFIRMED sem
+ * alteração há mais que a retenção, com histórico e comentários. Cada lote é um único comando
+ * na própria transação, então os locks duram pouco e o lote cheio indica que ainda há o que
+ * mover. Antes de mover, garante as partições frias do ano corrente e do seguinte.
+ */
+@Component
+@Slf4j
+public class ReportArchiver {
+
+    static final Set<ReportStatus> ARCHIVABLE = EnumSet.of(ReportStatus.RESOLVED_CONFIRMED, ReportStatus.ARCHIVED);
+    private static final List<String> ARCHIVABLE_NAMES = ARCHIVABLE.stream().map(Enum::name).toList();
+
+    private final ReportRepository reportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration retention;
+    private final int batchSize;
+    private final Counter archived;
+
+    public ReportArchiver(ReportRepository reportRepository,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${reports.archive.enabled:true}") boolean enabled,
+                          @Value("${reports.archive.retention-days:90}") long retentionDays,
+                          @Value("${reports.archive.batch-size:1000}") int batchSize) {
+        this.reportRepository = reportRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retention = Duration.ofDays(retentionDays);
+        this.batchSize = batchSize;
+        this.archived = Counter.builder("tickets.reports.archived")
+                .description("Reports movidos para as partições frias")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${reports.archive.interval-ms:3600000}",
+               fixedDelayString = "${reports.archive.interval-ms:3600000}")
+    public void archive() {
+        if (enabled) {
+            archiveBefore(Instant.now());
+        }
+    }
+
+    /** Arquiva tudo o que venceu a retenção em {@code now}; retorna quantos reports foram movidos. */
+    long archiveBefore(Instant now) {
+        int year = now.atZone(ZoneOffset.UTC).getYear();
+        Integer created = transactionTemplate.execute(status ->
+                reportRepository.createColdPartitions(year) + reportRepository.createColdPartitions(year + 1));
+        if (created != null && created > 0) {
+            log.info("{} partições frias criadas para {}-{}", created, year, year + 1);
+        }
+
+        Instant cutoff = now.minus(retention);
+        long total = 0;
+        int moved;
+        do {
+            Integer batch = transactionTemplate.execute(status ->
+                    reportRepository.archiveClosedBefore(ARCHIVABLE_NAMES, cutoff, batchSize));
+            moved = batch == null ? 0 : batch;
+            total += moved;
+            archived.increment(moved);
+        } while (moved == batchSize);
+
+        if (total > 0) {
+            log.info("{} reports fechados antes de {} movidos para as partições frias", total, cutoff);
+        }
+        return total;
+    }
+}
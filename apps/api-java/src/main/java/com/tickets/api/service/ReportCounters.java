@@ -0,0 +1,316 @@
+package com.tickets.api.service;
+
+import com.tickets.api.dto.report.ReportStatsDto;
+import com.tickets.api.event.ReportStatusChangedEvent;
+import com.tickets.api.event.ReportsDeletedEvent;
+import com.tickets.api.model.entity.ReportCounter;
+import com.tickets.api.model.entity.ReportCounterId;
+import com.tickets.api.model.enums.CounterDimension;
+import com.tickets.api.model.enums.ReportStatus;
+import com.tickets.api.repository.ReportCounterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Contadores de reports por status, globais e por localização/categoria.
+ * GET /reports/stats lê só a memória (LongAdder por chave); a tabela report_counters
+ * é a cópia durável. Cada transação acumula os deltas das suas mudanças de status e
+ * os grava com um upsert por chave logo antes do commit, o que mantém curto o lock
+ * nas linhas mais disputadas (a global); a memória só recebe os deltas após o commit.
+ * Na reconciliação periódica uma instância por vez corrige a tabela a partir de reports e
+ * registra a diferença encontrada; todas recarregam a memória da tabela, o que cobre
+ * mudanças feitas pelas outras instâncias da API.
+ * <p>
+ * Na recarga, cada commit local entra no mapa novo uma única vez: a transação segura o read
+ * lock do fim do upsert até aplicar os deltas na memória, e a reconciliação lê a tabela e
+ * troca o mapa sob o write lock. Quem aplicou antes da leitura já está na tabela lida; quem
+ * aplica entre a leitura e a troca vai para um diário, reaplicado no mapa novo; quem aplica
+ * depois já encontra o mapa novo.
+ */
+@Component
+@Slf4j
+public class ReportCounters {
+
+    record Key(CounterDimension dimension, String dimensionId, ReportStatus status)
+            implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::dimension)
+                .thenComparing(Key::dimensionId)
+                .thenComparing(Key::status);
+
+        static Key global(ReportStatus status) {
+            return new Key(CounterDimension.GLOBAL, "", status);
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    // Chave do advisory lock da reconciliação ("tickets" + 1)
+    private static final long RECONCILE_LOCK = 0x7469636b_65747301L;
+
+    private final ReportCounterRepository counterRepository;
+    private final Counter driftCounter;
+
+    private volatile Map<Key, LongAdder> counters = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    // Read: do fim do upsert de uma transação até ela aplicar os deltas na memória.
+    // Write: leitura da tabela e troca do mapa na reconciliação
+    private final ReadWriteLock memoryLock = new ReentrantReadWriteLock();
+    // Deltas aplicados depois da leitura da tabela; null fora de uma reconciliação
+    private volatile Queue<Map<Key, Long>> journal;
+
+    public ReportCounters(ReportCounterRepository counterRepository, MeterRegistry meterRegistry) {
+        this.counterRepository = counterRepository;
+        this.driftCounter = Counter.builder("tickets.report.counters.drift")
+                .description("Diferença absoluta encontrada pela reconciliação dos contadores")
+                .register(meterRegistry);
+    }
+
+    public ReportStatsDto stats(CounterDimension dimension, String dimensionId) {
+        Map<Key, LongAdder> snapshot = this.counters;
+        String id = dimension == CounterDimension.GLOBAL ? "" : dimensionId;
+        Map<ReportStatus, Long> byStatus = new EnumMap<>(ReportStatus.class);
+        long total = 0;
+        for (ReportStatus status : ReportStatus.values()) {
+            LongAdder adder = snapshot.get(new Key(dimension, id, status));
+            long value = adder == null ? 0 : adder.sum();
+            byStatus.put(status, value);
+            total += value;
+        }
+        return new ReportStatsDto(
+                dimension == CounterDimension.LOCATION ? id : null,
+                dimension == CounterDimension.CATEGORY ? id : null,
+                total, byStatus);
+    }
+
+    // Síncrono, dentro da transação que mudou o report: os deltas só valem se ela confirmar
+    @EventListener
+    public void onStatusChanged(ReportStatusChangedEvent event) {
+        if (event.previousStatus() == event.newStatus()) {
+            return;
+        }
+        Map<Key, Long> deltas = pendingDeltas();
+        if (event.previousStatus() != null) {
+            addDeltas(deltas, event.locationId(), event.categoryId(), event.previousStatus(), -1);
+        }
+        addDeltas(deltas, event.locationId(), event.categoryId(), event.newStatus(), 1);
+    }
+
+    // Também dentro da transação do lote removido
+    @EventListener
+    public void onReportsDeleted(ReportsDeletedEvent event) {
+        Map<Key, Long> deltas = pendingDeltas();
+        for (ReportsDeletedEvent.Deleted report : event.reports()) {
+            addDeltas(deltas, report.locationId(), report.categoryId(), report.status(), -1);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void loadOnStartup() {
+        reconcile();
+    }
+
+    /**
+     * Corrige report_counters a partir de reports e troca a memória pela tabela. Retorna a soma
+     * das diferenças absolutas encontradas na tabela (0 quando outra instância está reconciliando).
+     */
+    @Scheduled(initialDelayString = "${reports.counters.reconcile-interval-ms:900000}",
+               fixedDelayString = "${reports.counters.reconcile-interval-ms:900000}")
+    @Transactional
+    public long reconcile() {
+        // As demais instâncias só recarregam a memória a partir da tabela
+        long tableDrift = counterRepository.tryLockForReconcile(RECONCILE_LOCK) ? correctTable() : 0;
+
+        Map<Key, Long> stored = new HashMap<>();
+        long memoryDrift;
+        Queue<Map<Key, Long>> applied = new ConcurrentLinkedQueue<>();
+        memoryLock.writeLock().lock();
+        try {
+            for (ReportCounter c : counterRepository.findAll()) {
+                ReportCounterId id = c.getId();
+                stored.put(new Key(id.getDimension(), id.getDimensionId(), id.getStatus()), c.getCount());
+            }
+            // Na memória a diferença também inclui mudanças feitas por outras instâncias
+            memoryDrift = loaded ? drift("memória", sums(this.counters), stored) : 0;
+            journal = applied;
+        } finally {
+            memoryLock.writeLock().unlock();
+        }
+
+        Map<Key, LongAdder> rebuilt = new ConcurrentHashMap<>();
+        stored.forEach((k, v) -> adder(rebuilt, k).add(v));
+        afterCompletion(committed -> {
+            memoryLock.writeLock().lock();
+            try {
+                if (committed) {
+                    applied.forEach(deltas -> deltas.forEach((k, delta) -> adder(rebuilt, k).add(delta)));
+                    this.counters = rebuilt;
+                    this.loaded = true;
+                }
+                if (journal == applied) {
+                    journal = null;
+                }
+            } finally {
+                memoryLock.writeLock().unlock();
+            }
+        });
+
+        if (tableDrift > 0) {
+            log.warn("Contadores de reports divergentes de reports: drift tabela={} memória={}", tableDrift, memoryDrift);
+        } else {
+            log.info("Contadores de reports reconciliados: {} chaves, drift memória={}", stored.size(), memoryDrift);
+        }
+        return tableDrift;
+    }
+
+    // A diferença entra como incremento, que se soma aos deltas das transações concorrentes em vez
+    // de sobrescrevê-los; nenhuma linha fica bloqueada enquanto reports é agregado
+    private long correctTable() {
+        Map<Key, Long> actual = new HashMap<>();
+        Map<Key, Long> stored = new HashMap<>();
+        for (ReportCounterRepository.ReconcileRow row : counterRepository.snapshotForReconcile()) {
+            ReportStatus status = ReportStatus.valueOf(row.getStatus());
+            if (row.getDimension() == null) {
+                addDeltas(actual, row.getLocationId(), row.getCategoryId(), status, row.getCount());
+            } else {
+                stored.put(new Key(CounterDimension.valueOf(row.getDimension()), row.getDimensionId(), status),
+                        row.getCount());
+            }
+        }
+
+        long drift = drift("tabela", stored, actual);
+        driftCounter.increment(drift);
+        // Mesma ordem do beforeCommit das transações, para não haver deadlock
+        Set<Key> keys = new TreeSet<>(actual.keySet());
+        keys.addAll(stored.keySet());
+        for (Key k : keys) {
+            long delta = actual.getOrDefault(k, 0L) - stored.getOrDefault(k, 0L);
+            if (delta != 0) {
+                counterRepository.increment(k.dimension().name(), k.dimensionId(), k.status().name(), delta);
+            }
+        }
+        return drift;
+    }
+
+    private static long drift(String source, Map<Key, Long> found, Map<Key, Long> actual) {
+        Set<Key> keys = new HashSet<>(found.keySet());
+        keys.addAll(actual.keySet());
+        long total = 0;
+        for (Key k : keys) {
+            long expected = actual.getOrDefault(k, 0L);
+            long value = found.getOrDefault(k, 0L);
+            if (value != expected) {
+                log.debug("Contador divergente na {}: {} esperado={} encontrado={}", source, k, expected, value);
+                total += Math.abs(value - expected);
+            }
+        }
+        return total;
+    }
+
+    private static void addDeltas(Map<Key, Long> deltas, String locationId, String categoryId,
+                                  ReportStatus status, long delta) {
+        deltas.merge(Key.global(status), delta, Long::sum);
+        deltas.merge(new Key(CounterDimension.LOCATION, locationId, status), delta, Long::sum);
+        deltas.merge(new Key(CounterDimension.CATEGORY, categoryId, status), delta, Long::sum);
+    }
+
+    // Um acumulador por transação; TreeMap para gravar sempre na mesma ordem e evitar deadlock
+    @SuppressWarnings("unchecked")
+    private Map<Key, Long> pendingDeltas() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Mudança nos reports fora de uma transação");
+        }
+        Map<Key, Long> deltas = (Map<Key, Long>) TransactionSynchronizationManager.getResource(this);
+        if (deltas == null) {
+            Map<Key, Long> created = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean locked;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    created.forEach((k, delta) -> {
+                        if (delta != 0) {
+                            counterRepository.increment(k.dimension().name(), k.dimensionId(), k.status().name(), delta);
+                        }
+                    });
+                    // Só depois do upsert: a reconciliação segura linhas de report_counters até o
+                    // commit dela e espera este lock só enquanto lê a tabela e troca o mapa
+                    memoryLock.readLock().lock();
+                    locked = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    Map<Key, LongAdder> target = counters;
+                    created.forEach((k, delta) -> adder(target, k).add(delta));
+                    Queue<Map<Key, Long>> pending = journal;
+                    if (pending != null) {
+                        pending.add(created);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (locked) {
+                        memoryLock.readLock().unlock();
+                    }
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReportCounters.this);
+                }
+            });
+            deltas = created;
+        }
+        return deltas;
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            action.accept(true);
+        }
+    }
+
+    private static LongAdder adder(Map<Key, LongAdder> target, Key key) {
+        return target.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static Map<Key, Long> sums(Map<Key, LongAdder> source) {
+        Map<Key, Long> result = new HashMap<>();
+        source.forEach((k, v) -> result.put(k, v.sum()));
+        return result;
+    }
+}
@@ -0,0 +1,144 @@
+package com.tickets.api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.tickets.api.dto.report.ReportResponseDto;
+import com.tickets.api.exception.BadRequestException;
+import com.tickets.api.model.enums.ReportStatus;
+import com.tickets.api.repository.ReportRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exporta reports direto para o stream da resposta, linha a linha, a partir de um
+ * cursor do banco. O uso de memória não depende do número de linhas exportadas.
+ */
+@Service
+@RequiredArgsConstructor
+@Timed("tickets.service")
+public class ReportExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+    private static final String[] CSV_HEADER = {
+        "id", "title", "description", "status", "imageUrl", "createdAt", "updatedAt",
+        "authorId", "authorName", "locationId", "locationName", "categoryId", "categoryName"
+    };
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        public final String contentType;
+        public final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public static Format parse(String value) {
+            for (Format f : values()) {
+                if (f.extension.equalsIgnoreCase(value)) {
+                    return f;
+                }
+            }
+            throw new BadRequestException("Formato de exportação inválido: " + value);
+        }
+    }
+
+    private final ReportRepository reportRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long export(
+            Format format,
+            ReportStatus status,
+            String locationId,
+            String categoryId,
+            String authorId,
+            boolean includeArchived,
+            OutputStream out
+    ) throws IOException {
+        try (Stream<ReportResponseDto> rows = reportRepository.streamDtoByFilters(
+                status, locationId, categoryId, authorId, includeArchived)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            long count = format == Format.CSV ? writeCsv(rows.iterator(), writer) : writeNdjson(rows.iterator(), writer);
+            writer.flush();
+            return count;
+        }
+    }
+
+    private long writeNdjson(Iterator<ReportResponseDto> rows, Writer writer) throws IOException {
+        long count = 0;
+        try (SequenceWriter seq = objectMapper.writerFor(ReportResponseDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(writer)) {
+            while (rows.hasNext()) {
+                seq.write(rows.next());
+                if (++count % FLUSH_EVERY == 0) {
+                    seq.flush();
+                }
+            }
+        }
+        if (count > 0) {
+            writer.write('\n');
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<ReportResponseDto> rows, Writer writer) throws IOException {
+        writeCsvLine(writer, CSV_HEADER);
+        long count = 0;
+        while (rows.hasNext()) {
+            ReportResponseDto r = rows.next();
+            writeCsvLine(writer, new String[]{
+                r.getId(), r.getTitle(), r.getDescription(),
+                r.getStatus() == null ? null : r.getStatus().name(),
+                r.getImageUrl(),
+                r.getCreatedAt() == null ? null : r.getCreatedAt().toString(),
+                r.getUpdatedAt() == null ? null : r.getUpdatedAt().toString(),
+                r.getAuthorId(), r.getAuthorName(),
+                r.getLocationId(), r.getLocationName(),
+                r.getCategoryId(), r.getCategoryName()
+            });
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        return count;
+    }
+
+    // RFC 4180: aspas quando o campo contém separador, aspas ou quebra de linha
+    private static void writeCsvLine(Writer writer, String[] fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String f = fields[i];
+            if (f == null) {
+                continue;
+            }
+            if (f.indexOf(',') >= 0 || f.indexOf('"') >= 0 || f.indexOf('\n') >= 0 || f.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(f.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(f);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
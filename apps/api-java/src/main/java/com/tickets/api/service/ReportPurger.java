@@ -0,0 +1,136 @@
+package com.tickets.api.service;
+
+import com.tickets.api.event.ReportsDeletedEvent;
+import com.tickets.api.repository.CommentRepository;
+import com.tickets.api.repository.ReportRepository;
+import com.tickets.api.repository.StatusHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Remoção de usuário, localização ou categoria com tudo o que depende deles, em comandos por
+ * lote em vez do cascade do Hibernate (que carregava e apagava report a report). Cada lote de
+ * reports, com histórico e comentários, é um único comando na própria transação, então locks e
+ * memória não crescem com o tamanho do dono. No usuário também saem, em lotes, os comentários e
+ * o histórico que ele deixou em reports de outros. Por fim, uma última transação apaga o que
+ * tiver sido criado nesse meio tempo junto com o próprio dono.
+ */
+@Component
+@Slf4j
+public class ReportPurger {
+
+    public enum Owner { AUTHOR, LOCATION, CATEGORY }
+
+    private final ReportRepository reportRepository;
+    private final CommentRepository commentRepository;
+    private final StatusHistoryRepository statusHistoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Map<Owner, Counter> purged = new EnumMap<>(Owner.class);
+
+    public ReportPurger(ReportRepository reportRepository,
+                        CommentRepository commentRepository,
+                        StatusHistoryRepository statusHistoryRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${reports.purge.batch-size:1000}") int batchSize) {
+        this.reportRepository = reportRepository;
+        this.commentRepository = commentRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        for (Owner owner : Owner.values()) {
+            purged.put(owner, Counter.builder("tickets.reports.purged")
+                    .description("Reports removidos junto com o autor, a localização ou a categoria")
+                    .tag("owner", owner.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Remove os reports de {@code ownerId} em lotes e depois executa {@code deleteOwner} na
+     * transação que apaga as sobras. Retorna quantos reports foram removidos.
+     */
+    public long purge(Owner owner, String ownerId, Runnable deleteOwner) {
+        Counter counter = purged.get(owner);
+        long total = repeat(() -> {
+            int n = inTransaction(() -> deleteReports(owner, ownerId));
+            counter.increment(n);
+            return n;
+        });
+        if (owner == Owner.AUTHOR) {
+            repeat(() -> inTransaction(() -> deleteActivity(ownerId)));
+        }
+
+        // O que foi criado durante os lotes anteriores sai junto com o dono
+        Long last = transactionTemplate.execute(status -> {
+            long n = repeat(() -> deleteReports(owner, ownerId));
+            if (owner == Owner.AUTHOR) {
+                repeat(() -> deleteActivity(ownerId));
+            }
+            deleteOwner.run();
+            return n;
+        });
+        if (last != null) {
+            counter.increment(last);
+            total += last;
+        }
+
+        if (total > 0) {
+            log.info("{} reports removidos com {} {}", total, owner.name().toLowerCase(Locale.ROOT), ownerId);
+        }
+        return total;
+    }
+
+    private int deleteReports(Owner owner, String ownerId) {
+        List<ReportRepository.DeletedReport> rows = switch (owner) {
+            case AUTHOR -> reportRepository.deleteBatchByAuthor(ownerId, batchSize);
+            case LOCATION -> reportRepository.deleteBatchByLocation(ownerId, batchSize);
+            case CATEGORY -> reportRepository.deleteBatchByCategory(ownerId, batchSize);
+        };
+        if (!rows.isEmpty()) {
+            eventPublisher.publishEvent(new ReportsDeletedEvent(rows.stream()
+                    .map(r -> new ReportsDeletedEvent.Deleted(r.getId(), r.getLocationId(), r.getCategoryId(), r.getStatus()))
+                    .toList()));
+        }
+        return rows.size();
+    }
+
+    // Comentários e histórico do usuário em reports de outros; o maior dos dois lotes decide se continua
+    private int deleteActivity(String userId) {
+        long comments = commentRepository.deleteBatchByAuthor(userId, batchSize);
+        int history = statusHistoryRepository.deleteBatchByUpdatedBy(userId, batchSize);
+        return (int) Math.max(comments, history);
+    }
+
+    // Lotes até um voltar incompleto; retorna a soma
+    private long repeat(IntSupplier batch) {
+        long total = 0;
+        int n;
+        do {
+            n = batch.getAsInt();
+            total += n;
+        } while (n == batchSize);
+        return total;
+    }
+
+    private int inTransaction(IntSupplier batch) {
+        Integer n = transactionTemplate.execute(status -> batch.getAsInt());
+        return n == null ? 0 : n;
+    }
+}
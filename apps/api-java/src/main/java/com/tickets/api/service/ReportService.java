@@ -1,71 +1,207 @@
 package com.tickets.api.service;
 
+import com.tickets.api.dto.common.CursorPageResponseDto;
+import com.tickets.api.dto.common.KeysetCursor;
 import com.tickets.api.dto.common.PageResponseDto;
+import com.tickets.api.dto.common.ResourceVersion;
+import com.tickets.api.dto.report.BatchItemResultDto;
+import com.tickets.api.dto.report.BatchReportResponseDto;
 import com.tickets.api.dto.report.CreateReportDto;
+import com.tickets.api.dto.report.MergeReportsDto;
+import com.tickets.api.dto.report.MergeReportsResponseDto;
 import com.tickets.api.dto.report.ReportResponseDto;
+import com.tickets.api.dto.report.ReportSearchHitDto;
+import com.tickets.api.dto.report.ReportSearchResponseDto;
+import com.tickets.api.dto.report.ReportStatsDto;
 import com.tickets.api.dto.report.UpdateStatusDto;
+import com.tickets.api.event.ReportStatusChangedEvent;
+import com.tickets.api.exception.BadRequestException;
 import com.tickets.api.exception.ResourceNotFoundException;
 import com.tickets.api.model.entity.Category;
 import com.tickets.api.model.entity.Location;
 import com.tickets.api.model.entity.Report;
 import com.tickets.api.model.entity.StatusHistory;
 import com.tickets.api.model.entity.User;
+import com.tickets.api.model.enums.CounterDimension;
 import com.tickets.api.model.enums.ReportStatus;
+import com.tickets.api.model.id.UuidStringJavaType;
+import com.tickets.api.model.id.UuidV7Generator;
 import com.tickets.api.repository.CategoryRepository;
 import com.tickets.api.repository.LocationRepository;
 import com.tickets.api.repository.ReportRepository;
 import com.tickets.api.repository.StatusHistoryRepository;
 import com.tickets.api.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("tickets.service")
 public class ReportService {
 
+    static final int MAX_BATCH_SIZE = 500;
+    static final int MAX_SEARCH_LIMIT = 50;
+    static final int MAX_SEARCH_RESULTS = 1000;
+    static final int MAX_QUERY_LENGTH = 200;
+
+    private static final Map<String, String> MISSING_REFERENCES = Map.of(
+            "fk_reports_author", "Autor não encontrado",
+            "fk_status_history_user", "Autor não encontrado",
+            "fk_reports_location", "Localização não encontrada",
+            "fk_reports_category", "Categoria não encontrada");
+
     private final ReportRepository reportRepository;
     private final UserRepository userRepository;
     private final LocationRepository locationRepository;
     private final CategoryRepository categoryRepository;
     private final StatusHistoryRepository statusHistoryRepository;
+    private final Validator validator;
+    private final ReportCounters reportCounters;
+    private final DuplicateReportIndex duplicateIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Um único comando no banco: autor, localização e categoria não são carregados, a FK de cada
+     * um garante que existem (a violação vira o mesmo 404 de antes) e os nomes do DTO voltam na
+     * própria linha do INSERT.
+     */
     @Transactional
     public ReportResponseDto create(CreateReportDto dto) {
-        User author = userRepository.findById(dto.getAuthorId())
-                .orElseThrow(() -> new ResourceNotFoundException("Autor não encontrado"));
-        Location location = locationRepository.findById(dto.getLocationId())
-                .orElseThrow(() -> new ResourceNotFoundException("Localização não encontrada"));
-        Category category = categoryRepository.findById(dto.getCategoryId())
-                .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada"));
-
-        Report report = Report.builder()
-                .title(dto.getTitle())
-                .description(dto.getDescription())
-                .imageUrl(dto.getImageUrl())
-                .author(author)
-                .location(location)
-                .category(category)
-                .build();
+        UUID authorId = UuidStringJavaType.parse(dto.getAuthorId());
+        UUID locationId = UuidStringJavaType.parse(dto.getLocationId());
+        UUID categoryId = UuidStringJavaType.parse(dto.getCategoryId());
+        // Precisão do timestamptz: o DTO devolvido bate com o que as leituras seguintes trazem
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
 
-        Report saved = reportRepository.save(report);
+        // Candidatos vêm só do índice em memória: nenhuma consulta a mais na criação
+        int[] signature = DuplicateReportIndex.signature(dto.getTitle(), dto.getDescription());
+        DuplicateReportIndex.Match match = duplicateIndex.findDuplicate(
+                locationId.toString(), categoryId.toString(), signature, now);
+        String duplicateOfId = match == null ? null : match.reportId();
 
-        // criar status history inicial
-        StatusHistory sh = StatusHistory.builder()
-                .report(saved)
-                .status(ReportStatus.PENDING)
-                .comment("Report criado")
-                .user(author)
-                .build();
-        statusHistoryRepository.save(sh);
+        UUID id = UuidV7Generator.next();
+        ReportRepository.CreatedNames names;
+        try {
+            names = reportRepository.insertWithInitialHistory(id, UuidV7Generator.next(),
+                    dto.getTitle(), dto.getDescription(), dto.getImageUrl(), authorId, locationId, categoryId,
+                    duplicateOfId == null ? null : UUID.fromString(duplicateOfId), now);
+        } catch (DataIntegrityViolationException e) {
+            throw missingReference(e);
+        }
+
+        String reportId = id.toString();
+        duplicateIndex.add(reportId, duplicateOfId == null ? reportId : duplicateOfId,
+                locationId.toString(), categoryId.toString(), now, signature);
+        eventPublisher.publishEvent(ReportStatusChangedEvent.created(
+                reportId, authorId.toString(), locationId.toString(), categoryId.toString(), ReportStatus.PENDING));
 
-        return mapToDto(saved);
+        return new ReportResponseDto(reportId, dto.getTitle(), dto.getDescription(), ReportStatus.PENDING,
+                dto.getImageUrl(), now, now, authorId.toString(), names.getAuthorName(),
+                locationId.toString(), names.getLocationName(), categoryId.toString(), names.getCategoryName(),
+                0, duplicateOfId);
+    }
+
+    /**
+     * Ingestão em lote: autores, localizações e categorias são resolvidos com um
+     * SELECT ... IN por tipo e os INSERTs de reports e status_history saem em lotes
+     * JDBC (hibernate.jdbc.batch_size). Itens inválidos ou com referências inexistentes
+     * são reportados individualmente sem impedir a criação dos demais; uma falha no
+     * banco desfaz o lote inteiro. Duplicados são procurados entre os reports já
+     * indexados, não entre os itens do próprio lote.
+     */
+    @Transactional
+    public BatchReportResponseDto createBatch(List<CreateReportDto> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new BadRequestException("Lote vazio");
+        }
+        if (dtos.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Lote excede o limite de " + MAX_BATCH_SIZE + " itens");
+        }
+
+        Map<String, User> authors = byId(userRepository.findAllById(idsOf(dtos, CreateReportDto::getAuthorId)), User::getId);
+        Map<String, Location> locations = byId(locationRepository.findAllById(idsOf(dtos, CreateReportDto::getLocationId)), Location::getId);
+        Map<String, Category> categories = byId(categoryRepository.findAllById(idsOf(dtos, CreateReportDto::getCategoryId)), Category::getId);
+
+        BatchItemResultDto[] results = new BatchItemResultDto[dtos.size()];
+        Map<Integer, Report> pending = new LinkedHashMap<>();
+        Map<Integer, int[]> signatures = new LinkedHashMap<>();
+        List<StatusHistory> histories = new ArrayList<>();
+        Instant now = Instant.now();
+
+        for (int i = 0; i < dtos.size(); i++) {
+            CreateReportDto dto = dtos.get(i);
+            String error = validate(dto);
+            if (error == null && !authors.containsKey(dto.getAuthorId())) error = "Autor não encontrado";
+            if (error == null && !locations.containsKey(dto.getLocationId())) error = "Localização não encontrada";
+            if (error == null && !categories.containsKey(dto.getCategoryId())) error = "Categoria não encontrada";
+            if (error != null) {
+                results[i] = BatchItemResultDto.failed(i, error);
+                continue;
+            }
+
+            User author = authors.get(dto.getAuthorId());
+            int[] signature = DuplicateReportIndex.signature(dto.getTitle(), dto.getDescription());
+            DuplicateReportIndex.Match match = duplicateIndex.findDuplicate(
+                    dto.getLocationId(), dto.getCategoryId(), signature, now);
+            Report report = Report.builder()
+                    .title(dto.getTitle())
+                    .description(dto.getDescription())
+                    .imageUrl(dto.getImageUrl())
+                    .author(author)
+                    .location(locations.get(dto.getLocationId()))
+                    .category(categories.get(dto.getCategoryId()))
+                    .duplicateOf(match == null ? null : reportRepository.getReferenceById(match.reportId()))
+                    .build();
+            pending.put(i, report);
+            signatures.put(i, signature);
+            histories.add(StatusHistory.builder()
+                    .report(report)
+                    .status(ReportStatus.PENDING)
+                    .comment("Report criado")
+                    .user(author)
+                    .build());
+        }
+
+        reportRepository.saveAll(pending.values());
+        statusHistoryRepository.saveAll(histories);
+        reportRepository.flush();
+
+        pending.forEach((i, report) -> {
+            results[i] = BatchItemResultDto.created(i, mapToDto(report));
+            eventPublisher.publishEvent(ReportStatusChangedEvent.created(
+                    report.getId(), report.getAuthor().getId(), report.getLocation().getId(), report.getCategory().getId(),
+                    report.getStatus()));
+            duplicateIndex.add(report.getId(),
+                    report.getDuplicateOf() == null ? report.getId() : report.getDuplicateOf().getId(),
+                    report.getLocation().getId(), report.getCategory().getId(), report.getCreatedAt(), signatures.get(i));
+        });
+        return new BatchReportResponseDto(pending.size(), dtos.size() - pending.size(), Arrays.asList(results));
     }
 
     @Transactional(readOnly = true)
@@ -75,23 +211,122 @@ public class ReportService {
             ReportStatus status,
             String locationId,
             String categoryId,
-            String authorId
+            String authorId,
+            boolean includeArchived
     ) {
         int p = (page == null || page < 1) ? 1 : page;
         int l = (limit == null || limit < 1) ? 10 : limit;
         Pageable pageable = PageRequest.of(p - 1, l);
 
-        Page<Report> pageRes = reportRepository.findByFilters(status, locationId, categoryId, authorId, pageable);
-        List<ReportResponseDto> data = pageRes.getContent().stream().map(this::mapToDto).collect(Collectors.toList());
+        Page<ReportResponseDto> pageRes = reportRepository.findDtoByFilters(
+                status, locationId, categoryId, authorId, includeArchived, pageable);
+
+        return new PageResponseDto<>(pageRes.getContent(), pageRes.getTotalElements(), p, l, pageRes.getTotalPages());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<ReportResponseDto> findAllByCursor(
+            String cursor,
+            Integer limit,
+            boolean includeTotal,
+            ReportStatus status,
+            String locationId,
+            String categoryId,
+            String authorId,
+            boolean includeArchived
+    ) {
+        int l = (limit == null || limit < 1) ? 10 : limit;
+        // busca um item a mais só para saber se existe próxima página
+        Pageable pageable = PageRequest.of(0, l + 1);
+
+        List<ReportResponseDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = reportRepository.findDtoFirstPage(status, locationId, categoryId, authorId, includeArchived, pageable);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = reportRepository.findDtoPageAfter(
+                    status, locationId, categoryId, authorId, includeArchived, after.createdAt(), after.id(), pageable);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > l) {
+            rows = rows.subList(0, l);
+            ReportResponseDto last = rows.get(l - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        Long total = includeTotal
+                ? reportRepository.countByFilters(status, locationId, categoryId, authorId, includeArchived)
+                : null;
+        return new CursorPageResponseDto<>(rows, nextCursor, l, total);
+    }
+
+    /**
+     * Busca textual em título e descrição (português, sem acentos), ordenada por relevância.
+     * Aceita a sintaxe de websearch_to_tsquery: "frase exata", OR e -termo.
+     */
+    @Transactional(readOnly = true)
+    public ReportSearchResponseDto search(String q, Integer page, Integer limit, boolean includeArchived) {
+        if (q == null || q.isBlank()) {
+            throw new BadRequestException("Parâmetro q é obrigatório");
+        }
+        if (q.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Parâmetro q excede " + MAX_QUERY_LENGTH + " caracteres");
+        }
+        int p = (page == null || page < 1) ? 1 : page;
+        int l = (limit == null || limit < 1) ? 10 : Math.min(limit, MAX_SEARCH_LIMIT);
+        int offset = (p - 1) * l;
+        // ranquear exige pontuar todas as linhas encontradas; páginas muito fundas não compensam
+        if (offset + l > MAX_SEARCH_RESULTS) {
+            throw new BadRequestException("Busca limitada aos " + MAX_SEARCH_RESULTS + " primeiros resultados");
+        }
+
+        List<ReportRepository.SearchRow> rows = reportRepository.search(q.trim(), includeArchived, l + 1, offset);
+        boolean hasNext = rows.size() > l;
+        if (hasNext) {
+            rows = rows.subList(0, l);
+        }
+        if (rows.isEmpty()) {
+            return new ReportSearchResponseDto(q, p, l, false, List.of());
+        }
+
+        Map<String, ReportResponseDto> reports = byId(
+                reportRepository.findDtoByIdIn(rows.stream().map(ReportRepository.SearchRow::getId).toList()),
+                ReportResponseDto::getId);
+        List<ReportSearchHitDto> hits = rows.stream()
+                .filter(row -> reports.containsKey(row.getId()))
+                .map(row -> new ReportSearchHitDto(
+                        reports.get(row.getId()), row.getRank(),
+                        escapeHighlight(row.getTitleHighlight()), escapeHighlight(row.getSnippet())))
+                .toList();
+        return new ReportSearchResponseDto(q, p, l, hasNext, hits);
+    }
 
-        return new PageResponseDto<>(data, pageRes.getTotalElements(), p, l, pageRes.getTotalPages());
+    // Sem @Transactional: lê só os contadores em memória
+    public ReportStatsDto getStats(String locationId, String categoryId) {
+        if (locationId != null && categoryId != null) {
+            throw new BadRequestException("Informe locationId ou categoryId, não ambos");
+        }
+        if (locationId != null) {
+            return reportCounters.stats(CounterDimension.LOCATION, locationId);
+        }
+        if (categoryId != null) {
+            return reportCounters.stats(CounterDimension.CATEGORY, categoryId);
+        }
+        return reportCounters.stats(CounterDimension.GLOBAL, null);
     }
 
     @Transactional(readOnly = true)
     public ReportResponseDto findById(String id) {
-        Report r = reportRepository.findById(id)
+        return loadDto(id);
+    }
+
+    // GET condicional: uma consulta só com updatedAt, antes de montar o DTO completo
+    @Transactional(readOnly = true)
+    public ResourceVersion findVersion(String id) {
+        Instant updatedAt = reportRepository.findUpdatedAtById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Report não encontrado"));
-        return mapToDto(r);
+        return ResourceVersion.of(id, updatedAt);
     }
 
     @Transactional
@@ -100,6 +335,11 @@ public class ReportService {
                 .orElseThrow(() -> new ResourceNotFoundException("Report não encontrado"));
         User user = userRepository.findById(dto.getUpdatedBy())
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
+        // Report arquivado que volta a mudar de status retorna à partição quente com histórico e
+        // comentários; se continuar fechado, o ReportArchiver o arquiva de novo após a retenção
+        if (r.isCold()) {
+            reportRepository.restoreFromCold(id);
+        }
 
         StatusHistory sh = StatusHistory.builder()
                 .report(r)
@@ -109,12 +349,144 @@ public class ReportService {
                 .build();
         statusHistoryRepository.save(sh);
 
+        ReportStatus previous = r.getStatus();
         r.setStatus(dto.getStatus());
-        Report updated = reportRepository.save(r);
-        return mapToDto(updated);
+        reportRepository.save(r);
+        eventPublisher.publishEvent(new ReportStatusChangedEvent(
+                r.getId(), r.getAuthor().getId(), r.getLocation().getId(), r.getCategory().getId(),
+                previous, dto.getStatus()));
+        return loadDto(id);
+    }
+
+    /**
+     * Mescla duplicados no report de destino: cada duplicado é arquivado com um registro no
+     * histórico e passa a apontar para o destino, assim como os duplicados que apontavam para
+     * ele. Sem {@code duplicateIds}, mescla os duplicados abertos já ligados ao destino na criação.
+     */
+    @Transactional
+    public MergeReportsResponseDto merge(String targetId, MergeReportsDto dto) {
+        Report target = reportRepository.findById(targetId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report não encontrado"));
+        if (target.getDuplicateOf() != null) {
+            throw new BadRequestException("Report de destino é duplicado de " + target.getDuplicateOf().getId());
+        }
+        User user = userRepository.findById(dto.getUpdatedBy())
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
+
+        Set<String> ids;
+        if (dto.getDuplicateIds() == null || dto.getDuplicateIds().isEmpty()) {
+            ids = new LinkedHashSet<>(reportRepository.findDuplicateIds(
+                    targetId, DuplicateReportIndex.OPEN, PageRequest.of(0, MAX_BATCH_SIZE)));
+        } else {
+            ids = dto.getDuplicateIds().stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            if (ids.size() > MAX_BATCH_SIZE) {
+                throw new BadRequestException("Máximo de " + MAX_BATCH_SIZE + " reports por mesclagem");
+            }
+            if (ids.contains(targetId)) {
+                throw new BadRequestException("Report de destino não pode estar entre os duplicados");
+            }
+        }
+        if (ids.isEmpty()) {
+            return new MergeReportsResponseDto(targetId, 0, List.of());
+        }
+
+        List<Report> duplicates = reportRepository.findAllById(ids);
+        if (duplicates.size() != ids.size()) {
+            Set<String> found = duplicates.stream().map(Report::getId).collect(Collectors.toSet());
+            throw new ResourceNotFoundException("Reports não encontrados: " + ids.stream()
+                    .filter(id -> !found.contains(id)).collect(Collectors.joining(", ")));
+        }
+        String locationId = target.getLocation().getId();
+        String categoryId = target.getCategory().getId();
+        for (Report d : duplicates) {
+            if (!d.getLocation().getId().equals(locationId) || !d.getCategory().getId().equals(categoryId)) {
+                throw new BadRequestException("Report " + d.getId() + " é de outra localização ou categoria");
+            }
+            if (!DuplicateReportIndex.OPEN.contains(d.getStatus())) {
+                throw new BadRequestException("Report " + d.getId() + " não está aberto");
+            }
+        }
+
+        String comment = dto.getComment() == null || dto.getComment().isBlank()
+                ? "Mesclado em " + targetId : dto.getComment();
+        List<StatusHistory> histories = new ArrayList<>();
+        for (Report d : duplicates) {
+            ReportStatus previous = d.getStatus();
+            d.setStatus(ReportStatus.ARCHIVED);
+            d.setDuplicateOf(target);
+            histories.add(StatusHistory.builder()
+                    .report(d)
+                    .status(ReportStatus.ARCHIVED)
+                    .comment(comment)
+                    .user(user)
+                    .build());
+            eventPublisher.publishEvent(new ReportStatusChangedEvent(
+                    d.getId(), d.getAuthor().getId(), locationId, categoryId, previous, ReportStatus.ARCHIVED));
+        }
+        statusHistoryRepository.saveAll(histories);
+        reportRepository.flush();
+        reportRepository.repointDuplicates(ids, target, Instant.now());
+
+        return new MergeReportsResponseDto(targetId, duplicates.size(),
+                duplicates.stream().map(Report::getId).toList());
     }
 
-    private ReportResponseDto mapToDto(Report r) {
+    // Índice de duplicados: reports abertos dentro da janela, carregados uma vez na subida
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadDuplicateIndex() {
+        duplicateIndex.rebuild(reportRepository.findTextByStatusInCreatedSince(
+                DuplicateReportIndex.OPEN, duplicateIndex.windowStart(Instant.now())));
+    }
+
+    // ts_headline não escapa o texto original: escapa tudo e devolve só as marcações de destaque
+    static String escapeHighlight(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline, "UTF-8")
+                .replace("&lt;mark&gt;", "<mark>")
+                .replace("&lt;/mark&gt;", "</mark>");
+    }
+
+    // FK violada no INSERT da criação → a mesma mensagem da busca por id que existia antes
+    private static RuntimeException missingReference(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            String message = MISSING_REFERENCES.get(violation.getConstraintName());
+            if (message != null) {
+                return new ResourceNotFoundException(message);
+            }
+        }
+        return e;
+    }
+
+    private String validate(CreateReportDto dto) {
+        if (dto == null) {
+            return "Item nulo";
+        }
+        return validator.validate(dto).stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static Set<String> idsOf(List<CreateReportDto> dtos, Function<CreateReportDto, String> getter) {
+        return dtos.stream()
+                .filter(Objects::nonNull)
+                .map(getter)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static <T> Map<String, T> byId(List<T> entities, Function<T, String> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    // Só para entidades cujas relações já estão carregadas (caso do lote)
+    static ReportResponseDto mapToDto(Report r) {
         ReportResponseDto dto = new ReportResponseDto();
         dto.setId(r.getId());
         dto.setTitle(r.getTitle());
@@ -129,6 +501,14 @@ public class ReportService {
         dto.setLocationName(r.getLocation().getName());
         dto.setCategoryId(r.getCategory().getId());
         dto.setCategoryName(r.getCategory().getName());
+        dto.setCommentCount(r.getCommentCount());
+        dto.setDuplicateOfId(r.getDuplicateOf() == null ? null : r.getDuplicateOf().getId());
         return dto;
     }
+
+    // Lê o DTO pela projeção com JOIN (uma única consulta, sem lazy loading)
+    private ReportResponseDto loadDto(String id) {
+        return reportRepository.findDtoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Report não encontrado"));
+    }
 }
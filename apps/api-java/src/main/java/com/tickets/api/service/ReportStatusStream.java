@@ -0,0 +1,207 @@
+package com.tickets.api.service;
+
+import com.tickets.api.dto.report.ReportStatusEventDto;
+import com.tickets.api.event.ReportStatusChangedEvent;
+import com.tickets.api.exception.BadRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assinaturas SSE de GET /reports/stream, por autor ou por localização.
+ * Uma conexão ociosa é só uma requisição assíncrona do Tomcat mais uma fila pequena:
+ * nenhuma thread fica reservada a ela. Após o commit, a mudança de status é enfileirada
+ * (sem bloquear) na fila de cada assinante e um pool fixo de threads de plataforma esvazia
+ * as filas com eventos pendentes. Não são virtual threads: send e complete do emitter são
+ * synchronized (Spring 6.1), e uma escrita parada num cliente lento prenderia a thread
+ * portadora. Assim, um cliente lento ocupa no máximo uma thread do pool até o timeout de
+ * escrita do Tomcat. Um assinante cuja fila enche não está acompanhando e é desconectado;
+ * o EventSource do cliente reconecta sozinho.
+ */
+@Component
+@Slf4j
+public class ReportStatusStream {
+
+    static final String STATUS_EVENT = "status";
+
+    private final Map<String, Set<Subscriber>> byAuthor = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byLocation = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ExecutorService sender;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final Counter evicted;
+
+    public ReportStatusStream(@Value("${reports.stream.buffer-size:32}") int bufferSize,
+                              @Value("${reports.stream.timeout-ms:1800000}") long timeoutMs,
+                              @Value("${reports.stream.sender-threads:8}") int senderThreads,
+                              MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.sender = Executors.newFixedThreadPool(senderThreads,
+                Thread.ofPlatform().name("sse-sender-", 0).daemon().factory());
+        Gauge.builder("tickets.report.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Conexões SSE abertas em /reports/stream")
+                .register(meterRegistry);
+        this.evicted = Counter.builder("tickets.report.stream.evicted")
+                .description("Assinantes desconectados por não consumirem os eventos a tempo")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(String authorId, String locationId) {
+        boolean byAuthorId = authorId != null && !authorId.isBlank();
+        boolean byLocationId = locationId != null && !locationId.isBlank();
+        if (byAuthorId == byLocationId) {
+            throw new BadRequestException("Informe apenas um filtro: authorId ou locationId");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        register(emitter, byAuthorId ? authorId : null, byAuthorId ? null : locationId);
+        return emitter;
+    }
+
+    Subscriber register(SseEmitter emitter, String authorId, String locationId) {
+        Map<String, Set<Subscriber>> index = authorId != null ? byAuthor : byLocation;
+        Subscriber s = new Subscriber(emitter, index, authorId != null ? authorId : locationId);
+        // compute/computeIfPresent por chave: não há corrida com a remoção do conjunto vazio
+        index.compute(s.key, (k, set) -> {
+            Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(s);
+            return target;
+        });
+        subscribers.incrementAndGet();
+        emitter.onCompletion(s::remove);
+        emitter.onTimeout(s::remove);
+        emitter.onError(e -> s.remove());
+        // Primeiro envio confirma a assinatura ao cliente e define o intervalo de reconexão
+        s.offer(SseEmitter.event().comment("ok").reconnectTime(5_000));
+        return s;
+    }
+
+    // Só mudanças confirmadas; roda na thread que fez o commit, então nada aqui pode bloquear
+    @TransactionalEventListener
+    public void onStatusChanged(ReportStatusChangedEvent event) {
+        if (event.previousStatus() == event.newStatus()) {
+            return;
+        }
+        ReportStatusEventDto payload = new ReportStatusEventDto(event.reportId(), event.authorId(),
+                event.locationId(), event.categoryId(), event.previousStatus(), event.newStatus(), Instant.now());
+        dispatch(byAuthor.get(event.authorId()), payload);
+        dispatch(byLocation.get(event.locationId()), payload);
+    }
+
+    // Mantém proxies sem fechar a conexão ociosa e descobre clientes que já saíram
+    @Scheduled(fixedDelayString = "${reports.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        byAuthor.values().forEach(set -> set.forEach(s -> s.offer(SseEmitter.event().comment("ping"))));
+        byLocation.values().forEach(set -> set.forEach(s -> s.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        byAuthor.values().forEach(set -> set.forEach(Subscriber::close));
+        byLocation.values().forEach(set -> set.forEach(Subscriber::close));
+        sender.shutdown();
+    }
+
+    private void dispatch(Set<Subscriber> targets, ReportStatusEventDto payload) {
+        if (targets == null) {
+            return;
+        }
+        for (Subscriber s : targets) {
+            s.offer(SseEmitter.event().name(STATUS_EVENT).id(payload.getReportId())
+                    .data(payload, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Map<String, Set<Subscriber>> index;
+        private final String key;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Map<String, Set<Subscriber>> index, String key) {
+            this.emitter = emitter;
+            this.index = index;
+            this.key = key;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                evicted.increment();
+                log.debug("Assinante SSE lento desconectado: {}", key);
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (Exception e) {
+                // Conexão fechada pelo cliente: o Spring já completa o emitter com erro
+                remove();
+            } finally {
+                draining.set(false);
+                if (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                    sender.execute(this::drain);
+                }
+            }
+        }
+
+        // O complete pode esperar um send em andamento: nunca na thread de quem despacha
+        void close() {
+            if (remove()) {
+                sender.execute(emitter::complete);
+            }
+        }
+
+        boolean remove() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            queue.clear();
+            index.computeIfPresent(key, (k, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+            subscribers.decrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.tickets.api.service;
+
+import com.tickets.api.dto.common.CursorPageResponseDto;
+import com.tickets.api.dto.common.KeysetCursor;
+import com.tickets.api.dto.report.StatusHistoryEntryDto;
+import com.tickets.api.exception.BadRequestException;
+import com.tickets.api.exception.ResourceNotFoundException;
+import com.tickets.api.model.entity.User;
+import com.tickets.api.repository.ReportRepository;
+import com.tickets.api.repository.StatusHistoryRepository;
+import com.tickets.api.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Timed("tickets.service")
+public class StatusHistoryService {
+
+    static final int MAX_LIMIT = 100;
+    static final int MAX_REPORTS = 100;
+    static final int MAX_PER_REPORT = 50;
+
+    private final StatusHistoryRepository statusHistoryRepository;
+    private final ReportRepository reportRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Linha do tempo de um report, da mudança mais recente para a mais antiga. Cada página
+     * custa duas consultas (entradas + usuários), independente do tamanho.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDto<StatusHistoryEntryDto> findByReport(String reportId, String cursor, Integer limit) {
+        int l = (limit == null || limit < 1) ? 20 : Math.min(limit, MAX_LIMIT);
+        Pageable pageable = PageRequest.of(0, l + 1);
+
+        // A entrada seguinte (mais recente) à primeira da página é a do cursor:
+        // é ela que encerra o período do primeiro status desta página
+        KeysetCursor after = null;
+        List<StatusHistoryEntryDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = statusHistoryRepository.findEntriesFirstPage(reportId, pageable);
+        } else {
+            after = KeysetCursor.decode(cursor);
+            rows = statusHistoryRepository.findEntriesPageAfter(reportId, after.createdAt(), after.id(), pageable);
+        }
+        if (rows.isEmpty() && after == null && !reportRepository.existsById(reportId)) {
+            throw new ResourceNotFoundException("Report não encontrado");
+        }
+
+        String nextCursor = null;
+        if (rows.size() > l) {
+            rows = rows.subList(0, l);
+            StatusHistoryEntryDto last = rows.get(l - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        fillUserNames(rows);
+        fillDurations(rows, after == null ? null : after.createdAt(), Instant.now());
+        return new CursorPageResponseDto<>(rows, nextCursor, l, null);
+    }
+
+    /** Últimas entradas de vários reports (telas de administração), agrupadas por report. */
+    @Transactional(readOnly = true)
+    public Map<String, List<StatusHistoryEntryDto>> findLatestByReports(Collection<String> reportIds, Integer perReport) {
+        Set<String> ids = reportIds == null ? Set.of() : reportIds.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            throw new BadRequestException("Informe ao menos um reportId");
+        }
+        if (ids.size() > MAX_REPORTS) {
+            throw new BadRequestException("Máximo de " + MAX_REPORTS + " reports por consulta");
+        }
+        int n = (perReport == null || perReport < 1) ? 5 : Math.min(perReport, MAX_PER_REPORT);
+
+        List<StatusHistoryEntryDto> rows = statusHistoryRepository.findLatestEntries(ids, n);
+        fillUserNames(rows);
+
+        Map<String, List<StatusHistoryEntryDto>> byReport = new LinkedHashMap<>();
+        ids.forEach(id -> byReport.put(id, new ArrayList<>()));
+        // Uma linha cujo id não está entre os pedidos ganha a própria lista em vez de derrubar a resposta
+        rows.forEach(row -> byReport.computeIfAbsent(row.getReportId(), id -> new ArrayList<>()).add(row));
+        // Cada lista começa pela entrada atual, então a duração de todas é conhecida
+        Instant now = Instant.now();
+        byReport.values().forEach(entries -> fillDurations(entries, null, now));
+        return byReport;
+    }
+
+    // Um único SELECT ... IN para os autores das mudanças da página
+    private void fillUserNames(List<StatusHistoryEntryDto> rows) {
+        Set<String> userIds = rows.stream().map(StatusHistoryEntryDto::getUserId).collect(Collectors.toSet());
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Map<String, String> names = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, User::getName));
+        rows.forEach(row -> row.setUserName(names.get(row.getUserId())));
+    }
+
+    /**
+     * Entradas em ordem decrescente: cada status durou até a entrada anterior da lista.
+     * {@code newerChange} é o instante da mudança imediatamente mais recente que a primeira
+     * entrada (null quando a primeira entrada é o status atual).
+     */
+    static void fillDurations(List<StatusHistoryEntryDto> entries, Instant newerChange, Instant now) {
+        Instant end = newerChange == null ? now : newerChange;
+        for (int i = 0; i < entries.size(); i++) {
+            StatusHistoryEntryDto entry = entries.get(i);
+            entry.setCurrent(i == 0 && newerChange == null);
+            entry.setSecondsInStatus(Math.max(0, Duration.between(entry.getCreatedAt(), end).toSeconds()));
+            end = entry.getCreatedAt();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.tickets.api.exception.ConflictException;
 import com.tickets.api.exception.ResourceNotFoundException;
 import com.tickets.api.model.entity.User;
 import com.tickets.api.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,9 +16,12 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("tickets.service")
 public class UserService {
 
     private final UserRepository userRepository;
+    private final LocationService locationService;
+    private final ReportPurger reportPurger;
 
     @Transactional
     public UserResponseDto create(CreateUserDto dto) {
@@ -82,12 +86,18 @@ public class UserService {
         return mapToDto(updatedUser);
     }
 
-    @Transactional
+    /**
+     * Remove o usuário com os reports dele, os comentários e o histórico que registrou, em lotes
+     * ({@link ReportPurger}). As localizações que ele administrava continuam, sem administrador.
+     */
     public void delete(String id) {
         if (!userRepository.existsById(id)) {
             throw new ResourceNotFoundException("Usuário com ID " + id + " não encontrado");
         }
-        userRepository.deleteById(id);
+        reportPurger.purge(ReportPurger.Owner.AUTHOR, id, () -> {
+            locationService.unassignAdmin(id);
+            userRepository.deleteById(id);
+        });
     }
 
     private UserResponseDto mapToDto(User user) {
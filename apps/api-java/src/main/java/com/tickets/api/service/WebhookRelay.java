@@ -0,0 +1,187 @@
+package com.tickets.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickets.api.dto.webhook.WebhookDeliveryDto;
+import com.tickets.api.dto.webhook.WebhookPayloadDto;
+import com.tickets.api.repository.WebhookOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Entrega o outbox de webhooks. Cada rodada reserva um lote de linhas vencidas
+ * (FOR UPDATE SKIP LOCKED, então várias instâncias dividem a fila sem entregar a mesma
+ * linha duas vezes), agrupa por endpoint e faz um único POST por endpoint com todas as
+ * mudanças dele, em paralelo e fora de transação. Confirmadas (2xx) são removidas; as
+ * demais voltam para a fila com backoff exponencial até esgotar as tentativas.
+ * A entrega é "pelo menos uma vez": o receptor deve tolerar eventos repetidos.
+ */
+@Component
+@Slf4j
+public class WebhookRelay {
+
+    private final WebhookOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration requestTimeout;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final int maxAttempts;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter abandoned;
+
+    public WebhookRelay(WebhookOutboxRepository outboxRepository,
+                        PlatformTransactionManager transactionManager,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${webhooks.relay.batch-size:200}") int batchSize,
+                        @Value("${webhooks.relay.lease-ms:60000}") long leaseMs,
+                        @Value("${webhooks.relay.timeout-ms:5000}") long timeoutMs,
+                        @Value("${webhooks.relay.backoff-base-ms:5000}") long backoffBaseMs,
+                        @Value("${webhooks.relay.backoff-max-ms:3600000}") long backoffMaxMs,
+                        @Value("${webhooks.relay.max-attempts:15}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(timeoutMs)).build();
+        this.batchSize = batchSize;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.requestTimeout = Duration.ofMillis(timeoutMs);
+        this.backoffBase = Duration.ofMillis(backoffBaseMs);
+        this.backoffMax = Duration.ofMillis(backoffMaxMs);
+        this.maxAttempts = maxAttempts;
+        this.delivered = deliveries(meterRegistry, "SUCCESS");
+        this.failed = deliveries(meterRegistry, "FAILURE");
+        this.abandoned = deliveries(meterRegistry, "ABANDONED");
+    }
+
+    @Scheduled(initialDelayString = "${webhooks.relay.interval-ms:2000}",
+               fixedDelayString = "${webhooks.relay.interval-ms:2000}")
+    public void relay() {
+        // Lote cheio indica fila acumulada: continua sem esperar o próximo intervalo
+        while (relayBatch() == batchSize) {
+            log.debug("Outbox de webhooks com mais pendências, novo lote");
+        }
+    }
+
+    /** Uma rodada completa; retorna quantas linhas foram reservadas. */
+    int relayBatch() {
+        Instant now = Instant.now();
+        List<WebhookDeliveryDto> claimed = transactionTemplate.execute(status -> {
+            List<Long> ids = outboxRepository.lockDueIds(now, batchSize);
+            if (ids.isEmpty()) {
+                return List.<WebhookDeliveryDto>of();
+            }
+            outboxRepository.lease(ids, now.plus(lease));
+            return outboxRepository.findDeliveries(ids);
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<WebhookDeliveryDto>> byEndpoint = new LinkedHashMap<>();
+        claimed.forEach(d -> byEndpoint.computeIfAbsent(d.getEndpointId(), k -> new ArrayList<>()).add(d));
+
+        Map<String, CompletableFuture<String>> results = new LinkedHashMap<>();
+        byEndpoint.forEach((endpointId, deliveries) -> results.put(endpointId, send(endpointId, deliveries)));
+        CompletableFuture.allOf(results.values().toArray(CompletableFuture[]::new)).join();
+
+        Instant finishedAt = Instant.now();
+        transactionTemplate.executeWithoutResult(status -> results.forEach((endpointId, result) -> {
+            List<WebhookDeliveryDto> deliveries = byEndpoint.get(endpointId);
+            String error = result.join();
+            if (error == null) {
+                outboxRepository.deleteByIdIn(deliveries.stream().map(WebhookDeliveryDto::getId).toList());
+                delivered.increment(deliveries.size());
+            } else {
+                log.warn("Falha ao entregar {} evento(s) ao webhook {}: {}", deliveries.size(), endpointId, error);
+                retryLater(deliveries, error, finishedAt);
+            }
+        }));
+        return claimed.size();
+    }
+
+    /** Atraso antes da tentativa seguinte a {@code attempts} tentativas feitas. */
+    Duration backoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration delay = backoffBase.multipliedBy(1L << exponent);
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+
+    // Resolve com null em caso de sucesso ou com a descrição do erro
+    private CompletableFuture<String> send(String endpointId, List<WebhookDeliveryDto> deliveries) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new WebhookPayloadDto(endpointId,
+                    deliveries.stream().map(WebhookDeliveryDto::getEvent).toList()));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.completedFuture("Falha ao serializar: " + e.getMessage());
+        }
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(deliveries.get(0).getUrl()))
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture("URL inválida: " + e.getMessage());
+        }
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> response.statusCode() / 100 == 2 ? null : "HTTP " + response.statusCode())
+                .exceptionally(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+                });
+    }
+
+    // Agrupa por instante da próxima tentativa: um UPDATE por valor distinto, não por linha
+    private void retryLater(List<WebhookDeliveryDto> deliveries, String error, Instant now) {
+        String message = error.length() > 500 ? error.substring(0, 500) : error;
+        Map<Instant, List<Long>> byNextAttempt = new LinkedHashMap<>();
+        List<Long> exhausted = new ArrayList<>();
+        for (WebhookDeliveryDto d : deliveries) {
+            if (d.getAttempts() >= maxAttempts) {
+                exhausted.add(d.getId());
+            } else {
+                byNextAttempt.computeIfAbsent(now.plus(backoff(d.getAttempts())), k -> new ArrayList<>()).add(d.getId());
+            }
+        }
+        byNextAttempt.forEach((next, ids) -> outboxRepository.reschedule(ids, next, message));
+        failed.increment(deliveries.size() - exhausted.size());
+        if (!exhausted.isEmpty()) {
+            outboxRepository.reschedule(exhausted, null, message);
+            abandoned.increment(exhausted.size());
+            log.error("{} evento(s) de webhook abandonados após {} tentativas", exhausted.size(), maxAttempts);
+        }
+    }
+
+    private static Counter deliveries(MeterRegistry registry, String outcome) {
+        return Counter.builder("tickets.webhook.deliveries")
+                .description("Eventos de webhook por resultado da tentativa de entrega")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.tickets.api.service;
+
+import com.tickets.api.dto.webhook.CreateWebhookDto;
+import com.tickets.api.dto.webhook.WebhookResponseDto;
+import com.tickets.api.event.ReportStatusChangedEvent;
+import com.tickets.api.exception.BadRequestException;
+import com.tickets.api.exception.ResourceNotFoundException;
+import com.tickets.api.model.entity.Location;
+import com.tickets.api.model.entity.WebhookEndpoint;
+import com.tickets.api.repository.LocationRepository;
+import com.tickets.api.repository.WebhookEndpointRepository;
+import com.tickets.api.repository.WebhookOutboxRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Timed("tickets.service")
+public class WebhookService {
+
+    private final WebhookEndpointRepository endpointRepository;
+    private final WebhookOutboxRepository outboxRepository;
+    private final LocationRepository locationRepository;
+
+    @Transactional
+    public WebhookResponseDto create(CreateWebhookDto dto) {
+        String url = validateUrl(dto.getUrl());
+        Location location = locationRepository.findById(dto.getLocationId())
+                .orElseThrow(() -> new ResourceNotFoundException("Localização não encontrada"));
+
+        WebhookEndpoint saved = endpointRepository.save(WebhookEndpoint.builder()
+                .url(url)
+                .location(location)
+                .build());
+        return new WebhookResponseDto(saved.getId(), location.getId(), saved.getUrl(), saved.getCreatedAt());
+    }
+
+    @Transactional(readOnly = true)
+    public List<WebhookResponseDto> findByLocation(String locationId) {
+        return endpointRepository.findDtoByLocationId(locationId);
+    }
+
+    // Entregas pendentes do endpoint são descartadas junto com ele
+    @Transactional
+    public void delete(String id) {
+        if (!endpointRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Webhook não encontrado");
+        }
+        outboxRepository.deleteByEndpointId(id);
+        endpointRepository.deleteById(id);
+    }
+
+    // Síncrono, na transação que gravou o StatusHistory: o outbox só existe se a mudança confirmar
+    @EventListener
+    public void onStatusChanged(ReportStatusChangedEvent event) {
+        if (event.previousStatus() == event.newStatus()) {
+            return;
+        }
+        outboxRepository.enqueue(event.reportId(), event.authorId(), event.locationId(), event.categoryId(),
+                event.previousStatus(), event.newStatus(), Instant.now());
+    }
+
+    private static String validateUrl(String url) {
+        try {
+            URI uri = new URI(url.trim());
+            String scheme = uri.getScheme();
+            if (uri.getHost() == null || !("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme))) {
+                throw new BadRequestException("URL do webhook deve ser http(s) absoluta");
+            }
+            return uri.toString();
+        } catch (URISyntaxException e) {
+            throw new BadRequestException("URL do webhook inválida");
+        }
+    }
+}
@@ -0,0 +1,137 @@
+-- reports, status_history e comments particionadas em quente e frio. A partição quente
+-- (cold = false) guarda o que a API lê no dia a dia; a fria (cold = true) é subdividida por ano
+-- de created_at e recebe, do ReportArchiver, os reports ARCHIVED/RESOLVED_CONFIRMED que passaram
+-- da retenção, junto com histórico e comentários. As consultas de listagem filtram cold = false
+-- e o planner só lê a partição quente.
+--
+-- A chave primária de uma tabela particionada precisa conter as colunas de particionamento,
+-- então passa a ser (id, cold, created_at) e o id não pode mais ser alvo de FK: saem as FKs de
+-- status_history.report_id, comments.report_id e reports.duplicate_of_id. As FKs para users,
+-- locations e categories continuam. A busca só por id usa o prefixo da PK em cada partição.
+-- Reescreve as três tabelas: rodar em janela de manutenção.
+
+-- Cria a partição fria do ano nas três tabelas; retorna quantas foram criadas
+CREATE OR REPLACE FUNCTION create_cold_partitions(p_year integer) RETURNS integer AS $$
+DECLARE
+    t text;
+    created integer := 0;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['reports', 'status_history', 'comments'] LOOP
+        IF to_regclass(format('%I', t || '_cold_' || p_year)) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                           t || '_cold_' || p_year, t || '_cold',
+                           make_timestamptz(p_year, 1, 1, 0, 0, 0, 'UTC'),
+                           make_timestamptz(p_year + 1, 1, 1, 0, 0, 0, 'UTC'));
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END $$ LANGUAGE plpgsql;
+
+ALTER TABLE status_history DROP CONSTRAINT IF EXISTS fk_status_history_report;
+ALTER TABLE comments DROP CONSTRAINT IF EXISTS fk_comments_report;
+ALTER TABLE reports DROP CONSTRAINT IF EXISTS fk_reports_duplicate_of;
+
+ALTER TABLE reports RENAME TO reports_unpartitioned;
+ALTER TABLE reports_unpartitioned RENAME CONSTRAINT reports_pkey TO reports_unpartitioned_pkey;
+ALTER TABLE status_history RENAME TO status_history_unpartitioned;
+ALTER TABLE status_history_unpartitioned RENAME CONSTRAINT status_history_pkey TO status_history_unpartitioned_pkey;
+ALTER TABLE comments RENAME TO comments_unpartitioned;
+ALTER TABLE comments_unpartitioned RENAME CONSTRAINT comments_pkey TO comments_unpartitioned_pkey;
+
+CREATE TABLE reports (
+    id uuid NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description TEXT NOT NULL,
+    status VARCHAR(255) NOT NULL CONSTRAINT reports_status_check
+        CHECK (status IN ('PENDING', 'IN_ANALYSIS', 'RESOLVED_PROVISIONAL', 'RESOLVED_CONFIRMED', 'ARCHIVED')),
+    image_url VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    comment_count INTEGER NOT NULL DEFAULT 0,
+    author_id uuid NOT NULL CONSTRAINT fk_reports_author REFERENCES users (id),
+    location_id uuid NOT NULL CONSTRAINT fk_reports_location REFERENCES locations (id),
+    category_id uuid NOT NULL CONSTRAINT fk_reports_category REFERENCES categories (id),
+    duplicate_of_id uuid,
+    cold BOOLEAN NOT NULL DEFAULT false,
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('pt_unaccent', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('pt_unaccent', coalesce(description, '')), 'B')
+    ) STORED,
+    CONSTRAINT reports_pkey PRIMARY KEY (id, cold, created_at)
+) PARTITION BY LIST (cold);
+
+CREATE TABLE status_history (
+    id uuid NOT NULL,
+    report_id uuid NOT NULL,
+    status VARCHAR(255) NOT NULL CONSTRAINT status_history_status_check
+        CHECK (status IN ('PENDING', 'IN_ANALYSIS', 'RESOLVED_PROVISIONAL', 'RESOLVED_CONFIRMED', 'ARCHIVED')),
+    comment TEXT,
+    updated_by uuid NOT NULL CONSTRAINT fk_status_history_user REFERENCES users (id),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    cold BOOLEAN NOT NULL DEFAULT false,
+    CONSTRAINT status_history_pkey PRIMARY KEY (id, cold, created_at)
+) PARTITION BY LIST (cold);
+
+CREATE TABLE comments (
+    id uuid NOT NULL,
+    report_id uuid NOT NULL,
+    author_id uuid NOT NULL CONSTRAINT fk_comments_author REFERENCES users (id),
+    content TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    cold BOOLEAN NOT NULL DEFAULT false,
+    CONSTRAINT comments_pkey PRIMARY KEY (id, cold, created_at)
+) PARTITION BY LIST (cold);
+
+CREATE TABLE reports_hot PARTITION OF reports FOR VALUES IN (false);
+CREATE TABLE reports_cold PARTITION OF reports FOR VALUES IN (true) PARTITION BY RANGE (created_at);
+CREATE TABLE status_history_hot PARTITION OF status_history FOR VALUES IN (false);
+CREATE TABLE status_history_cold PARTITION OF status_history FOR VALUES IN (true) PARTITION BY RANGE (created_at);
+CREATE TABLE comments_hot PARTITION OF comments FOR VALUES IN (false);
+CREATE TABLE comments_cold PARTITION OF comments FOR VALUES IN (true) PARTITION BY RANGE (created_at);
+
+-- Partições frias desde o ano mais antigo existente até o próximo; o arquivador cria as seguintes
+SELECT create_cold_partitions(y::integer)
+  FROM generate_series(
+         (SELECT extract(year FROM coalesce(min(created_at), now())) FROM (
+            SELECT created_at FROM reports_unpartitioned
+            UNION ALL SELECT created_at FROM status_history_unpartitioned
+            UNION ALL SELECT created_at FROM comments_unpartitioned) t)::integer,
+         extract(year FROM now())::integer + 1) y;
+
+INSERT INTO reports (id, title, description, status, image_url, created_at, updated_at, comment_count,
+                     author_id, location_id, category_id, duplicate_of_id)
+SELECT id, title, description, status, image_url, created_at, updated_at, comment_count,
+       author_id, location_id, category_id, duplicate_of_id
+  FROM reports_unpartitioned;
+
+INSERT INTO status_history (id, report_id, status, comment, updated_by, created_at)
+SELECT id, report_id, status, comment, updated_by, created_at FROM status_history_unpartitioned;
+
+INSERT INTO comments (id, report_id, author_id, content, created_at, updated_at)
+SELECT id, report_id, author_id, content, created_at, updated_at FROM comments_unpartitioned;
+
+DROP TABLE comments_unpartitioned;
+DROP TABLE status_history_unpartitioned;
+DROP TABLE reports_unpartitioned;
+
+-- Índices no pai valem para todas as partições, inclusive as criadas depois
+CREATE INDEX idx_report_author ON reports (author_id);
+CREATE INDEX idx_report_location ON reports (location_id);
+CREATE INDEX idx_report_category ON reports (category_id);
+CREATE INDEX idx_report_status ON reports (status);
+CREATE INDEX idx_report_created ON reports (created_at);
+CREATE INDEX idx_report_search ON reports USING GIN (search_vector);
+CREATE INDEX idx_report_duplicate_of ON reports (duplicate_of_id) WHERE duplicate_of_id IS NOT NULL;
+
+CREATE INDEX idx_status_history_report ON status_history (report_id);
+CREATE INDEX idx_status_history_created ON status_history (created_at);
+CREATE INDEX idx_status_history_report_created ON status_history (report_id, created_at, id);
+
+CREATE INDEX idx_comment_report ON comments (report_id, created_at, id);
+CREATE INDEX idx_comment_author ON comments (author_id);
+
+ANALYZE reports;
+ANALYZE status_history;
+ANALYZE comments;
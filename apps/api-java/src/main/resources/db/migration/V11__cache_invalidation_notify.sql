@@ -0,0 +1,21 @@
+-- Invalidação do cache de segundo nível entre instâncias da API: cada UPDATE ou DELETE nas
+-- tabelas em cache avisa o canal tickets_cache com "tabela:id". O Postgres só entrega a
+-- notificação no commit (e uma vez por payload dentro da transação); INSERT não precisa de aviso
+CREATE FUNCTION notify_cache_invalidation() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('tickets_cache', TG_TABLE_NAME || ':' || OLD.id::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER users_cache_invalidation
+    AFTER UPDATE OR DELETE ON users
+    FOR EACH ROW EXECUTE FUNCTION notify_cache_invalidation();
+
+CREATE TRIGGER categories_cache_invalidation
+    AFTER UPDATE OR DELETE ON categories
+    FOR EACH ROW EXECUTE FUNCTION notify_cache_invalidation();
+
+CREATE TRIGGER locations_cache_invalidation
+    AFTER UPDATE OR DELETE ON locations
+    FOR EACH ROW EXECUTE FUNCTION notify_cache_invalidation();
@@ -0,0 +1,5 @@
+-- Remoção de usuários e localizações em lote (ReportPurger): o histórico alterado pelo usuário e
+-- as localizações que ele administra são encontrados por estas colunas, que não tinham índice.
+-- Em status_history o índice é criado na tabela particionada e vale para todas as partições
+CREATE INDEX IF NOT EXISTS idx_status_history_updated_by ON status_history (updated_by);
+CREATE INDEX IF NOT EXISTS idx_location_admin ON locations (admin_id);
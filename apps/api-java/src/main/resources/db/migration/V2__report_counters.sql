@@ -0,0 +1,9 @@
+-- Contadores de reports por status (global, por localização e por categoria).
+-- Preenchidos pela reconciliação na subida da aplicação.
+CREATE TABLE IF NOT EXISTS report_counters (
+  dimension VARCHAR(16) NOT NULL,
+  dimension_id VARCHAR(255) NOT NULL,
+  status VARCHAR(32) NOT NULL,
+  count BIGINT NOT NULL,
+  PRIMARY KEY (dimension, dimension_id, status)
+);
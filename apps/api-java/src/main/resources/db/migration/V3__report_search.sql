@@ -0,0 +1,21 @@
+-- Busca textual em reports (GET /reports/search): português com stemming e sem acentos.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+DO $$
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'pt_unaccent') THEN
+    CREATE TEXT SEARCH CONFIGURATION pt_unaccent (COPY = portuguese);
+    ALTER TEXT SEARCH CONFIGURATION pt_unaccent
+      ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+  END IF;
+END
+$$;
+
+-- Título pesa mais que a descrição no ranking (pesos A e B)
+ALTER TABLE reports ADD COLUMN IF NOT EXISTS search_vector tsvector
+  GENERATED ALWAYS AS (
+    setweight(to_tsvector('pt_unaccent', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('pt_unaccent', coalesce(description, '')), 'B')
+  ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_report_search ON reports USING GIN (search_vector);
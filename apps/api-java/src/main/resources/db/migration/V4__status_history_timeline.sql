@@ -0,0 +1,4 @@
+-- Linha do tempo de status por report (GET /reports/{id}/history): seek em (created_at, id)
+-- dentro de um report sem ordenar todas as entradas dele
+CREATE INDEX IF NOT EXISTS idx_status_history_report_created
+  ON status_history (report_id, created_at, id);
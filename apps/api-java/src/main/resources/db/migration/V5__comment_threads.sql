@@ -0,0 +1,13 @@
+-- Comentários por report (GET/POST /reports/{id}/comments)
+
+-- Seek em (created_at, id) dentro de um report: o índice passa a cobrir a ordenação
+DROP INDEX IF EXISTS idx_comment_report;
+CREATE INDEX IF NOT EXISTS idx_comment_report ON comments (report_id, created_at, id);
+
+-- Contador de comentários por report, mantido pela aplicação
+ALTER TABLE reports ADD COLUMN IF NOT EXISTS comment_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE reports r
+   SET comment_count = c.total
+  FROM (SELECT report_id, COUNT(*) AS total FROM comments GROUP BY report_id) c
+ WHERE c.report_id = r.id;
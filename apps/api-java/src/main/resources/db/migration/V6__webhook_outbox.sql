@@ -0,0 +1,29 @@
+-- Webhooks de operadores por localização e outbox de entregas (relay em WebhookRelay)
+
+CREATE TABLE IF NOT EXISTS webhook_endpoints (
+    id VARCHAR(255) PRIMARY KEY,
+    url VARCHAR(2048) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    location_id VARCHAR(255) NOT NULL REFERENCES locations(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_webhook_endpoint_location ON webhook_endpoints (location_id);
+
+CREATE TABLE IF NOT EXISTS webhook_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    endpoint_id VARCHAR(255) NOT NULL REFERENCES webhook_endpoints(id) ON DELETE CASCADE,
+    report_id VARCHAR(255) NOT NULL,
+    author_id VARCHAR(255) NOT NULL,
+    location_id VARCHAR(255) NOT NULL,
+    category_id VARCHAR(255) NOT NULL,
+    previous_status VARCHAR(50),
+    new_status VARCHAR(50) NOT NULL,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE,
+    last_error VARCHAR(500)
+);
+
+-- Fila do relay: só as linhas ainda com nova tentativa prevista
+CREATE INDEX IF NOT EXISTS idx_webhook_outbox_due ON webhook_outbox (next_attempt_at, id)
+    WHERE next_attempt_at IS NOT NULL;
@@ -0,0 +1,8 @@
+-- Duplicados: report original apontado na criação ou por POST /reports/{id}/merge
+
+ALTER TABLE reports ADD COLUMN IF NOT EXISTS duplicate_of_id VARCHAR(255)
+    REFERENCES reports (id) ON DELETE SET NULL;
+
+-- Mesclagem busca e reaponta os duplicados de um report; a maioria dos reports não tem original
+CREATE INDEX IF NOT EXISTS idx_report_duplicate_of ON reports (duplicate_of_id)
+    WHERE duplicate_of_id IS NOT NULL;
@@ -0,0 +1,13 @@
+-- Idempotency-Key de POST /reports e PATCH /reports/{id}/status
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash    VARCHAR(64) NOT NULL,
+    response_body   TEXT,
+    locked_until    TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL,
+    expires_at      TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Limpeza periódica das chaves vencidas
+CREATE INDEX IF NOT EXISTS idx_idempotency_expires ON idempotency_keys (expires_at);
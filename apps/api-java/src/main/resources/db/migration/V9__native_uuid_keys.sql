@@ -0,0 +1,66 @@
+-- Chaves VARCHAR(255) com UUID em texto (36 bytes + cabeçalho) passam para uuid nativo (16 bytes).
+-- Os ids existentes (v4) são convertidos como estão; os novos são v7, gerados pela aplicação.
+-- ALTER ... TYPE reescreve as tabelas e seus índices: rodar em janela de manutenção.
+
+-- As FKs criadas pelo Hibernate têm nomes gerados; remove todas as que apontam para as tabelas
+-- convertidas e recria abaixo com nomes fixos
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN
+        SELECT conrelid::regclass AS tbl, conname
+          FROM pg_constraint
+         WHERE contype = 'f'
+           AND confrelid IN ('users'::regclass, 'locations'::regclass, 'categories'::regclass,
+                             'reports'::regclass, 'webhook_endpoints'::regclass)
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.tbl, fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE users ALTER COLUMN id TYPE uuid USING id::uuid;
+
+ALTER TABLE categories ALTER COLUMN id TYPE uuid USING id::uuid;
+
+ALTER TABLE locations
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN admin_id TYPE uuid USING admin_id::uuid;
+
+ALTER TABLE reports
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN author_id TYPE uuid USING author_id::uuid,
+    ALTER COLUMN location_id TYPE uuid USING location_id::uuid,
+    ALTER COLUMN category_id TYPE uuid USING category_id::uuid,
+    ALTER COLUMN duplicate_of_id TYPE uuid USING duplicate_of_id::uuid;
+
+ALTER TABLE status_history
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN report_id TYPE uuid USING report_id::uuid,
+    ALTER COLUMN updated_by TYPE uuid USING updated_by::uuid;
+
+ALTER TABLE comments
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN report_id TYPE uuid USING report_id::uuid,
+    ALTER COLUMN author_id TYPE uuid USING author_id::uuid;
+
+ALTER TABLE webhook_endpoints
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN location_id TYPE uuid USING location_id::uuid;
+
+ALTER TABLE webhook_outbox ALTER COLUMN endpoint_id TYPE uuid USING endpoint_id::uuid;
+
+ALTER TABLE locations ADD CONSTRAINT fk_locations_admin FOREIGN KEY (admin_id) REFERENCES users (id);
+ALTER TABLE reports ADD CONSTRAINT fk_reports_author FOREIGN KEY (author_id) REFERENCES users (id);
+ALTER TABLE reports ADD CONSTRAINT fk_reports_location FOREIGN KEY (location_id) REFERENCES locations (id);
+ALTER TABLE reports ADD CONSTRAINT fk_reports_category FOREIGN KEY (category_id) REFERENCES categories (id);
+ALTER TABLE reports ADD CONSTRAINT fk_reports_duplicate_of FOREIGN KEY (duplicate_of_id)
+    REFERENCES reports (id) ON DELETE SET NULL;
+ALTER TABLE status_history ADD CONSTRAINT fk_status_history_report FOREIGN KEY (report_id) REFERENCES reports (id);
+ALTER TABLE status_history ADD CONSTRAINT fk_status_history_user FOREIGN KEY (updated_by) REFERENCES users (id);
+ALTER TABLE comments ADD CONSTRAINT fk_comments_report FOREIGN KEY (report_id) REFERENCES reports (id);
+ALTER TABLE comments ADD CONSTRAINT fk_comments_author FOREIGN KEY (author_id) REFERENCES users (id);
+ALTER TABLE webhook_endpoints ADD CONSTRAINT fk_webhook_endpoints_location FOREIGN KEY (location_id)
+    REFERENCES locations (id) ON DELETE CASCADE;
+ALTER TABLE webhook_outbox ADD CONSTRAINT fk_webhook_outbox_endpoint FOREIGN KEY (endpoint_id)
+    REFERENCES webhook_endpoints (id) ON DELETE CASCADE;
@@ -0,0 +1,146 @@
+package com.tickets.api.config;
+
+import com.tickets.api.dto.report.CreateReportDto;
+import com.tickets.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(123_456_789L);
+    private SimpleMeterRegistry registry;
+    private RateLimiter limiter;
+    private RateLimiter.Limit create;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setMethod("POST");
+        rule.setPath("/reports");
+        rule.setRequestsPerMinute(60);
+        rule.setBurst(3);
+        properties.getRules().put("create-report", rule);
+        RateLimitProperties.Rule batch = new RateLimitProperties.Rule();
+        batch.setMethod("POST");
+        batch.setPath("/reports/batch");
+        batch.setPerItem(true);
+        batch.setRequestsPerMinute(60);
+        batch.setBurst(4);
+        properties.getRules().put("create-report-batch", batch);
+
+        registry = new SimpleMeterRegistry();
+        limiter = new RateLimiter(properties, registry, clock::get);
+        create = limiter.limitFor("POST", "/reports");
+    }
+
+    @Test
+    void burstIsAllowedThenRefillsAtTheConfiguredRate() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(create, "ip:1"));
+        }
+        // 60/min: a próxima cabe em 1 s
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire(create, "ip:1"));
+        assertEquals(0, limiter.tryAcquire(create, "ip:2"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertTrue(limiter.tryAcquire(create, "ip:1") > 0);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire(create, "ip:1"));
+
+        assertEquals(5.0, registry.get("tickets.ratelimit.requests").tags("rule", "create-report", "outcome", "ALLOWED")
+                .counter().count());
+        assertEquals(2.0, registry.get("tickets.ratelimit.requests").tags("rule", "create-report", "outcome", "REJECTED")
+                .counter().count());
+    }
+
+    @Test
+    void evictIdle_dropsOnlyBucketsThatAreFullAgain() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(create, "ip:1");
+        }
+        limiter.tryAcquire(create, "ip:2");
+        assertEquals(2, limiter.size());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        limiter.evictIdle();
+        assertEquals(1, limiter.size());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.evictIdle();
+        assertEquals(0, limiter.size());
+        assertEquals(0.0, registry.get("tickets.ratelimit.buckets").gauge().value());
+    }
+
+    @Test
+    void interceptor_limitsOnlyConfiguredRoutesAndReportsRetryAfter() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter);
+        MockHttpServletRequest post = request("POST", "/reports");
+        for (int i = 0; i < 3; i++) {
+            assertTrue(interceptor.preHandle(post, new MockHttpServletResponse(), null));
+        }
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(post, new MockHttpServletResponse(), null));
+        assertEquals(1, ex.getRetryAfterSeconds());
+
+        MockHttpServletRequest get = request("GET", "/reports");
+        for (int i = 0; i < 10; i++) {
+            assertTrue(interceptor.preHandle(get, new MockHttpServletResponse(), null));
+        }
+    }
+
+    @Test
+    void batchConsumesOneTokenPerItemFromTheIpAndEachAuthor() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter);
+        RateLimitBodyAdvice advice = new RateLimitBodyAdvice(limiter);
+        MockHttpServletRequest post = request("POST", "/reports/batch");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(post));
+        try {
+            // O interceptor não sabe quantos itens vêm no corpo
+            for (int i = 0; i < 10; i++) {
+                assertTrue(interceptor.preHandle(post, new MockHttpServletResponse(), null));
+            }
+            advice.afterBodyRead(List.of(item("a"), item("a"), item("a"), item("b")), null, null, null, null);
+
+            // IP e autor "a" sem espaço para mais um item; "b" ainda tem 3
+            RateLimiter.Limit batch = limiter.limitFor("POST", "/reports/batch");
+            assertTrue(limiter.tryAcquire(batch, "ip:10.0.0.1") > 0);
+            assertEquals(0, limiter.tryAcquire(batch, "author:a"));
+            assertTrue(limiter.tryAcquire(batch, "author:a") > 0);
+            assertEquals(0, limiter.tryAcquire(batch, "author:b", 3));
+
+            // Lote que não cabe não consome nada
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            assertThrows(TooManyRequestsException.class,
+                    () -> advice.afterBodyRead(List.of(item("c"), item("c")), null, null, null, null));
+            assertEquals(0, limiter.tryAcquire(batch, "ip:10.0.0.1"));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static CreateReportDto item(String authorId) {
+        CreateReportDto dto = new CreateReportDto();
+        dto.setAuthorId(authorId);
+        return dto;
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setRemoteAddr("10.0.0.1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
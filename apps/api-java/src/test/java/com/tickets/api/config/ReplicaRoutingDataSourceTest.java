@@ -0,0 +1,190 @@
+package com.tickets.api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final long WINDOW_MS = 5000;
+
+    private final AtomicBoolean replicaDown = new AtomicBoolean();
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final AtomicInteger primaryConnections = new AtomicInteger();
+    private SimpleMeterRegistry registry;
+    private ReplicaSet.Replica replica;
+    private ReplicaSet replicaSet;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate write;
+    private TransactionTemplate read;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDb = database("primary");
+        DataSource primary = new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                primaryConnections.incrementAndGet();
+                return primaryDb.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        DataSource replicaDb = database("replica");
+        registry = new SimpleMeterRegistry();
+        replica = new ReplicaSet.Replica("replica-0", new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (replicaDown.get()) {
+                    throw new SQLException("Connection refused");
+                }
+                return replicaDb.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) {
+                throw new UnsupportedOperationException();
+            }
+        });
+        replicaSet = new ReplicaSet(primary, List.of(replica), 1024, registry);
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replicaSet, WINDOW_MS, registry, now::get));
+
+        jdbc = new JdbcTemplate(routing);
+        write = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        read = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        read.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.end();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndTheRestToPrimary() {
+        // o proxy já abriu uma conexão no primário ao ser criado, para ler autocommit e isolamento
+        double writes = routed("PRIMARY_WRITE");
+        assertEquals("replica", whoami(read));
+        assertEquals("primary", whoami(write));
+        assertEquals("primary", jdbc.queryForObject("SELECT name FROM whoami", String.class));
+        assertEquals(1, routed("REPLICA"));
+        assertEquals(writes + 2, routed("PRIMARY_WRITE"));
+    }
+
+    @Test
+    void failsOverToPrimaryWhileReplicaIsDownAndReturnsAfterHealthCheck() {
+        replicaDown.set(true);
+        assertEquals("primary", whoami(read));
+        assertFalse(replica.healthy);
+        assertEquals(1, routed("PRIMARY_FAILOVER"));
+
+        assertEquals("primary", whoami(read));
+        assertEquals(1, routed("PRIMARY_NO_REPLICA"));
+
+        replicaSet.check();
+        assertFalse(replica.healthy);
+
+        replicaDown.set(false);
+        replicaSet.check();
+        assertTrue(replica.healthy);
+        assertEquals("replica", whoami(read));
+    }
+
+    @Test
+    void readsAfterWriteStayOnPrimaryUntilWindowEnds() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ReadYourWrites.begin(response, null, now.get(), WINDOW_MS);
+        assertEquals("replica", whoami(read));
+
+        write.executeWithoutResult(status -> jdbc.update("UPDATE whoami SET name = name"));
+        // H2 não informa posição do WAL: dentro da janela, só o primário tem a escrita com certeza
+        assertEquals("primary", whoami(read));
+        assertEquals(1, routed("PRIMARY_STICKY"));
+        Cookie cookie = response.getCookie(ReadYourWrites.COOKIE);
+        assertNotNull(cookie);
+        assertEquals((now.get() + WINDOW_MS) + "-0", cookie.getValue());
+
+        now.addAndGet(WINDOW_MS);
+        assertEquals("replica", whoami(read));
+    }
+
+    @Test
+    void writePositionIsReadOnTheTransactionsOwnConnection() {
+        ReadYourWrites.begin(new MockHttpServletResponse(), null, now.get(), WINDOW_MS);
+        int before = primaryConnections.get();
+
+        write.executeWithoutResult(status -> jdbc.update("UPDATE whoami SET name = name"));
+
+        // Nenhuma segunda conexão do primário após o commit (com o pool cheio, ela esperaria o timeout)
+        assertEquals(before + 1, primaryConnections.get());
+    }
+
+    @Test
+    void cookieWithPositionAllowsReplicaThatAlreadyReplayedIt() {
+        ReadYourWrites.begin(new MockHttpServletResponse(), (now.get() + 1000) + "-10", now.get(), WINDOW_MS);
+
+        replica.replayLsn = 0x0f;
+        assertEquals("primary", whoami(read));
+        replica.replayLsn = 0x10;
+        assertEquals("replica", whoami(read));
+    }
+
+    @Test
+    void cookieWindowIsCappedAndGarbageIgnored() {
+        ReadYourWrites.begin(null, Long.MAX_VALUE + "-10", now.get(), WINDOW_MS);
+        assertEquals(0x10, ReadYourWrites.current().requiredLsn(now.get()));
+        assertEquals(-1, ReadYourWrites.current().requiredLsn(now.get() + WINDOW_MS));
+
+        ReadYourWrites.begin(null, "lixo", now.get(), WINDOW_MS);
+        assertEquals(-1, ReadYourWrites.current().requiredLsn(now.get()));
+    }
+
+    @Test
+    void parsesPostgresLsn() {
+        assertEquals(0x16B374D848L, ReplicaSet.parseLsn("16/B374D848"));
+        assertEquals(0, ReplicaSet.parseLsn("0/0"));
+    }
+
+    private String whoami(TransactionTemplate tx) {
+        return tx.execute(status -> jdbc.queryForObject("SELECT name FROM whoami", String.class));
+    }
+
+    private double routed(String route) {
+        return registry.get("tickets.db.routing").tag("route", route).counter().count();
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE whoami (name VARCHAR(20))");
+        jdbc.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,60 @@
+package com.tickets.api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class SqlStatementMetricsFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private SqlStatementCounter counter;
+    private SqlStatementMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        counter = new SqlStatementCounter();
+        filter = new SqlStatementMetricsFilter(counter, registry);
+    }
+
+    @Test
+    void recordsStatementsPerRequestWithRoutePatternAndStatusFilter() throws Exception {
+        // resíduo de uma requisição anterior na mesma thread não deve contar
+        counter.inspect("select 1");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/reports");
+        request.setParameter("status", "IN_ANALYSIS");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/reports");
+            counter.inspect("select ... from report");
+            counter.inspect("select count(*) from report");
+        });
+
+        DistributionSummary summary = registry.find("tickets.http.sql.statements")
+                .tags("uri", "/reports", "method", "GET", "status.filter", "IN_ANALYSIS", "outcome", "SUCCESS")
+                .summary();
+        assertNotNull(summary);
+        assertEquals(1, summary.count());
+        assertEquals(2.0, summary.totalAmount());
+    }
+
+    @Test
+    void unknownStatusAndUnmatchedRouteFallBackToFixedTagValues() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/nope");
+        request.setParameter("status", "qualquer-coisa");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(404);
+        filter.doFilter(request, response, (req, res) -> {});
+
+        assertNotNull(registry.find("tickets.http.sql.statements")
+                .tags("uri", "UNKNOWN", "status.filter", "ALL", "outcome", "CLIENT_ERROR")
+                .summary());
+    }
+}
@@ -0,0 +1,56 @@
+package com.tickets.api.controller;
+
+import com.tickets.api.service.CategoryCatalog;
+import com.tickets.api.service.CategoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryControllerTest {
+
+    private static final String ETAG = "\"abc123\"";
+    private static final byte[] JSON = "[{\"id\":\"c1\",\"name\":\"Elevador\"}]".getBytes(StandardCharsets.UTF_8);
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @InjectMocks
+    private CategoryController categoryController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(categoryController).build();
+        when(categoryService.getCatalog()).thenReturn(new CategoryCatalog.Snapshot(1, List.of(), JSON, ETAG));
+    }
+
+    @Test
+    void getAll_shouldServePreEncodedJsonWithEtag() throws Exception {
+        mockMvc.perform(get("/categories"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(jsonPath("$[0].name").value("Elevador"));
+    }
+
+    @Test
+    void getAll_withMatchingIfNoneMatch_shouldReturn304() throws Exception {
+        mockMvc.perform(get("/categories").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+}
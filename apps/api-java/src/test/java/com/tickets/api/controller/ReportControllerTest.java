@@ -1,10 +1,14 @@
 package com.tickets.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickets.api.dto.common.CursorPageResponseDto;
+import com.tickets.api.dto.common.PageResponseDto;
+import com.tickets.api.dto.common.ResourceVersion;
 import com.tickets.api.dto.report.CreateReportDto;
 import com.tickets.api.dto.report.ReportResponseDto;
 import com.tickets.api.dto.report.UpdateStatusDto;
 import com.tickets.api.model.enums.ReportStatus;
+import com.tickets.api.service.IdempotencyService;
 import com.tickets.api.service.ReportService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,13 +16,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,12 +43,17 @@ class ReportControllerTest {
     @Mock
     private ReportService reportService;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
     @InjectMocks
     private ReportController reportController;
 
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(reportController).build();
+        lenient().when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                .thenAnswer(inv -> inv.<Supplier<?>>getArgument(4).get());
     }
 
     @Test
@@ -78,4 +95,84 @@ class ReportControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("RESOLVED_CONFIRMED"));
     }
+
+    @Test
+    void getById_withMatchingIfNoneMatch_shouldReturn304WithoutLoadingReport() throws Exception {
+        ResourceVersion version = ResourceVersion.of("r3", Instant.parse("2024-05-01T10:00:00.123456Z"));
+        when(reportService.findVersion("r3")).thenReturn(version);
+
+        mockMvc.perform(get("/reports/r3").header(HttpHeaders.IF_NONE_MATCH, version.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, version.etag()));
+
+        verify(reportService, never()).findById(any());
+    }
+
+    @Test
+    void getById_withStaleIfNoneMatch_shouldReturn200WithValidators() throws Exception {
+        ResourceVersion version = ResourceVersion.of("r3", Instant.parse("2024-05-01T10:00:00.123456Z"));
+        ReportResponseDto res = new ReportResponseDto();
+        res.setId("r3");
+        when(reportService.findVersion("r3")).thenReturn(version);
+        when(reportService.findById("r3")).thenReturn(res);
+
+        mockMvc.perform(get("/reports/r3").header(HttpHeaders.IF_NONE_MATCH, "W/\"r3-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, version.etag()))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.id").value("r3"));
+    }
+
+    @Test
+    void getCursorPage_withEtagOfTheSamePage_shouldReturn304FromThePageAlone() throws Exception {
+        ReportResponseDto row = new ReportResponseDto();
+        row.setId("r4");
+        row.setUpdatedAt(Instant.parse("2024-05-01T10:00:00Z"));
+        when(reportService.findAllByCursor(any(), any(), anyBoolean(), any(), any(), any(), any(), anyBoolean()))
+                .thenReturn(new CursorPageResponseDto<>(List.of(row), "next", 1, null));
+
+        String etag = mockMvc.perform(get("/reports").param("cursor", ""))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/reports").param("cursor", "").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        row.setUpdatedAt(row.getUpdatedAt().plusSeconds(1));
+        mockMvc.perform(get("/reports").param("cursor", "").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+
+        verify(reportService, times(3)).findAllByCursor(any(), any(), eq(false), any(), any(), any(), any(), eq(false));
+        verifyNoMoreInteractions(reportService);
+    }
+
+    @Test
+    void getPage_etagShouldChangeWithTheTotal() throws Exception {
+        ReportResponseDto row = new ReportResponseDto();
+        row.setId("r5");
+        row.setUpdatedAt(Instant.parse("2024-05-01T10:00:00Z"));
+        when(reportService.findAll(any(), any(), any(), any(), any(), any(), anyBoolean()))
+                .thenReturn(new PageResponseDto<>(List.of(row), 1, 1, 10, 1))
+                .thenReturn(new PageResponseDto<>(List.of(row), 2, 1, 10, 1));
+
+        String etag = mockMvc.perform(get("/reports"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/reports").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void getPage_includeArchivedIsOffByDefaultAndPassedThrough() throws Exception {
+        when(reportService.findAll(any(), any(), any(), any(), any(), any(), anyBoolean()))
+                .thenReturn(new PageResponseDto<>(List.of(), 0, 1, 10, 0));
+
+        mockMvc.perform(get("/reports")).andExpect(status().isOk());
+        mockMvc.perform(get("/reports").param("includeArchived", "true")).andExpect(status().isOk());
+
+        verify(reportService).findAll(null, null, null, null, null, null, false);
+        verify(reportService).findAll(null, null, null, null, null, null, true);
+    }
 }
@@ -0,0 +1,37 @@
+package com.tickets.api.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_isVersion7AndStrictlyIncreasingEvenWithinTheSameMillisecond() {
+        long before = System.currentTimeMillis();
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 10_000; i++) {
+            UUID current = UuidV7Generator.next();
+            assertEquals(7, current.version());
+            assertEquals(2, current.variant());
+            // Ordem do texto = ordem do uuid no Postgres (bytes sem sinal)
+            assertTrue(current.toString().compareTo(previous.toString()) > 0, current + " <= " + previous);
+            previous = current;
+        }
+        long millis = previous.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 10);
+    }
+
+    @Test
+    void parse_mapsAnythingButACanonicalUuidToNil() {
+        UUID id = UuidV7Generator.next();
+
+        assertEquals(id, UuidStringJavaType.parse(id.toString()));
+        assertEquals(UuidStringJavaType.NIL, UuidStringJavaType.parse(id.toString().toUpperCase()));
+        assertEquals(UuidStringJavaType.NIL, UuidStringJavaType.parse("abc"));
+        assertEquals(UuidStringJavaType.NIL, UuidStringJavaType.parse("1-1-1-1-1"));
+        assertEquals(UuidStringJavaType.NIL, UuidStringJavaType.parse("zzzzzzzz-zzzz-zzzz-zzzz-zzzzzzzzzzzz"));
+    }
+}
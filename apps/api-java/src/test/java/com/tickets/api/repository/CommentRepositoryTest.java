@@ -0,0 +1,147 @@
+package com.tickets.api.repository;
+
+import com.tickets.api.dto.comment.CommentResponseDto;
+import com.tickets.api.dto.comment.CreateCommentDto;
+import com.tickets.api.dto.common.CursorPageResponseDto;
+import com.tickets.api.exception.ResourceNotFoundException;
+import com.tickets.api.model.entity.Category;
+import com.tickets.api.model.entity.Comment;
+import com.tickets.api.model.entity.Location;
+import com.tickets.api.model.entity.Report;
+import com.tickets.api.model.entity.User;
+import com.tickets.api.model.enums.CategoryType;
+import com.tickets.api.service.CommentService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CommentRepositoryTest {
+
+    private static final int COMMENTS = 25;
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ReportRepository reportRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private CommentService service;
+    private Statistics statistics;
+    private String reportId;
+    private String authorId;
+
+    @BeforeEach
+    void setUp() {
+        Location loc = Location.builder().name("Loc").address("Rua").latitude(-23.5).longitude(-46.6)
+                .type("Estação de Metrô").build();
+        Category cat = Category.builder().name("Cat").type(CategoryType.ELEVATOR).build();
+        em.persist(loc);
+        em.persist(cat);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User u = User.builder().email("u" + i + "@test.com").name("User " + i).build();
+            em.persist(u);
+            users.add(u);
+        }
+        Report report = Report.builder().title("t").description("d").author(users.get(0)).location(loc).category(cat)
+                .commentCount(COMMENTS).build();
+        em.persist(report);
+
+        // comentário i acontece i minutos depois do início; pares com o mesmo instante testam o desempate por id
+        for (int i = 0; i < COMMENTS; i++) {
+            Comment c = Comment.builder().content("c" + i).report(report).author(users.get(i % 5)).build();
+            em.persist(c);
+            em.flush();
+            em.createQuery("UPDATE Comment c SET c.createdAt = :t WHERE c.id = :id")
+                    .setParameter("t", START.plus(i / 2, ChronoUnit.MINUTES))
+                    .setParameter("id", c.getId())
+                    .executeUpdate();
+        }
+        em.flush();
+        em.clear();
+
+        reportId = report.getId();
+        authorId = users.get(1).getId();
+        service = new CommentService(commentRepository, reportRepository, userRepository);
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findByReport_pageCostsThreeStatementsAndCursorWalksInChronologicalOrder() {
+        List<CommentResponseDto> all = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            statistics.clear();
+            CursorPageResponseDto<CommentResponseDto> page = service.findByReport(reportId, cursor, 10);
+            // contador + comentários + autores; Report e Report.comments nunca são carregados
+            assertEquals(3, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getCollectionLoadCount());
+            assertEquals(COMMENTS, page.getTotal());
+            all.addAll(page.getData());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(COMMENTS, all.stream().map(CommentResponseDto::getId).distinct().count());
+        for (int i = 1; i < all.size(); i++) {
+            CommentResponseDto prev = all.get(i - 1);
+            CommentResponseDto cur = all.get(i);
+            assertTrue(prev.getCreatedAt().isBefore(cur.getCreatedAt())
+                    || (prev.getCreatedAt().equals(cur.getCreatedAt()) && prev.getId().compareTo(cur.getId()) < 0));
+        }
+        assertTrue(all.stream().allMatch(c -> c.getAuthorName() != null && c.getReportId().equals(reportId)));
+    }
+
+    @Test
+    void create_incrementsCountWithoutLoadingReport() {
+        CreateCommentDto dto = new CreateCommentDto();
+        dto.setContent("novo");
+        dto.setAuthorId(authorId);
+
+        CommentResponseDto created = service.create(reportId, dto);
+        em.flush();
+
+        assertEquals("User 1", created.getAuthorName());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertFalse(statistics.getEntityStatistics(Report.class.getName()).getLoadCount() > 0);
+        assertEquals(COMMENTS + 1, reportRepository.findCommentCount(reportId).orElseThrow());
+    }
+
+    @Test
+    void unknownReportIsNotFound() {
+        CreateCommentDto dto = new CreateCommentDto();
+        dto.setContent("x");
+        dto.setAuthorId(authorId);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.findByReport("nao-existe", null, 10));
+        assertThrows(ResourceNotFoundException.class, () -> service.create("nao-existe", dto));
+    }
+}
@@ -0,0 +1,122 @@
+package com.tickets.api.repository;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.tickets.api.config.EntityCacheInvalidator;
+import com.tickets.api.config.SecondLevelCacheConfig;
+import com.tickets.api.model.entity.Category;
+import com.tickets.api.model.entity.User;
+import com.tickets.api.model.enums.CategoryType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "cache.entities.max-entries=100"
+})
+@Import(SecondLevelCacheConfig.class)
+// O Hibernate não guarda no cache o que a transação ainda aberta inseriu: cada operação aqui commita
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EntityManagerFactory emf;
+    @Autowired
+    private CacheManager entityCacheManager;
+
+    private Statistics statistics;
+    private String userId;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userId = userRepository.save(User.builder().email("ana@example.com").name("Ana").build()).getId();
+        emf.getCache().evictAll();
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findByIdIsServedFromCacheAfterFirstLoad() {
+        userRepository.findById(userId).orElseThrow();
+        User again = userRepository.findById(userId).orElseThrow();
+
+        assertEquals("Ana", again.getName());
+        assertEquals(1, statistics.getSecondLevelCacheMissCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findByEmailResolvesIdFromNaturalIdCache() {
+        assertEquals(userId, userRepository.findByEmail("ana@example.com").orElseThrow().getId());
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals(userId, userRepository.findByEmail("ana@example.com").orElseThrow().getId());
+
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(userRepository.findByEmail("nada@example.com").isEmpty());
+    }
+
+    @Test
+    void changedEmailIsFoundByNewValueOnly() {
+        User user = userRepository.findByEmail("ana@example.com").orElseThrow();
+        user.setEmail("ana.souza@example.com");
+        userRepository.save(user);
+
+        assertTrue(userRepository.findByEmail("ana@example.com").isEmpty());
+        assertEquals(userId, userRepository.findByEmail("ana.souza@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void categoriesAreCachedInBoundedRegion() {
+        Category category = categoryRepository.save(Category.builder().name("Acessibilidade")
+                .type(CategoryType.ACCESSIBILITY).build());
+        emf.getCache().evictAll();
+        categoryRepository.findById(category.getId()).orElseThrow();
+
+        assertTrue(emf.getCache().contains(Category.class, category.getId()));
+        CaffeineConfiguration<?, ?> config = entityCacheManager.getCache("categories")
+                .getConfiguration(CaffeineConfiguration.class);
+        assertEquals(100, config.getMaximumSize().orElseThrow());
+        assertTrue(config.getExpireAfterWrite().isPresent());
+    }
+
+    @Test
+    void notificationFromAnotherInstanceEvictsEntityAndEmailLookup() {
+        userRepository.findByEmail("ana@example.com").orElseThrow();
+        assertTrue(emf.getCache().contains(User.class, userId));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EntityCacheInvalidator invalidator = new EntityCacheInvalidator(emf, new DataSourceProperties(), 0, registry);
+        invalidator.invalidate("users:" + userId);
+        invalidator.invalidate("reports:" + userId);
+
+        assertFalse(emf.getCache().contains(User.class, userId));
+        statistics.clear();
+        userRepository.findByEmail("ana@example.com").orElseThrow();
+        assertEquals(0, statistics.getNaturalIdCacheHitCount());
+        assertEquals(1, registry.get("tickets.cache.invalidations").tag("table", "users").counter().count());
+    }
+}
@@ -0,0 +1,118 @@
+package com.tickets.api.repository;
+
+import com.tickets.api.model.entity.Category;
+import com.tickets.api.model.entity.Location;
+import com.tickets.api.model.entity.Report;
+import com.tickets.api.model.entity.ReportCounter;
+import com.tickets.api.model.entity.ReportCounterId;
+import com.tickets.api.model.entity.User;
+import com.tickets.api.model.enums.CategoryType;
+import com.tickets.api.model.enums.CounterDimension;
+import com.tickets.api.model.enums.ReportStatus;
+import com.tickets.api.service.ReportCounters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+class ReportCounterRepositoryTest {
+
+    @Autowired
+    private ReportCounterRepository counterRepository;
+    @Autowired
+    private EntityManager em;
+
+    private ReportCounters counters;
+    private String locationId;
+    private String pendingCategoryId;
+    private String archivedCategoryId;
+
+    @BeforeEach
+    void setUp() {
+        User author = User.builder().email("u@test.com").name("User").build();
+        Location loc = Location.builder().name("Loc").address("Rua").latitude(-23.5).longitude(-46.6)
+                .type("Estação de Metrô").build();
+        Category pending = Category.builder().name("Cat 1").type(CategoryType.ELEVATOR).build();
+        Category archived = Category.builder().name("Cat 2").type(CategoryType.ELEVATOR).build();
+        em.persist(author);
+        em.persist(loc);
+        em.persist(pending);
+        em.persist(archived);
+        for (int i = 0; i < 3; i++) {
+            em.persist(Report.builder().title("t" + i).description("d" + i)
+                    .author(author).location(loc).category(pending).build());
+        }
+        em.persist(Report.builder().title("t3").description("d3").status(ReportStatus.ARCHIVED)
+                .author(author).location(loc).category(archived).build());
+        em.flush();
+        locationId = loc.getId();
+        pendingCategoryId = pending.getId();
+        archivedCategoryId = archived.getId();
+
+        // O upsert do repositório é sintaxe do Postgres (ON CONFLICT); no H2 vira MERGE, e o
+        // advisory lock é sempre obtido. O resto (snapshot, entidades, flush) é o do repositório
+        ReportCounterRepository repository = mock(ReportCounterRepository.class, delegatesTo(counterRepository));
+        doReturn(true).when(repository).tryLockForReconcile(anyLong());
+        doAnswer(inv -> em.createNativeQuery("MERGE INTO report_counters (dimension, dimension_id, status, count) " +
+                        "KEY (dimension, dimension_id, status) VALUES (?1, ?2, ?3, COALESCE((SELECT count " +
+                        "FROM report_counters WHERE dimension = ?1 AND dimension_id = ?2 AND status = ?3), 0) + ?4)")
+                .setParameter(1, inv.getArgument(0))
+                .setParameter(2, inv.getArgument(1))
+                .setParameter(3, inv.getArgument(2))
+                .setParameter(4, inv.<Long>getArgument(3))
+                .executeUpdate())
+                .when(repository).increment(anyString(), anyString(), anyString(), anyLong());
+        counters = new ReportCounters(repository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void reconcile_fixesADriftedTableInPlace() {
+        // Um PENDING global a menos, uma chave que não existe mais e nenhuma linha para ARCHIVED:
+        // era o caso em que a reconstrução falhava com StaleStateException
+        counterRepository.save(counter(CounterDimension.GLOBAL, "", ReportStatus.PENDING, 2));
+        counterRepository.save(counter(CounterDimension.LOCATION, locationId, ReportStatus.PENDING, 3));
+        counterRepository.save(counter(CounterDimension.CATEGORY, pendingCategoryId, ReportStatus.PENDING, 3));
+        counterRepository.save(counter(CounterDimension.LOCATION, "removida", ReportStatus.PENDING, 4));
+        em.flush();
+        em.clear();
+
+        long drift = counters.reconcile();
+        em.flush();
+        em.clear();
+
+        assertEquals(1 + 4 + 3, drift);
+        Map<ReportCounterId, Long> table = new HashMap<>();
+        counterRepository.findAll().forEach(c -> table.put(c.getId(), c.getCount()));
+        assertEquals(Map.of(
+                new ReportCounterId(CounterDimension.GLOBAL, "", ReportStatus.PENDING), 3L,
+                new ReportCounterId(CounterDimension.GLOBAL, "", ReportStatus.ARCHIVED), 1L,
+                new ReportCounterId(CounterDimension.LOCATION, locationId, ReportStatus.PENDING), 3L,
+                new ReportCounterId(CounterDimension.LOCATION, locationId, ReportStatus.ARCHIVED), 1L,
+                new ReportCounterId(CounterDimension.LOCATION, "removida", ReportStatus.PENDING), 0L,
+                new ReportCounterId(CounterDimension.CATEGORY, pendingCategoryId, ReportStatus.PENDING), 3L,
+                new ReportCounterId(CounterDimension.CATEGORY, archivedCategoryId, ReportStatus.ARCHIVED), 1L), table);
+
+        // Tabela já corrigida: a próxima reconciliação não acha nada
+        assertEquals(0, counters.reconcile());
+    }
+
+    private static ReportCounter counter(CounterDimension dimension, String id, ReportStatus status, long count) {
+        return new ReportCounter(new ReportCounterId(dimension, id, status), count);
+    }
+}
@@ -0,0 +1,205 @@
+package com.tickets.api.repository;
+
+import com.tickets.api.dto.common.ResourceVersion;
+import com.tickets.api.dto.report.ReportResponseDto;
+import com.tickets.api.model.entity.Category;
+import com.tickets.api.model.entity.Location;
+import com.tickets.api.model.entity.Report;
+import com.tickets.api.model.entity.User;
+import com.tickets.api.model.enums.CategoryType;
+import com.tickets.api.model.enums.ReportStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ReportRepositoryTest {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Autor, localização e categoria distintos por report: é o pior caso para o N+1
+        for (int i = 0; i < PAGE_SIZE + 10; i++) {
+            User author = User.builder().email("u" + i + "@test.com").name("User " + i).build();
+            Location loc = Location.builder().name("Loc " + i).address("Rua " + i)
+                    .latitude(-23.5).longitude(-46.6).type("Estação de Metrô").build();
+            Category cat = Category.builder().name("Cat " + i).type(CategoryType.ELEVATOR).build();
+            em.persist(author);
+            em.persist(loc);
+            em.persist(cat);
+            em.persist(Report.builder().title("t" + i).description("d" + i)
+                    .author(author).location(loc).category(cat).build());
+        }
+        em.flush();
+        em.clear();
+
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findDtoByFilters_fullPageCostsTwoStatements() {
+        Page<ReportResponseDto> page = reportRepository.findDtoByFilters(null, null, null, null, false, PageRequest.of(0, PAGE_SIZE));
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertEquals(PAGE_SIZE + 10, page.getTotalElements());
+        page.getContent().forEach(dto -> {
+            assertNotNull(dto.getAuthorName());
+            assertNotNull(dto.getLocationName());
+            assertNotNull(dto.getCategoryName());
+        });
+        // um SELECT para a página + um COUNT, independente do tamanho da página
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void keysetPagination_visitsEveryRowOnceInOrder() {
+        int pageSize = 7;
+        List<ReportResponseDto> seen = new ArrayList<>();
+        List<ReportResponseDto> page = reportRepository.findDtoFirstPage(null, null, null, null, false, PageRequest.of(0, pageSize));
+        while (!page.isEmpty()) {
+            seen.addAll(page);
+            ReportResponseDto last = page.get(page.size() - 1);
+            page = reportRepository.findDtoPageAfter(null, null, null, null, false,
+                    last.getCreatedAt(), last.getId(), PageRequest.of(0, pageSize));
+        }
+
+        assertEquals(PAGE_SIZE + 10, seen.size());
+        assertEquals(PAGE_SIZE + 10, seen.stream().map(ReportResponseDto::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            ReportResponseDto prev = seen.get(i - 1);
+            ReportResponseDto cur = seen.get(i);
+            int cmp = prev.getCreatedAt().compareTo(cur.getCreatedAt());
+            assertTrue(cmp > 0 || (cmp == 0 && prev.getId().compareTo(cur.getId()) > 0));
+        }
+    }
+
+    @Test
+    void streamDtoByFilters_doesNotManageEntities() {
+        try (Stream<ReportResponseDto> rows = reportRepository.streamDtoByFilters(null, null, null, null, false)) {
+            assertEquals(PAGE_SIZE + 10, rows.filter(dto -> dto.getAuthorName() != null).count());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findDtoById_costsOneStatement() {
+        String id = reportRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        em.clear();
+        statistics.clear();
+
+        ReportResponseDto dto = reportRepository.findDtoById(id).orElseThrow();
+
+        assertEquals(id, dto.getId());
+        assertNotNull(dto.getAuthorName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findUpdatedAtById_followsCommentCountUpdates() {
+        String id = reportRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        Instant before = reportRepository.findUpdatedAtById(id).orElseThrow();
+        statistics.clear();
+
+        reportRepository.incrementCommentCount(id, before.plusSeconds(1));
+        Instant after = reportRepository.findUpdatedAtById(id).orElseThrow();
+
+        assertEquals(before.plusSeconds(1), after);
+        assertNotEquals(ResourceVersion.of(id, before), ResourceVersion.of(id, after));
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void repointDuplicates_movesChildrenOfMergedReportsToTheTarget() {
+        List<Report> reports = reportRepository.findAll(PageRequest.of(0, 4)).getContent();
+        Report target = reports.get(0);
+        Report merged = reports.get(1);
+        reports.get(2).setDuplicateOf(merged);
+        reports.get(3).setDuplicateOf(merged);
+        reportRepository.flush();
+        em.clear();
+
+        int updated = reportRepository.repointDuplicates(List.of(merged.getId()),
+                reportRepository.getReferenceById(target.getId()), Instant.now());
+
+        assertEquals(2, updated);
+        assertEquals(target.getId(), reportRepository.findDtoById(reports.get(2).getId()).orElseThrow().getDuplicateOfId());
+        assertNull(reportRepository.findDtoById(merged.getId()).orElseThrow().getDuplicateOfId());
+        assertEquals(List.of(reports.get(2).getId(), reports.get(3).getId()).stream().sorted().toList(),
+                reportRepository.findDuplicateIds(target.getId(), List.of(ReportStatus.PENDING), PageRequest.of(0, 10))
+                        .stream().sorted().toList());
+        assertEquals(PAGE_SIZE + 10, reportRepository.findTextByStatusInCreatedSince(
+                List.of(ReportStatus.PENDING), Instant.EPOCH).size());
+    }
+
+    @Test
+    void listQueriesSkipColdReportsUnlessArchivedAreIncluded() {
+        String id = reportRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        // No Postgres quem faz isto é o ReportArchiver (archiveClosedBefore)
+        em.createNativeQuery("UPDATE reports SET cold = true WHERE id = :id").setParameter("id", id).executeUpdate();
+        em.clear();
+
+        assertEquals(PAGE_SIZE + 9, reportRepository.countByFilters(null, null, null, null, false));
+        try (Stream<ReportResponseDto> rows = reportRepository.streamDtoByFilters(null, null, null, null, false)) {
+            assertTrue(rows.noneMatch(dto -> dto.getId().equals(id)));
+        }
+        assertTrue(reportRepository.findDtoFirstPage(null, null, null, null, false, PageRequest.of(0, PAGE_SIZE + 10))
+                .stream().noneMatch(dto -> dto.getId().equals(id)));
+
+        // includeArchived tira o filtro: o report volta na contagem, no export e nas páginas
+        assertEquals(PAGE_SIZE + 10, reportRepository.countByFilters(null, null, null, null, true));
+        try (Stream<ReportResponseDto> rows = reportRepository.streamDtoByFilters(null, null, null, null, true)) {
+            assertTrue(rows.anyMatch(dto -> dto.getId().equals(id)));
+        }
+        assertEquals(PAGE_SIZE + 10, reportRepository.findDtoByFilters(null, null, null, null, true,
+                PageRequest.of(0, PAGE_SIZE)).getTotalElements());
+        assertTrue(reportRepository.findDtoFirstPage(null, null, null, null, true, PageRequest.of(0, PAGE_SIZE + 10))
+                .stream().anyMatch(dto -> dto.getId().equals(id)));
+        assertTrue(reportRepository.findDtoById(id).isPresent());
+        assertTrue(reportRepository.findById(id).orElseThrow().isCold());
+        assertTrue(reportRepository.existsByIdAndColdTrue(id));
+    }
+
+    @Test
+    void idsOnlyMatchTheirCanonicalLowercaseText() {
+        String id = reportRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+
+        assertTrue(reportRepository.findById(id).isPresent());
+        // Como no VARCHAR: outro texto do mesmo uuid não é o mesmo id
+        assertTrue(reportRepository.findById(id.toUpperCase()).isEmpty());
+        assertTrue(reportRepository.findDtoById(id.toUpperCase()).isEmpty());
+    }
+}
@@ -0,0 +1,157 @@
+package com.tickets.api.repository;
+
+import com.tickets.api.dto.common.CursorPageResponseDto;
+import com.tickets.api.dto.report.StatusHistoryEntryDto;
+import com.tickets.api.model.entity.Category;
+import com.tickets.api.model.entity.Location;
+import com.tickets.api.model.entity.Report;
+import com.tickets.api.model.entity.StatusHistory;
+import com.tickets.api.model.entity.User;
+import com.tickets.api.model.enums.CategoryType;
+import com.tickets.api.model.enums.ReportStatus;
+import com.tickets.api.service.StatusHistoryService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class StatusHistoryRepositoryTest {
+
+    private static final int ENTRIES = 25;
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private StatusHistoryRepository statusHistoryRepository;
+    @Autowired
+    private ReportRepository reportRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private StatusHistoryService service;
+    private Statistics statistics;
+    private String reportId;
+    private String otherReportId;
+
+    @BeforeEach
+    void setUp() {
+        Location loc = Location.builder().name("Loc").address("Rua").latitude(-23.5).longitude(-46.6)
+                .type("Estação de Metrô").build();
+        Category cat = Category.builder().name("Cat").type(CategoryType.ELEVATOR).build();
+        em.persist(loc);
+        em.persist(cat);
+
+        // Um usuário diferente por mudança: é o pior caso para o N+1 em StatusHistory.user
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            User u = User.builder().email("u" + i + "@test.com").name("User " + i).build();
+            em.persist(u);
+            users.add(u);
+        }
+        Report report = Report.builder().title("t").description("d").author(users.get(0)).location(loc).category(cat).build();
+        Report other = Report.builder().title("t2").description("d2").author(users.get(0)).location(loc).category(cat).build();
+        em.persist(report);
+        em.persist(other);
+
+        // entrada i acontece i horas depois do início
+        for (int i = 0; i < ENTRIES; i++) {
+            persistHistory(report, users.get(i), i);
+        }
+        for (int i = 0; i < 3; i++) {
+            persistHistory(other, users.get(i), i);
+        }
+        em.flush();
+        em.clear();
+
+        reportId = report.getId();
+        otherReportId = other.getId();
+        service = new StatusHistoryService(statusHistoryRepository, reportRepository, userRepository);
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private void persistHistory(Report report, User user, int hour) {
+        StatusHistory h = StatusHistory.builder().report(report).user(user)
+                .status(hour % 2 == 0 ? ReportStatus.PENDING : ReportStatus.IN_ANALYSIS).comment("c" + hour).build();
+        em.persist(h);
+        em.flush();
+        // created_at não é atualizável pela entidade e o @CreatedDate usa o relógio: ajusta direto
+        em.createQuery("UPDATE StatusHistory h SET h.createdAt = :t WHERE h.id = :id")
+                .setParameter("t", START.plus(hour, ChronoUnit.HOURS))
+                .setParameter("id", h.getId())
+                .executeUpdate();
+    }
+
+    @Test
+    void findByReport_pageCostsTwoStatementsAndCursorCoversEveryEntryOnce() {
+        List<StatusHistoryEntryDto> all = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            statistics.clear();
+            CursorPageResponseDto<StatusHistoryEntryDto> page = service.findByReport(reportId, cursor, 10);
+            // entradas + usuários em um SELECT ... IN, sem uma consulta por entrada
+            assertEquals(2, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount() - page.getData().size());
+            all.addAll(page.getData());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(ENTRIES, all.size());
+        assertEquals(ENTRIES, all.stream().map(StatusHistoryEntryDto::getId).distinct().count());
+        for (int i = 0; i < ENTRIES; i++) {
+            StatusHistoryEntryDto e = all.get(i);
+            int hour = ENTRIES - 1 - i;
+            assertEquals(START.plus(hour, ChronoUnit.HOURS), e.getCreatedAt());
+            assertEquals("User " + hour, e.getUserName());
+            assertEquals(i == 0, e.isCurrent());
+            if (i > 0) {
+                // inclusive na primeira entrada de cada página, fechada pelo instante do cursor
+                assertEquals(3600, e.getSecondsInStatus());
+            }
+        }
+    }
+
+    @Test
+    void findByReport_unknownReportIsNotFound() {
+        assertThrows(com.tickets.api.exception.ResourceNotFoundException.class,
+                () -> service.findByReport("nao-existe", null, 10));
+    }
+
+    @Test
+    void findLatestByReports_returnsNewestEntriesPerReportInOneQueryPlusUsers() {
+        Map<String, List<StatusHistoryEntryDto>> latest =
+                service.findLatestByReports(List.of(otherReportId, reportId, "sem-historico"), 2);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(List.of(otherReportId, reportId, "sem-historico"), List.copyOf(latest.keySet()));
+        assertEquals(List.of("c2", "c1"), latest.get(otherReportId).stream().map(StatusHistoryEntryDto::getComment).toList());
+        assertEquals(List.of("c24", "c23"), latest.get(reportId).stream().map(StatusHistoryEntryDto::getComment).toList());
+        assertTrue(latest.get(reportId).get(0).isCurrent());
+        assertEquals(3600, latest.get(reportId).get(1).getSecondsInStatus());
+        assertTrue(latest.get("sem-historico").isEmpty());
+    }
+}
@@ -0,0 +1,72 @@
+package com.tickets.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickets.api.model.entity.Category;
+import com.tickets.api.model.enums.CategoryType;
+import com.tickets.api.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryCatalogTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private CategoryCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new CategoryCatalog(categoryRepository, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void rebuild_onlyAdvancesTheVersionWhenTheContentChanges() {
+        when(categoryRepository.findAll())
+                .thenReturn(List.of(category("Elevador")))
+                .thenReturn(List.of(category("Elevador")))
+                .thenReturn(List.of(category("Elevador"), category("Escada")));
+
+        CategoryCatalog.Snapshot first = catalog.snapshot();
+        assertSame(first, catalog.rebuild());
+        CategoryCatalog.Snapshot second = catalog.rebuild();
+
+        assertEquals(1, first.version());
+        assertEquals(2, second.version());
+        assertNotEquals(first.etag(), second.etag());
+        assertSame(second, catalog.snapshot());
+    }
+
+    @Test
+    void rebuild_rereadsWhenAnotherRebuildPublishedDuringItsRead() {
+        // A primeira leitura é ultrapassada por um rebuild concorrente que já vê a categoria nova
+        AtomicInteger reads = new AtomicInteger();
+        when(categoryRepository.findAll()).thenAnswer(inv -> {
+            if (reads.incrementAndGet() > 1) {
+                return List.of(category("Elevador"), category("Escada"));
+            }
+            catalog.rebuild();
+            return List.of(category("Elevador"));
+        });
+
+        CategoryCatalog.Snapshot result = catalog.rebuild();
+
+        assertEquals(2, result.categories().size());
+        assertEquals(1, result.version());
+        assertSame(result, catalog.snapshot());
+        verify(categoryRepository, times(3)).findAll();
+    }
+
+    private static Category category(String name) {
+        return Category.builder().name(name).type(CategoryType.ELEVATOR).build();
+    }
+}
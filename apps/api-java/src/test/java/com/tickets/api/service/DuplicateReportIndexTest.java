@@ -0,0 +1,112 @@
+package com.tickets.api.service;
+
+import com.tickets.api.dto.report.ReportTextDto;
+import com.tickets.api.event.ReportStatusChangedEvent;
+import com.tickets.api.event.ReportsDeletedEvent;
+import com.tickets.api.model.enums.ReportStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuplicateReportIndexTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T12:00:00Z");
+
+    private DuplicateReportIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DuplicateReportIndex(0.4, 48);
+        index.rebuild(List.of(
+                text("r1", null, "l1", "c1", "Elevador quebrado",
+                        "O elevador da plataforma sentido centro está parado desde ontem", NOW.minusSeconds(3600)),
+                text("r2", "r1", "l1", "c1", "Elevador parado",
+                        "Elevador da plataforma sentido centro parado, sem previsão", NOW.minusSeconds(1800)),
+                text("r3", null, "l1", "c1", "Elevador barulhento",
+                        "Faz um barulho alto de metal ao subir, parece solto", NOW.minusSeconds(600)),
+                text("r4", null, "l1", "c1", "Elevador quebrado de novo",
+                        "O elevador da plataforma sentido centro está parado desde ontem",
+                        NOW.minus(Duration.ofHours(72)))));
+    }
+
+    @Test
+    void findDuplicate_linksRewordedReportToTheOriginal() {
+        int[] signature = DuplicateReportIndex.signature("Elevador da plataforma quebrado",
+                "O elevador da plataforma sentido centro está parado");
+
+        DuplicateReportIndex.Match match = index.findDuplicate("l1", "c1", signature, NOW);
+
+        assertNotNull(match);
+        // r2 já aponta para r1: o novo report é ligado direto ao original
+        assertEquals("r1", match.reportId());
+        assertTrue(match.similarity() >= 0.4);
+    }
+
+    @Test
+    void findDuplicate_ignoresUnrelatedTextOtherGroupsAndExpiredReports() {
+        int[] elevator = DuplicateReportIndex.signature("Elevador quebrado de novo",
+                "O elevador da plataforma sentido centro está parado desde ontem");
+
+        assertNull(index.findDuplicate("l1", "c1",
+                DuplicateReportIndex.signature("Piso tátil solto", "Placas soltas perto da escada"), NOW));
+        assertNull(index.findDuplicate("l2", "c1", elevator, NOW));
+        // r1 e r2 também saem da janela; r4 já estava fora dela
+        assertNull(index.findDuplicate("l1", "c1", elevator, NOW.plus(Duration.ofHours(48))));
+    }
+
+    @Test
+    void onStatusChanged_removesReportsThatAreNoLongerOpen() {
+        int[] signature = DuplicateReportIndex.signature("Elevador barulhento",
+                "Faz um barulho alto de metal ao subir, parece solto");
+        assertEquals("r3", index.findDuplicate("l1", "c1", signature, NOW).reportId());
+
+        index.onStatusChanged(new ReportStatusChangedEvent(
+                "r3", "u1", "l1", "c1", ReportStatus.PENDING, ReportStatus.IN_ANALYSIS));
+        assertEquals("r3", index.findDuplicate("l1", "c1", signature, NOW).reportId());
+
+        index.onStatusChanged(new ReportStatusChangedEvent(
+                "r3", "u1", "l1", "c1", ReportStatus.IN_ANALYSIS, ReportStatus.RESOLVED_PROVISIONAL));
+        assertNull(index.findDuplicate("l1", "c1", signature, NOW));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void onReportsDeleted_removesReportsAndPromotesTheirDuplicatesToOriginals() {
+        int[] signature = DuplicateReportIndex.signature("Elevador da plataforma quebrado",
+                "O elevador da plataforma sentido centro está parado");
+
+        index.onReportsDeleted(new ReportsDeletedEvent(List.of(
+                new ReportsDeletedEvent.Deleted("r1", "l1", "c1", ReportStatus.PENDING))));
+
+        // r2 apontava para r1; no banco o duplicate_of_id dele volta a null
+        DuplicateReportIndex.Match match = index.findDuplicate("l1", "c1", signature, NOW);
+        assertNotNull(match);
+        assertEquals("r2", match.reportId());
+    }
+
+    @Test
+    void add_outsideTransactionIsVisibleImmediately() {
+        int[] signature = DuplicateReportIndex.signature("Rampa bloqueada", "Carrinhos de carga na rampa de acesso");
+        assertNull(index.findDuplicate("l1", "c2", signature, NOW));
+
+        index.add("r5", "r5", "l1", "c2", NOW, signature);
+
+        assertEquals(new DuplicateReportIndex.Match("r5", 1.0), index.findDuplicate("l1", "c2", signature, NOW));
+    }
+
+    @Test
+    void signature_ignoresCaseAccentsAndPunctuation() {
+        assertArrayEquals(DuplicateReportIndex.signature("Piso tátil", "Está SOLTO!"),
+                DuplicateReportIndex.signature("piso tatil", "esta solto"));
+    }
+
+    private static ReportTextDto text(String id, String duplicateOfId, String locationId, String categoryId,
+                                      String title, String description, Instant createdAt) {
+        return new ReportTextDto(id, duplicateOfId, locationId, categoryId, title, description, createdAt);
+    }
+}
@@ -0,0 +1,160 @@
+package com.tickets.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickets.api.dto.report.ReportResponseDto;
+import com.tickets.api.dto.report.UpdateStatusDto;
+import com.tickets.api.exception.BadRequestException;
+import com.tickets.api.exception.ResourceNotFoundException;
+import com.tickets.api.model.enums.ReportStatus;
+import com.tickets.api.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sem a transação do teste: a reserva da chave precisa ser confirmada antes da execução
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyServiceTest {
+
+    private static final String SCOPE = "PATCH /reports/r1/status";
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyService service;
+    // Outra instância da API: mesmo banco, memória própria
+    private IdempotencyService otherNode;
+
+    @BeforeEach
+    void setUp() {
+        service = newService();
+        otherNode = newService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void execute_runsOnceAndReplaysTheStoredResponseOnEveryNode() {
+        UpdateStatusDto request = request(ReportStatus.IN_ANALYSIS);
+
+        ReportResponseDto first = service.execute("k1", SCOPE, request, ReportResponseDto.class, action(0));
+        ReportResponseDto again = service.execute("k1", SCOPE, request, ReportResponseDto.class, action(0));
+        ReportResponseDto elsewhere = otherNode.execute("k1", SCOPE, request, ReportResponseDto.class, action(0));
+
+        assertEquals(1, executions.get());
+        assertEquals(first, again);
+        assertEquals(first, elsewhere);
+        assertNotSame(first, again);
+        // Sem chave, nada é guardado
+        service.execute(null, SCOPE, request, ReportResponseDto.class, action(0));
+        assertEquals(2, executions.get());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void execute_rejectsTheSameKeyWithAnotherRequest() {
+        service.execute("k1", SCOPE, request(ReportStatus.IN_ANALYSIS), ReportResponseDto.class, action(0));
+
+        assertThrows(BadRequestException.class, () -> otherNode.execute(
+                "k1", SCOPE, request(ReportStatus.ARCHIVED), ReportResponseDto.class, action(0)));
+        assertThrows(BadRequestException.class, () -> service.execute(
+                "k1", "POST /reports", request(ReportStatus.IN_ANALYSIS), ReportResponseDto.class, action(0)));
+        assertThrows(BadRequestException.class, () -> service.execute(
+                " ", SCOPE, request(ReportStatus.IN_ANALYSIS), ReportResponseDto.class, action(0)));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_concurrentRetriesWaitForTheFirstExecution() throws Exception {
+        UpdateStatusDto request = request(ReportStatus.IN_ANALYSIS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ReportResponseDto>> results = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                IdempotencyService node = i % 2 == 0 ? service : otherNode;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return node.execute("k1", SCOPE, request, ReportResponseDto.class, action(300));
+                }));
+            }
+            start.countDown();
+            ReportResponseDto first = results.get(0).get();
+            for (Future<ReportResponseDto> result : results) {
+                assertEquals(first, result.get());
+            }
+        }
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_releasesTheKeyWhenTheRequestFails() {
+        UpdateStatusDto request = request(ReportStatus.IN_ANALYSIS);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.execute("k1", SCOPE, request,
+                ReportResponseDto.class, () -> {
+                    throw new ResourceNotFoundException("Report não encontrado");
+                }));
+        assertEquals(0, repository.count());
+
+        service.execute("k1", SCOPE, request, ReportResponseDto.class, action(0));
+        assertEquals(1, executions.get());
+    }
+
+    private IdempotencyService newService() {
+        return new IdempotencyService(repository, transactionManager, mapper, new SimpleMeterRegistry(),
+                100, 24, 30_000, 5_000);
+    }
+
+    private Supplier<ReportResponseDto> action(long millis) {
+        return () -> {
+            executions.incrementAndGet();
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ReportResponseDto dto = new ReportResponseDto();
+            dto.setId(UUID.randomUUID().toString());
+            dto.setStatus(ReportStatus.IN_ANALYSIS);
+            dto.setUpdatedAt(Instant.now());
+            return dto;
+        };
+    }
+
+    private static UpdateStatusDto request(ReportStatus status) {
+        UpdateStatusDto dto = new UpdateStatusDto();
+        dto.setStatus(status);
+        dto.setUpdatedBy("u1");
+        return dto;
+    }
+}
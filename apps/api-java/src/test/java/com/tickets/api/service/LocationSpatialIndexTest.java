@@ -0,0 +1,78 @@
+package com.tickets.api.service;
+
+import com.tickets.api.dto.location.LocationResponseDto;
+import com.tickets.api.dto.location.NearbyLocationDto;
+import com.tickets.api.event.LocationChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocationSpatialIndexTest {
+
+    private LocationSpatialIndex index;
+    private List<LocationResponseDto> stops;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        stops = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            stops.add(stop("s" + i, -24.0 + random.nextDouble() * 0.7, -46.9 + random.nextDouble() * 0.6));
+        }
+        index = new LocationSpatialIndex(0.01);
+        index.rebuild(stops);
+    }
+
+    @Test
+    void nearest_matchesBruteForce() {
+        Random random = new Random(7);
+        for (int q = 0; q < 200; q++) {
+            double lat = -24.0 + random.nextDouble() * 0.7;
+            double lon = -46.9 + random.nextDouble() * 0.6;
+            double radius = 200 + random.nextDouble() * 5_000;
+
+            List<String> expected = stops.stream()
+                    .map(s -> new NearbyLocationDto(s, LocationSpatialIndex.distanceMeters(lat, lon, s.getLatitude(), s.getLongitude())))
+                    .filter(n -> n.getDistanceMeters() <= radius)
+                    .sorted(Comparator.comparingDouble(NearbyLocationDto::getDistanceMeters))
+                    .limit(10)
+                    .map(n -> n.getLocation().getId())
+                    .toList();
+
+            List<String> actual = index.nearest(lat, lon, radius, 10).stream()
+                    .map(n -> n.getLocation().getId())
+                    .toList();
+
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void events_keepIndexCurrent() {
+        LocationResponseDto moved = stop("s0", -23.55, -46.63);
+        index.onLocationChanged(new LocationChangedEvent("s0", moved));
+
+        List<NearbyLocationDto> res = index.nearest(-23.55, -46.63, 10, 1);
+        assertEquals("s0", res.get(0).getLocation().getId());
+        assertEquals(5_000, index.size());
+
+        index.onLocationChanged(new LocationChangedEvent("s0", null));
+        assertTrue(index.nearest(-23.55, -46.63, 10, 5).stream().noneMatch(n -> n.getLocation().getId().equals("s0")));
+        assertEquals(4_999, index.size());
+    }
+
+    private static LocationResponseDto stop(String id, double lat, double lon) {
+        LocationResponseDto dto = new LocationResponseDto();
+        dto.setId(id);
+        dto.setName("Parada " + id);
+        dto.setLatitude(lat);
+        dto.setLongitude(lon);
+        return dto;
+    }
+}
@@ -0,0 +1,66 @@
+package com.tickets.api.service;
+
+import com.tickets.api.repository.ReportRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportArchiverTest {
+
+    private static final Instant NOW = Instant.parse("2025-12-31T23:30:00Z");
+
+    @Mock
+    private ReportRepository reportRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry registry;
+    private ReportArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        archiver = new ReportArchiver(reportRepository, transactionManager, registry, true, 90, 100);
+    }
+
+    @Test
+    void archiveBefore_movesFullBatchesUntilOneComesBackShort() {
+        when(reportRepository.archiveClosedBefore(any(), any(), anyInt())).thenReturn(100, 100, 7);
+
+        assertEquals(207, archiver.archiveBefore(NOW));
+
+        verify(reportRepository, times(3)).archiveClosedBefore(
+                List.of("RESOLVED_CONFIRMED", "ARCHIVED"), NOW.minus(Duration.ofDays(90)), 100);
+        assertEquals(207.0, registry.get("tickets.reports.archived").counter().count());
+        // Um lote por transação
+        verify(transactionManager, times(4)).commit(any());
+    }
+
+    @Test
+    void archiveBefore_createsColdPartitionsForTheCurrentAndNextYearFirst() {
+        when(reportRepository.createColdPartitions(anyInt())).thenReturn(0);
+
+        assertEquals(0, archiver.archiveBefore(NOW));
+
+        var inOrder = inOrder(reportRepository);
+        inOrder.verify(reportRepository).createColdPartitions(2025);
+        inOrder.verify(reportRepository).createColdPartitions(2026);
+        inOrder.verify(reportRepository).archiveClosedBefore(any(), eq(NOW.minus(Duration.ofDays(90))), eq(100));
+        verifyNoMoreInteractions(reportRepository);
+    }
+}
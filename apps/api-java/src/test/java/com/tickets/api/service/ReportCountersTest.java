@@ -0,0 +1,233 @@
+package com.tickets.api.service;
+
+import com.tickets.api.dto.report.ReportStatsDto;
+import com.tickets.api.event.ReportStatusChangedEvent;
+import com.tickets.api.event.ReportsDeletedEvent;
+import com.tickets.api.model.entity.ReportCounter;
+import com.tickets.api.model.entity.ReportCounterId;
+import com.tickets.api.model.enums.CounterDimension;
+import com.tickets.api.model.enums.ReportStatus;
+import com.tickets.api.repository.ReportCounterRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReportCountersTest {
+
+    private ReportCounterRepository counterRepository;
+    private ReportCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counterRepository = mock(ReportCounterRepository.class);
+        counters = new ReportCounters(counterRepository, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deltasOfOneTransactionAreMergedAndAppliedOnlyAfterCommit() {
+        beginTransaction();
+        counters.onStatusChanged(ReportStatusChangedEvent.created("r1", "u1", "l1", "c1", ReportStatus.PENDING));
+        counters.onStatusChanged(new ReportStatusChangedEvent("r1", "u1", "l1", "c1", ReportStatus.PENDING, ReportStatus.IN_ANALYSIS));
+
+        assertEquals(0, counters.stats(CounterDimension.GLOBAL, null).getTotal());
+        commit();
+
+        // +1 e -1 em PENDING se anulam: só IN_ANALYSIS vai para o banco
+        verify(counterRepository).increment("GLOBAL", "", "IN_ANALYSIS", 1);
+        verify(counterRepository).increment("LOCATION", "l1", "IN_ANALYSIS", 1);
+        verify(counterRepository).increment("CATEGORY", "c1", "IN_ANALYSIS", 1);
+        verify(counterRepository, never()).increment(anyString(), anyString(), eq("PENDING"), anyLong());
+
+        ReportStatsDto byLocation = counters.stats(CounterDimension.LOCATION, "l1");
+        assertEquals(1, byLocation.getTotal());
+        assertEquals(1L, byLocation.getByStatus().get(ReportStatus.IN_ANALYSIS));
+        assertEquals(0L, byLocation.getByStatus().get(ReportStatus.PENDING));
+        assertEquals(0, counters.stats(CounterDimension.LOCATION, "l2").getTotal());
+    }
+
+    @Test
+    void rolledBackTransactionDoesNotTouchCounters() {
+        beginTransaction();
+        counters.onStatusChanged(ReportStatusChangedEvent.created("r1", "u1", "l1", "c1", ReportStatus.PENDING));
+        rollback();
+
+        verify(counterRepository, never()).increment(anyString(), anyString(), anyString(), anyLong());
+        assertEquals(0, counters.stats(CounterDimension.GLOBAL, null).getTotal());
+    }
+
+    @Test
+    void deletedReportsAreSubtractedFromEveryDimension() {
+        beginTransaction();
+        counters.onReportsDeleted(new ReportsDeletedEvent(List.of(
+                new ReportsDeletedEvent.Deleted("r1", "l1", "c1", ReportStatus.PENDING),
+                new ReportsDeletedEvent.Deleted("r2", "l1", "c2", ReportStatus.PENDING))));
+        commit();
+
+        verify(counterRepository).increment("GLOBAL", "", "PENDING", -2);
+        verify(counterRepository).increment("LOCATION", "l1", "PENDING", -2);
+        verify(counterRepository).increment("CATEGORY", "c1", "PENDING", -1);
+        verify(counterRepository).increment("CATEGORY", "c2", "PENDING", -1);
+        assertEquals(-2, counters.stats(CounterDimension.GLOBAL, null).getTotal());
+    }
+
+    @Test
+    void reconcileCorrectsTheTableWithIncrementsAndReloadsMemoryFromIt() {
+        when(counterRepository.tryLockForReconcile(anyLong())).thenReturn(true);
+        when(counterRepository.snapshotForReconcile()).thenReturn(List.of(
+                reports("l1", "c1", ReportStatus.PENDING, 3),
+                reports("l2", "c1", ReportStatus.PENDING, 2),
+                reports("l2", "c2", ReportStatus.ARCHIVED, 1),
+                // tabela com um PENDING global a menos e uma chave que não existe mais
+                stored(CounterDimension.GLOBAL, "", ReportStatus.PENDING, 4),
+                stored(CounterDimension.GLOBAL, "", ReportStatus.ARCHIVED, 1),
+                stored(CounterDimension.LOCATION, "l1", ReportStatus.PENDING, 3),
+                stored(CounterDimension.LOCATION, "l2", ReportStatus.PENDING, 2),
+                stored(CounterDimension.LOCATION, "l2", ReportStatus.ARCHIVED, 1),
+                stored(CounterDimension.LOCATION, "l3", ReportStatus.PENDING, 1),
+                stored(CounterDimension.CATEGORY, "c1", ReportStatus.PENDING, 5),
+                stored(CounterDimension.CATEGORY, "c2", ReportStatus.ARCHIVED, 1)));
+        when(counterRepository.findAll()).thenReturn(List.of(
+                counter(CounterDimension.GLOBAL, "", ReportStatus.PENDING, 5),
+                counter(CounterDimension.GLOBAL, "", ReportStatus.ARCHIVED, 1),
+                counter(CounterDimension.LOCATION, "l3", ReportStatus.PENDING, 0),
+                counter(CounterDimension.CATEGORY, "c1", ReportStatus.PENDING, 5)));
+
+        long drift = counters.reconcile();
+
+        assertEquals(2, drift);
+        verify(counterRepository).increment("GLOBAL", "", "PENDING", 1);
+        verify(counterRepository).increment("LOCATION", "l3", "PENDING", -1);
+        verify(counterRepository, times(2)).increment(anyString(), anyString(), anyString(), anyLong());
+        ReportStatsDto global = counters.stats(CounterDimension.GLOBAL, null);
+        assertEquals(6, global.getTotal());
+        assertEquals(5L, global.getByStatus().get(ReportStatus.PENDING));
+        assertEquals(5, counters.stats(CounterDimension.CATEGORY, "c1").getTotal());
+        assertEquals(0, counters.stats(CounterDimension.LOCATION, "l3").getTotal());
+    }
+
+    @Test
+    void reconcileWithoutTheLockOnlyReloadsMemory() {
+        when(counterRepository.findAll()).thenReturn(List.of(
+                counter(CounterDimension.GLOBAL, "", ReportStatus.PENDING, 7)));
+
+        assertEquals(0, counters.reconcile());
+
+        verify(counterRepository, never()).snapshotForReconcile();
+        verify(counterRepository, never()).increment(anyString(), anyString(), anyString(), anyLong());
+        assertEquals(7, counters.stats(CounterDimension.GLOBAL, null).getTotal());
+    }
+
+    @Test
+    void transactionCommittedAfterTheReloadReadIsNotLostByTheSwap() throws Exception {
+        when(counterRepository.findAll()).thenReturn(List.of(
+                counter(CounterDimension.GLOBAL, "", ReportStatus.PENDING, 5)));
+        beginTransaction();
+        counters.reconcile();
+
+        // Commit depois da leitura da tabela; a memória recebe o delta antes da troca do mapa
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            other.submit(() -> {
+                beginTransaction();
+                counters.onStatusChanged(ReportStatusChangedEvent.created("r1", "u1", "l1", "c1", ReportStatus.PENDING));
+                commit();
+            }).get(5, TimeUnit.SECONDS);
+        } finally {
+            other.shutdown();
+        }
+        commit();
+
+        assertEquals(6, counters.stats(CounterDimension.GLOBAL, null).getTotal());
+        assertEquals(1, counters.stats(CounterDimension.LOCATION, "l1").getTotal());
+    }
+
+    @Test
+    void reloadReadWaitsForTransactionsBetweenCommitAndMemory() throws Exception {
+        // A tabela lida já tem o commit da transação abaixo
+        when(counterRepository.findAll()).thenReturn(List.of(
+                counter(CounterDimension.GLOBAL, "", ReportStatus.PENDING, 6)));
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        ExecutorService reconciler = Executors.newSingleThreadExecutor();
+        try {
+            other.submit(() -> {
+                beginTransaction();
+                counters.onStatusChanged(ReportStatusChangedEvent.created("r1", "u1", "l1", "c1", ReportStatus.PENDING));
+                TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+            }).get(5, TimeUnit.SECONDS);
+
+            Future<Long> reconcile = reconciler.submit(counters::reconcile);
+            verify(counterRepository, after(200).never()).findAll();
+
+            other.submit(() -> {
+                List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+                syncs.forEach(TransactionSynchronization::afterCommit);
+                syncs.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+                TransactionSynchronizationManager.clearSynchronization();
+            }).get(5, TimeUnit.SECONDS);
+            reconcile.get(5, TimeUnit.SECONDS);
+        } finally {
+            other.shutdown();
+            reconciler.shutdown();
+        }
+
+        // Sem a espera, o delta aplicado depois da troca contaria duas vezes
+        assertEquals(6, counters.stats(CounterDimension.GLOBAL, null).getTotal());
+    }
+
+    private static ReportCounterRepository.ReconcileRow reports(String locationId, String categoryId,
+                                                                ReportStatus status, long count) {
+        return new Row(locationId, categoryId, null, null, status.name(), count);
+    }
+
+    private static ReportCounterRepository.ReconcileRow stored(CounterDimension dimension, String id,
+                                                               ReportStatus status, long count) {
+        return new Row(null, null, dimension.name(), id, status.name(), count);
+    }
+
+    private record Row(String getLocationId, String getCategoryId, String getDimension, String getDimensionId,
+                       String getStatus, long getCount) implements ReportCounterRepository.ReconcileRow {
+    }
+
+    private static ReportCounter counter(CounterDimension dimension, String id, ReportStatus status, long count) {
+        return new ReportCounter(new ReportCounterId(dimension, id, status), count);
+    }
+
+    private static void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+        syncs.forEach(s -> s.beforeCommit(false));
+        syncs.forEach(TransactionSynchronization::afterCommit);
+        syncs.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private static void rollback() {
+        List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+        syncs.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
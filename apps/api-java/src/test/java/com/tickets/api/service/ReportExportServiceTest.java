@@ -0,0 +1,71 @@
+package com.tickets.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tickets.api.dto.report.ReportResponseDto;
+import com.tickets.api.exception.BadRequestException;
+import com.tickets.api.model.enums.ReportStatus;
+import com.tickets.api.repository.ReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReportExportServiceTest {
+
+    private ReportRepository reportRepository;
+    private ReportExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        reportRepository = mock(ReportRepository.class);
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ReportExportService(reportRepository, mapper);
+
+        Instant at = Instant.parse("2025-03-01T12:00:00Z");
+        when(reportRepository.streamDtoByFilters(ReportStatus.PENDING, null, null, null, false)).thenAnswer(inv -> Stream.of(
+                new ReportResponseDto("r1", "Elevador quebrado", "Parado, sem previsão", ReportStatus.PENDING, null,
+                        at, at, "u1", "Ana", "l1", "Sé", "c1", "Elevador", 0, null),
+                new ReportResponseDto("r2", "Piso \"tátil\"", "linha 1\nlinha 2", ReportStatus.PENDING, null,
+                        at, at, "u2", "Bia", "l1", "Sé", "c2", "Piso", 0, null)));
+    }
+
+    @Test
+    void export_ndjson_writesOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.export(ReportExportService.Format.NDJSON, ReportStatus.PENDING, null, null, null, false, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":\"r1\""));
+        assertTrue(lines[0].contains("\"createdAt\":\"2025-03-01T12:00:00Z\""));
+    }
+
+    @Test
+    void export_csv_escapesQuotesCommasAndNewlines() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(ReportExportService.Format.CSV, ReportStatus.PENDING, null, null, null, false, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,title,description,status,"));
+        assertTrue(csv.contains("r1,Elevador quebrado,\"Parado, sem previsão\",PENDING,,2025-03-01T12:00:00Z"));
+        assertTrue(csv.contains("r2,\"Piso \"\"tátil\"\"\",\"linha 1\nlinha 2\",PENDING"));
+    }
+
+    @Test
+    void parse_unknownFormat_shouldThrow() {
+        assertThrows(BadRequestException.class, () -> ReportExportService.Format.parse("xml"));
+    }
+}
@@ -0,0 +1,130 @@
+package com.tickets.api.service;
+
+import com.tickets.api.event.ReportsDeletedEvent;
+import com.tickets.api.model.enums.ReportStatus;
+import com.tickets.api.repository.CommentRepository;
+import com.tickets.api.repository.ReportRepository;
+import com.tickets.api.repository.StatusHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportPurgerTest {
+
+    @Mock
+    private ReportRepository reportRepository;
+    @Mock
+    private CommentRepository commentRepository;
+    @Mock
+    private StatusHistoryRepository statusHistoryRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private Runnable deleteOwner;
+
+    private SimpleMeterRegistry registry;
+    private ReportPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        purger = new ReportPurger(reportRepository, commentRepository, statusHistoryRepository,
+                eventPublisher, transactionManager, registry, 2);
+    }
+
+    @Test
+    void purge_deletesReportsInBatchesUntilOneComesBackShortThenTheOwner() {
+        when(reportRepository.deleteBatchByLocation("l1", 2))
+                .thenReturn(rows(2)).thenReturn(rows(2)).thenReturn(rows(1)).thenReturn(List.of());
+
+        assertEquals(5, purger.purge(ReportPurger.Owner.LOCATION, "l1", deleteOwner));
+
+        verify(reportRepository, times(4)).deleteBatchByLocation("l1", 2);
+        // Três lotes e a transação final, que confere as sobras e apaga o dono
+        verify(transactionManager, times(4)).commit(any());
+        var inOrder = inOrder(reportRepository, deleteOwner);
+        inOrder.verify(reportRepository, times(4)).deleteBatchByLocation("l1", 2);
+        inOrder.verify(deleteOwner).run();
+        verifyNoInteractions(commentRepository, statusHistoryRepository);
+        assertEquals(5.0, registry.get("tickets.reports.purged").tag("owner", "location").counter().count());
+    }
+
+    @Test
+    void purge_publishesEachBatchForCountersAndDuplicateIndex() {
+        when(reportRepository.deleteBatchByCategory("c1", 2)).thenReturn(rows(1)).thenReturn(List.of());
+
+        purger.purge(ReportPurger.Owner.CATEGORY, "c1", deleteOwner);
+
+        ArgumentCaptor<ReportsDeletedEvent> event = ArgumentCaptor.forClass(ReportsDeletedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of(new ReportsDeletedEvent.Deleted("r0", "l1", "c1", ReportStatus.PENDING)),
+                event.getValue().reports());
+    }
+
+    @Test
+    void purge_ofAuthorAlsoDeletesCommentsAndHistoryLeftOnOtherReports() {
+        when(reportRepository.deleteBatchByAuthor(anyString(), anyInt())).thenReturn(List.of());
+        when(commentRepository.deleteBatchByAuthor("u1", 2)).thenReturn(2L, 1L, 0L);
+        when(statusHistoryRepository.deleteBatchByUpdatedBy("u1", 2)).thenReturn(1, 0, 0);
+
+        assertEquals(0, purger.purge(ReportPurger.Owner.AUTHOR, "u1", deleteOwner));
+
+        verify(commentRepository, times(3)).deleteBatchByAuthor("u1", 2);
+        verify(statusHistoryRepository, times(3)).deleteBatchByUpdatedBy("u1", 2);
+        verify(deleteOwner).run();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void purge_withoutReportsStillDeletesTheOwnerInOneTransaction() {
+        when(reportRepository.deleteBatchByCategory(anyString(), anyInt())).thenReturn(Collections.emptyList());
+
+        assertEquals(0, purger.purge(ReportPurger.Owner.CATEGORY, "c1", deleteOwner));
+
+        verify(deleteOwner).run();
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    private static List<ReportRepository.DeletedReport> rows(int n) {
+        return IntStream.range(0, n).mapToObj(i -> (ReportRepository.DeletedReport) new ReportRepository.DeletedReport() {
+            @Override
+            public String getId() {
+                return "r" + i;
+            }
+
+            @Override
+            public String getLocationId() {
+                return "l1";
+            }
+
+            @Override
+            public String getCategoryId() {
+                return "c1";
+            }
+
+            @Override
+            public ReportStatus getStatus() {
+                return ReportStatus.PENDING;
+            }
+        }).toList();
+    }
+}
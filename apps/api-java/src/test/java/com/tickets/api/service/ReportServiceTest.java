@@ -1,8 +1,16 @@
 package com.tickets.api.service;
 
+import com.tickets.api.dto.report.BatchItemResultDto;
+import com.tickets.api.dto.report.BatchReportResponseDto;
 import com.tickets.api.dto.report.CreateReportDto;
+import com.tickets.api.dto.report.MergeReportsDto;
+import com.tickets.api.dto.report.MergeReportsResponseDto;
 import com.tickets.api.dto.report.ReportResponseDto;
+import com.tickets.api.dto.report.ReportSearchResponseDto;
 import com.tickets.api.dto.report.UpdateStatusDto;
+import com.tickets.api.dto.common.KeysetCursor;
+import com.tickets.api.event.ReportStatusChangedEvent;
+import com.tickets.api.exception.BadRequestException;
 import com.tickets.api.exception.ResourceNotFoundException;
 import com.tickets.api.model.entity.Category;
 import com.tickets.api.model.entity.Location;
@@ -11,24 +19,37 @@ import com.tickets.api.model.entity.StatusHistory;
 import com.tickets.api.model.entity.User;
 import com.tickets.api.model.enums.ReportStatus;
 import com.tickets.api.repository.*;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class ReportServiceTest {
 
+    private static final String AUTHOR_ID = "0190a000-0000-7000-8000-000000000001";
+    private static final String LOCATION_ID = "0190a000-0000-7000-8000-000000000002";
+    private static final String CATEGORY_ID = "0190a000-0000-7000-8000-000000000003";
+
     @Mock
     private ReportRepository reportRepository;
     @Mock
@@ -39,6 +60,14 @@ class ReportServiceTest {
     private CategoryRepository categoryRepository;
     @Mock
     private StatusHistoryRepository statusHistoryRepository;
+    @Mock
+    private Validator validator;
+    @Mock
+    private ReportCounters reportCounters;
+    @Mock
+    private DuplicateReportIndex duplicateIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ReportService reportService;
@@ -49,57 +78,68 @@ class ReportServiceTest {
     }
 
     @Test
-    void create_shouldSaveReportAndReturnDto() {
+    void create_shouldInsertReportWithHistoryAndReturnDto() {
         // Arrange
-        User user = new User(); 
-        user.setId("u1"); 
-        user.setName("User 1");
-        
-        Location loc = new Location(); 
-        loc.setId("l1"); 
-        loc.setName("Loc");
-        
-        Category cat = new Category(); 
-        cat.setId("c1"); 
-        cat.setName("Cat");
+        ReportRepository.CreatedNames names = mock(ReportRepository.CreatedNames.class);
+        when(names.getAuthorName()).thenReturn("User 1");
+        when(names.getLocationName()).thenReturn("Loc");
+        when(names.getCategoryName()).thenReturn("Cat");
+        when(reportRepository.insertWithInitialHistory(any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(names);
 
-        when(userRepository.findById("u1")).thenReturn(Optional.of(user));
-        when(locationRepository.findById("l1")).thenReturn(Optional.of(loc));
-        when(categoryRepository.findById("c1")).thenReturn(Optional.of(cat));
+        // Act
+        ReportResponseDto res = reportService.create(createDto());
 
-        Report saved = Report.builder()
-                .id("r1")
-                .title("t")
-                .description("d")
-                .author(user)
-                .location(loc)
-                .category(cat)
-                .status(ReportStatus.PENDING)
-                .build();
+        // Assert
+        assertNotNull(res.getId());
+        assertEquals("t", res.getTitle());
+        assertEquals(ReportStatus.PENDING, res.getStatus());
+        assertEquals(AUTHOR_ID, res.getAuthorId());
+        assertEquals("User 1", res.getAuthorName());
+        assertEquals("Loc", res.getLocationName());
+        assertEquals("Cat", res.getCategoryName());
+        assertEquals(res.getCreatedAt(), res.getUpdatedAt());
+        assertNull(res.getDuplicateOfId());
+        // Nada é carregado antes do INSERT, e o histórico inicial vai no mesmo comando
+        verifyNoInteractions(userRepository, locationRepository, categoryRepository, statusHistoryRepository);
+        verify(reportRepository, never()).findDtoById(any());
+        verify(duplicateIndex).add(eq(res.getId()), eq(res.getId()), eq(LOCATION_ID), eq(CATEGORY_ID), any(), any());
+    }
 
-        when(reportRepository.save(any(Report.class))).thenReturn(saved);
+    @Test
+    void create_missingReference_shouldThrowNotFoundWithSameMessage() {
+        when(reportRepository.insertWithInitialHistory(any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("fk", new ConstraintViolationException(
+                        "fk", new SQLException("violates foreign key"), "fk_reports_location")));
+
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> reportService.create(createDto()));
+        assertEquals("Localização não encontrada", ex.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void create_otherIntegrityViolation_shouldPropagate() {
+        when(reportRepository.insertWithInitialHistory(any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("not null"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> reportService.create(createDto()));
+    }
 
+    private static CreateReportDto createDto() {
         CreateReportDto dto = new CreateReportDto();
-        dto.setAuthorId("u1");
-        dto.setLocationId("l1");
-        dto.setCategoryId("c1");
+        dto.setAuthorId(AUTHOR_ID);
+        dto.setLocationId(LOCATION_ID);
+        dto.setCategoryId(CATEGORY_ID);
         dto.setTitle("t");
         dto.setDescription("d");
-
-        // Act
-        ReportResponseDto res = reportService.create(dto);
-
-        // Assert
-        assertNotNull(res);
-        assertEquals("r1", res.getId());
-        assertEquals("t", res.getTitle());
-        verify(statusHistoryRepository, times(1)).save(any(StatusHistory.class));
+        return dto;
     }
 
     @Test
     void findById_notFound_shouldThrow() {
         // Arrange
-        when(reportRepository.findById("nope")).thenReturn(Optional.empty());
+        when(reportRepository.findDtoById("nope")).thenReturn(Optional.empty());
         
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> reportService.findById("nope"));
@@ -127,6 +167,9 @@ class ReportServiceTest {
         when(reportRepository.findById(report.getId())).thenReturn(Optional.of(report));
         when(userRepository.findById(updater.getId())).thenReturn(Optional.of(updater));
         when(reportRepository.save(any(Report.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(reportRepository.findDtoById(report.getId())).thenAnswer(inv -> Optional.of(new ReportResponseDto(
+                report.getId(), report.getTitle(), report.getDescription(), report.getStatus(), null, null, null,
+                updater.getId(), updater.getName(), loc2.getId(), loc2.getName(), cat2.getId(), cat2.getName(), 0, null)));
 
         UpdateStatusDto dto = new UpdateStatusDto();
         dto.setUpdatedBy(updater.getId());
@@ -141,32 +184,171 @@ class ReportServiceTest {
     assertEquals(ReportStatus.RESOLVED_CONFIRMED, res.getStatus());
         verify(statusHistoryRepository, times(1)).save(any(StatusHistory.class));
         verify(reportRepository, times(1)).save(any(Report.class));
+        verify(eventPublisher).publishEvent(new ReportStatusChangedEvent(
+                "r-2", "u-2", "l2", "c2", ReportStatus.PENDING, ReportStatus.RESOLVED_CONFIRMED));
     }
 
     @Test
     void findAll_returnsPaged() {
         // Arrange
-    User author = new User(); author.setId("a1"); author.setName("Author");
-    Location loc = new Location(); loc.setId("l1"); loc.setName("Loc");
-    Category cat = new Category(); cat.setId("c1"); cat.setName("Cat");
-    Report r = Report.builder()
-        .id("r-3")
-        .title("t")
-        .description("d")
-        .author(author)
-        .location(loc)
-        .category(cat)
-        .build();
-        Page<Report> page = new PageImpl<>(List.of(r), PageRequest.of(0, 10), 1);
+        ReportResponseDto r = new ReportResponseDto(
+                "r-3", "t", "d", ReportStatus.PENDING, null, null, null,
+                "a1", "Author", "l1", "Loc", "c1", "Cat", 0, null);
+        Page<ReportResponseDto> page = new PageImpl<>(List.of(r), PageRequest.of(0, 10), 1);
 
-        when(reportRepository.findByFilters(null, null, null, null, PageRequest.of(0, 10)))
+        when(reportRepository.findDtoByFilters(null, null, null, null, false, PageRequest.of(0, 10)))
                 .thenReturn(page);
 
         // Act
-        var res = reportService.findAll(1, 10, null, null, null, null);
+        var res = reportService.findAll(1, 10, null, null, null, null, false);
 
         // Assert
         assertNotNull(res);
         assertEquals(1, res.getTotal());
+        assertEquals("Author", res.getData().get(0).getAuthorName());
+        verify(reportRepository, never()).findByFilters(any(), any(), any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void findAllByCursor_returnsNextCursorWhenMoreRowsExist() {
+        // Arrange
+        Instant now = Instant.parse("2025-01-01T10:00:00Z");
+        List<ReportResponseDto> rows = List.of(
+                new ReportResponseDto("r-3", "t", "d", ReportStatus.PENDING, null, now, now, "a1", "A", "l1", "L", "c1", "C", 0, null),
+                new ReportResponseDto("r-2", "t", "d", ReportStatus.PENDING, null, now.minusSeconds(1), now, "a1", "A", "l1", "L", "c1", "C", 0, null),
+                new ReportResponseDto("r-1", "t", "d", ReportStatus.PENDING, null, now.minusSeconds(2), now, "a1", "A", "l1", "L", "c1", "C", 0, null));
+        when(reportRepository.findDtoFirstPage(null, null, null, null, false, PageRequest.of(0, 3))).thenReturn(rows);
+
+        // Act
+        var res = reportService.findAllByCursor("", 2, false, null, null, null, null, false);
+
+        // Assert
+        assertEquals(2, res.getData().size());
+        assertNull(res.getTotal());
+        KeysetCursor next = KeysetCursor.decode(res.getNextCursor());
+        assertEquals("r-2", next.id());
+        assertEquals(now.minusSeconds(1), next.createdAt());
+        verify(reportRepository, never()).countByFilters(any(), any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    void findAllByCursor_invalidCursor_shouldThrow() {
+        assertThrows(BadRequestException.class,
+                () -> reportService.findAllByCursor("%%%", 10, false, null, null, null, null, false));
+    }
+
+    @Test
+    void createBatch_resolvesReferencesOnceAndReportsPerItemFailures() {
+        // Arrange
+        User user = new User(); user.setId("u1"); user.setName("User 1");
+        Location loc = new Location(); loc.setId("l1"); loc.setName("Loc");
+        Category cat = new Category(); cat.setId("c1"); cat.setName("Cat");
+
+        when(validator.validate(any(CreateReportDto.class))).thenReturn(Collections.emptySet());
+        when(userRepository.findAllById(any())).thenReturn(List.of(user));
+        when(locationRepository.findAllById(any())).thenReturn(List.of(loc));
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(cat));
+
+        CreateReportDto ok1 = batchItem("u1", "l1", "c1");
+        CreateReportDto missingAuthor = batchItem("u404", "l1", "c1");
+        CreateReportDto ok2 = batchItem("u1", "l1", "c1");
+
+        // Act
+        BatchReportResponseDto res = reportService.createBatch(List.of(ok1, missingAuthor, ok2));
+
+        // Assert
+        assertEquals(2, res.getCreated());
+        assertEquals(1, res.getFailed());
+        assertEquals(BatchItemResultDto.Outcome.CREATED, res.getResults().get(0).getOutcome());
+        assertEquals(BatchItemResultDto.Outcome.FAILED, res.getResults().get(1).getOutcome());
+        assertEquals("Autor não encontrado", res.getResults().get(1).getError());
+        assertEquals("Loc", res.getResults().get(2).getReport().getLocationName());
+        verify(userRepository, times(1)).findAllById(any());
+        verify(userRepository, never()).findById(any());
+        verify(reportRepository, times(1)).saveAll(argThat(it -> it.spliterator().getExactSizeIfKnown() == 2));
+        verify(statusHistoryRepository, times(1)).saveAll(argThat(it -> it.spliterator().getExactSizeIfKnown() == 2));
+    }
+
+    @Test
+    void createBatch_overLimit_shouldThrow() {
+        List<CreateReportDto> dtos = Collections.nCopies(ReportService.MAX_BATCH_SIZE + 1, batchItem("u1", "l1", "c1"));
+        assertThrows(BadRequestException.class, () -> reportService.createBatch(dtos));
+    }
+
+    private static CreateReportDto batchItem(String authorId, String locationId, String categoryId) {
+        CreateReportDto dto = new CreateReportDto();
+        dto.setAuthorId(authorId);
+        dto.setLocationId(locationId);
+        dto.setCategoryId(categoryId);
+        dto.setTitle("Elevador quebrado");
+        dto.setDescription("Sem funcionar desde ontem");
+        return dto;
+    }
+
+    @Test
+    void search_shouldKeepRankOrderAndEscapeHighlights() {
+        when(reportRepository.search("elevador", false, 3, 0)).thenReturn(List.of(
+                searchRow("r2", 0.9, "<mark>Elevador</mark> <b>", "o <mark>elevador</mark> está parado"),
+                searchRow("r1", 0.5, "Escada", "e o <mark>elevador</mark> também"),
+                searchRow("r3", 0.1, "Rampa", null)));
+        when(reportRepository.findDtoByIdIn(List.of("r2", "r1"))).thenReturn(List.of(
+                new ReportResponseDto("r1", "Escada", "d", ReportStatus.PENDING, null, null, null,
+                        "u1", "U", "l1", "L", "c1", "C", 0, null),
+                new ReportResponseDto("r2", "Elevador <b>", "d", ReportStatus.PENDING, null, null, null,
+                        "u1", "U", "l1", "L", "c1", "C", 0, null)));
+
+        ReportSearchResponseDto res = reportService.search(" elevador ", 1, 2, false);
+
+        assertTrue(res.isHasNext());
+        assertEquals(List.of("r2", "r1"), res.getData().stream().map(h -> h.getReport().getId()).toList());
+        assertEquals("<mark>Elevador</mark> &lt;b&gt;", res.getData().get(0).getTitleHighlight());
+        assertEquals("o <mark>elevador</mark> está parado", res.getData().get(0).getSnippet());
+    }
+
+    @Test
+    void search_shouldRejectBlankQueryAndDeepPages() {
+        assertThrows(BadRequestException.class, () -> reportService.search("  ", 1, 10, false));
+        assertThrows(BadRequestException.class, () -> reportService.search("elevador", 200, 10, false));
+        verifyNoInteractions(reportRepository);
+    }
+
+    @Test
+    void merge_shouldArchiveDuplicatesAndRejectOtherLocations() {
+        User user = User.builder().id("u1").name("Admin").build();
+        Location loc = Location.builder().id("l1").build();
+        Location other = Location.builder().id("l2").build();
+        Category cat = Category.builder().id("c1").build();
+        Report target = Report.builder().id("r1").author(user).location(loc).category(cat).build();
+        Report dup = Report.builder().id("r2").author(user).location(loc).category(cat).build();
+        Report elsewhere = Report.builder().id("r3").author(user).location(other).category(cat).build();
+        when(reportRepository.findById("r1")).thenReturn(Optional.of(target));
+        when(userRepository.findById("u1")).thenReturn(Optional.of(user));
+        when(reportRepository.findAllById(any())).thenReturn(List.of(dup));
+
+        MergeReportsDto dto = new MergeReportsDto();
+        dto.setUpdatedBy("u1");
+        dto.setDuplicateIds(List.of("r2"));
+        MergeReportsResponseDto res = reportService.merge("r1", dto);
+
+        assertEquals(List.of("r2"), res.getMergedIds());
+        assertEquals(ReportStatus.ARCHIVED, dup.getStatus());
+        assertSame(target, dup.getDuplicateOf());
+        verify(reportRepository).repointDuplicates(argThat(ids -> ids.contains("r2")), eq(target), any());
+        verify(eventPublisher).publishEvent(new ReportStatusChangedEvent(
+                "r2", "u1", "l1", "c1", ReportStatus.PENDING, ReportStatus.ARCHIVED));
+
+        when(reportRepository.findAllById(any())).thenReturn(List.of(elsewhere));
+        dto.setDuplicateIds(List.of("r3"));
+        assertThrows(BadRequestException.class, () -> reportService.merge("r1", dto));
+        assertEquals(ReportStatus.PENDING, elsewhere.getStatus());
+    }
+
+    private static ReportRepository.SearchRow searchRow(String id, double rank, String title, String snippet) {
+        return new ReportRepository.SearchRow() {
+            public String getId() { return id; }
+            public Double getRank() { return rank; }
+            public String getTitleHighlight() { return title; }
+            public String getSnippet() { return snippet; }
+        };
     }
-}
\ No newline at end of file
+}
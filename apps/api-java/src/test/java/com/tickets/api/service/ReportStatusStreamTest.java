@@ -0,0 +1,104 @@
+package com.tickets.api.service;
+
+import com.tickets.api.controller.ReportController;
+import com.tickets.api.event.ReportStatusChangedEvent;
+import com.tickets.api.exception.BadRequestException;
+import com.tickets.api.model.enums.ReportStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ReportStatusStreamTest {
+
+    private SimpleMeterRegistry registry;
+    private ReportStatusStream stream;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        stream = new ReportStatusStream(2, 60_000, 2, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void subscriber_receivesOnlyChangesOfItsAuthor() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ReportController(
+                mock(ReportService.class), mock(ReportExportService.class), mock(StatusHistoryService.class), stream,
+                mock(IdempotencyService.class)))
+                .build();
+        MvcResult result = mockMvc.perform(get("/reports/stream").param("authorId", "u1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        stream.onStatusChanged(new ReportStatusChangedEvent("r2", "u2", "l1", "c1", ReportStatus.PENDING, ReportStatus.IN_ANALYSIS));
+        stream.onStatusChanged(new ReportStatusChangedEvent("r1", "u1", "l1", "c1", ReportStatus.PENDING, ReportStatus.IN_ANALYSIS));
+
+        String body = awaitContent(result.getResponse(), "\"reportId\":\"r1\"");
+        assertTrue(body.contains("event:status"));
+        assertTrue(body.contains("\"status\":\"IN_ANALYSIS\""));
+        assertFalse(body.contains("r2"));
+        assertEquals(1, stream.subscriberCount());
+    }
+
+    @Test
+    void slowSubscriber_isEvictedWithoutBlockingDispatch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        // Escrita travada: simula um cliente que parou de ler
+        SseEmitter stuck = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        stream.register(stuck, null, "l1");
+        try {
+            long start = System.nanoTime();
+            for (int i = 0; i < 5; i++) {
+                stream.onStatusChanged(ReportStatusChangedEvent.created("r" + i, "u1", "l1", "c1", ReportStatus.PENDING));
+            }
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+            assertEquals(0, stream.subscriberCount());
+            assertEquals(1, registry.get("tickets.report.stream.evicted").counter().count());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void subscribe_requiresExactlyOneFilter() {
+        assertThrows(BadRequestException.class, () -> stream.subscribe(null, " "));
+        assertThrows(BadRequestException.class, () -> stream.subscribe("u1", "l1"));
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = response.getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = response.getContentAsString();
+        }
+        return body;
+    }
+}
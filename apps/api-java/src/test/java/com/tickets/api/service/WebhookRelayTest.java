@@ -0,0 +1,169 @@
+package com.tickets.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.tickets.api.dto.webhook.CreateWebhookDto;
+import com.tickets.api.event.ReportStatusChangedEvent;
+import com.tickets.api.model.entity.Location;
+import com.tickets.api.model.entity.WebhookOutboxEntry;
+import com.tickets.api.model.enums.ReportStatus;
+import com.tickets.api.repository.LocationRepository;
+import com.tickets.api.repository.WebhookEndpointRepository;
+import com.tickets.api.repository.WebhookOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sem a transação do teste: o relay abre as próprias transações (reserva e confirmação)
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WebhookRelayTest {
+
+    private static final Duration BACKOFF_BASE = Duration.ofSeconds(5);
+
+    @Autowired
+    private WebhookOutboxRepository outboxRepository;
+    @Autowired
+    private WebhookEndpointRepository endpointRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private TransactionTemplate tx;
+    private WebhookService webhookService;
+    private WebhookRelay relay;
+    private String locationId;
+    private String okEndpointId;
+    private String failingEndpointId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> {
+            received.add(new String(exchange.getRequestBody().readAllBytes()));
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.createContext("/fail", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.start();
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        tx = new TransactionTemplate(transactionManager);
+        webhookService = new WebhookService(endpointRepository, outboxRepository, locationRepository);
+        relay = new WebhookRelay(outboxRepository, transactionManager, mapper, new SimpleMeterRegistry(),
+                100, 60_000, 2_000, BACKOFF_BASE.toMillis(), 3_600_000, 2);
+
+        locationId = locationRepository.save(Location.builder().name("Estação").address("Rua")
+                .latitude(-23.5).longitude(-46.6).type("Estação de Metrô").build()).getId();
+        okEndpointId = webhookService.create(webhook(base + "/ok")).getId();
+        failingEndpointId = webhookService.create(webhook(base + "/fail")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        outboxRepository.deleteAllInBatch();
+        endpointRepository.deleteAllInBatch();
+        locationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void relay_coalescesPerEndpointAndRetriesFailuresWithBackoff() throws Exception {
+        tx.executeWithoutResult(s -> {
+            webhookService.onStatusChanged(ReportStatusChangedEvent.created("r1", "u1", locationId, "c1", ReportStatus.PENDING));
+            webhookService.onStatusChanged(new ReportStatusChangedEvent(
+                    "r1", "u1", locationId, "c1", ReportStatus.PENDING, ReportStatus.IN_ANALYSIS));
+            // localização sem webhooks: nada entra no outbox
+            webhookService.onStatusChanged(ReportStatusChangedEvent.created("r2", "u1", "outra", "c1", ReportStatus.PENDING));
+        });
+        assertEquals(4, outboxRepository.count());
+
+        Instant before = Instant.now();
+        assertEquals(4, relay.relayBatch());
+
+        // um único POST para o endpoint que respondeu, com os dois eventos em ordem
+        assertEquals(1, received.size());
+        JsonNode payload = mapper.readTree(received.get(0));
+        assertEquals(okEndpointId, payload.get("endpointId").asText());
+        assertEquals(2, payload.get("events").size());
+        assertTrue(payload.get("events").get(0).get("previousStatus").isNull());
+        assertEquals("IN_ANALYSIS", payload.get("events").get(1).get("status").asText());
+
+        List<WebhookOutboxEntry> pending = outboxRepository.findAll();
+        assertEquals(2, pending.size());
+        for (WebhookOutboxEntry e : pending) {
+            assertEquals(1, e.getAttempts());
+            assertEquals("HTTP 500", e.getLastError());
+            assertFalse(e.getNextAttemptAt().isBefore(before.plus(BACKOFF_BASE)));
+        }
+        // ainda não venceram
+        assertEquals(0, relay.relayBatch());
+
+        // segunda falha atinge max-attempts = 2: as linhas ficam sem nova tentativa
+        tx.executeWithoutResult(s -> outboxRepository.reschedule(
+                pending.stream().map(WebhookOutboxEntry::getId).toList(), Instant.now().minusSeconds(1), "HTTP 500"));
+        assertEquals(2, relay.relayBatch());
+        assertTrue(outboxRepository.findAll().stream().allMatch(e -> e.getNextAttemptAt() == null && e.getAttempts() == 2));
+        assertEquals(0, relay.relayBatch());
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    void rolledBackChange_isNeverDelivered() {
+        tx.executeWithoutResult(s -> {
+            webhookService.onStatusChanged(ReportStatusChangedEvent.created("r1", "u1", locationId, "c1", ReportStatus.PENDING));
+            s.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxRepository.count());
+        assertEquals(0, relay.relayBatch());
+    }
+
+    @Test
+    void deleteEndpoint_dropsItsPendingDeliveries() {
+        tx.executeWithoutResult(s ->
+                webhookService.onStatusChanged(ReportStatusChangedEvent.created("r1", "u1", locationId, "c1", ReportStatus.PENDING)));
+
+        tx.executeWithoutResult(s -> webhookService.delete(failingEndpointId));
+
+        assertEquals(1, outboxRepository.count());
+        assertEquals(Duration.ofSeconds(20), relay.backoff(3));
+        assertEquals(Duration.ofHours(1), relay.backoff(40));
+    }
+
+    private CreateWebhookDto webhook(String url) {
+        CreateWebhookDto dto = new CreateWebhookDto();
+        dto.setLocationId(locationId);
+        dto.setUrl(url);
+        return dto;
+    }
+}